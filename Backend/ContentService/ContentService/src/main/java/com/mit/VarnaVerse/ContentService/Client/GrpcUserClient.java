@@ -0,0 +1,120 @@
+package com.mit.VarnaVerse.ContentService.Client;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.mit.VarnaVerse.ContentService.Payloads.DeletedUserDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.UserDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.UserProfileDTO;
+import com.mit.VarnaVerse.grpc.user.v1.DeletedUser;
+import com.mit.VarnaVerse.grpc.user.v1.GetProfilesRequest;
+import com.mit.VarnaVerse.grpc.user.v1.Identity;
+import com.mit.VarnaVerse.grpc.user.v1.ListDeletedUsersRequest;
+import com.mit.VarnaVerse.grpc.user.v1.Profile;
+import com.mit.VarnaVerse.grpc.user.v1.ResolveIdentityRequest;
+import com.mit.VarnaVerse.grpc.user.v1.UserDirectoryGrpc;
+
+import io.grpc.StatusRuntimeException;
+
+/**
+ * {@link UserClient} over the UserDirectory gRPC channel (protobuf on one multiplexed HTTP/2
+ * connection). Every call carries its own deadline. Wired by GrpcClientConfig when
+ * content.user-client.transport=grpc; callers keep injecting UserClient.
+ */
+public class GrpcUserClient implements UserClient {
+
+    private final UserDirectoryGrpc.UserDirectoryBlockingStub stub;
+    private final long deadlineMillis;
+
+    public GrpcUserClient(UserDirectoryGrpc.UserDirectoryBlockingStub stub, long deadlineMillis) {
+        this.stub = stub;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    @Override
+    public UserDTO getCurrentUser(String token) {
+        // Same fallback as the Feign interceptor: take the JWT from the current request
+        String authorization = token != null ? token : currentRequestToken();
+        if (authorization == null || authorization.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing Authorization header");
+        }
+
+        Identity identity;
+        try {
+            identity = stub.withDeadlineAfter(deadlineMillis, TimeUnit.MILLISECONDS)
+                    .resolveIdentity(ResolveIdentityRequest.newBuilder().setToken(authorization).build());
+        } catch (StatusRuntimeException e) {
+            throw translate(e);
+        }
+
+        UserDTO user = new UserDTO();
+        user.setId(identity.getId());
+        user.setEmail(identity.getEmail());
+        user.setName(identity.getName());
+        user.setRole(identity.getRole());
+        return user;
+    }
+
+    @Override
+    public List<UserProfileDTO> getUsersByIds(List<Long> ids) {
+        List<UserProfileDTO> profiles;
+        try {
+            List<Profile> found = stub.withDeadlineAfter(deadlineMillis, TimeUnit.MILLISECONDS)
+                    .getProfiles(GetProfilesRequest.newBuilder().addAllIds(ids).build())
+                    .getProfilesList();
+            profiles = new ArrayList<>(found.size());
+            for (Profile profile : found) {
+                profiles.add(new UserProfileDTO(profile.getId(), profile.getName(),
+                        profile.getBio().isEmpty() ? null : profile.getBio()));
+            }
+        } catch (StatusRuntimeException e) {
+            throw translate(e);
+        }
+        return profiles;
+    }
+
+    @Override
+    public List<DeletedUserDTO> getDeletedUsers(String afterDeletedAt, long afterId, int size) {
+        ListDeletedUsersRequest request = ListDeletedUsersRequest.newBuilder()
+                .setAfterDeletedAt(afterDeletedAt == null ? "" : afterDeletedAt)
+                .setAfterId(afterId)
+                .setSize(size)
+                .build();
+        List<DeletedUserDTO> users = new ArrayList<>();
+        try {
+            for (DeletedUser user : stub.withDeadlineAfter(deadlineMillis, TimeUnit.MILLISECONDS)
+                    .listDeletedUsers(request).getUsersList()) {
+                users.add(new DeletedUserDTO(user.getId(), LocalDateTime.parse(user.getDeletedAt())));
+            }
+        } catch (StatusRuntimeException e) {
+            throw translate(e);
+        }
+        return users;
+    }
+
+    private static String currentRequestToken() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getHeader("Authorization");
+        }
+        return null;
+    }
+
+    // gRPC status -> the HTTP status the REST callers would have seen
+    private static ResponseStatusException translate(StatusRuntimeException e) {
+        HttpStatus status = switch (e.getStatus().getCode()) {
+            case UNAUTHENTICATED, NOT_FOUND -> HttpStatus.UNAUTHORIZED;
+            case INVALID_ARGUMENT -> HttpStatus.BAD_REQUEST;
+            case DEADLINE_EXCEEDED -> HttpStatus.GATEWAY_TIMEOUT;
+            default -> HttpStatus.SERVICE_UNAVAILABLE;
+        };
+        return new ResponseStatusException(status, "UserService gRPC " + e.getStatus().getCode(), e);
+    }
+}
@@ -1,19 +1,40 @@
 package com.mit.VarnaVerse.ContentService.Client;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.mit.VarnaVerse.ContentService.Payloads.DeletedUserDTO;
 import com.mit.VarnaVerse.ContentService.Payloads.UserDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.UserProfileDTO;
 import com.mit.VarnaVerse.ContentService.Config.FeignClientConfig;
 
+// HTTP/JSON transport. Pooled (feign-hc5) with timeouts from spring.cloud.openfeign.client.config.user-service;
+// not primary so GrpcClientConfig can substitute GrpcUserClient (content.user-client.transport=grpc)
 @FeignClient(
         name = "user-service",
-        url = "http://localhost:8083",
-        configuration = FeignClientConfig.class
+        url = "${content.user-service.url:http://localhost:8083}",
+        configuration = FeignClientConfig.class,
+        primary = false,
+        qualifiers = "feignUserClient"
 )
 public interface UserClient {
 
     @GetMapping("/users/me")
     UserDTO getCurrentUser(@RequestHeader("Authorization") String token);
+
+    // One IN query on UserService for a whole page of authors
+    @PostMapping("/users/batch")
+    List<UserProfileDTO> getUsersByIds(@RequestBody List<Long> ids);
+
+    // Deleted (tombstoned) users after a (deleted_at, id) cursor, in deletion order; consumed by
+    // DeletionReaper. afterDeletedAt is ISO-8601 (LocalDateTime.toString), null for the first page
+    @GetMapping("/users/deleted")
+    List<DeletedUserDTO> getDeletedUsers(@RequestParam(value = "afterDeletedAt", required = false) String afterDeletedAt,
+            @RequestParam("afterId") long afterId, @RequestParam("size") int size);
 }
@@ -0,0 +1,119 @@
+package com.mit.VarnaVerse.ContentService.Client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mit.VarnaVerse.ContentService.Payloads.PostResponseDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.UserProfileDTO;
+
+/**
+ * Near-cache in front of {@link UserClient#getUsersByIds(List)}.
+ * A page of posts costs at most one cross-service call: cached authors are served
+ * locally and all misses are fetched together (in batches of BATCH_SIZE for unbounded lists).
+ * Past max-entries the least recently used author is dropped.
+ */
+@Component
+public class UserProfileCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserProfileCache.class);
+
+    @Autowired
+    private UserClient userClient;
+
+    @Value("${content.author-cache.ttl-ms:300000}")
+    private long ttlMillis;
+
+    @Value("${content.author-cache.max-entries:10000}")
+    private int maxEntries;
+
+    // UserServiceImpl.getUserProfiles answers 400 to more ids than this in one call
+    static final int BATCH_SIZE = 500;
+
+    // Guarded by itself; access order, so the eldest entry is the least recently used author
+    private final LinkedHashMap<Long, Entry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private record Entry(UserProfileDTO profile, long expiresAt) {}
+
+    // ---------------------- HYDRATE AUTHORS ----------------------
+    public List<PostResponseDTO> hydrateAuthors(List<PostResponseDTO> posts) {
+        if (posts == null || posts.isEmpty()) {
+            return posts;
+        }
+
+        Set<Long> authorIds = new LinkedHashSet<>();
+        for (PostResponseDTO post : posts) {
+            if (post.getUserId() != null) {
+                authorIds.add(post.getUserId());
+            }
+        }
+
+        Map<Long, UserProfileDTO> profiles = getProfiles(authorIds);
+        for (PostResponseDTO post : posts) {
+            UserProfileDTO profile = profiles.get(post.getUserId());
+            if (profile != null) {
+                post.setAuthorName(profile.getName());
+            }
+        }
+        return posts;
+    }
+
+    // ---------------------- LOOKUP ----------------------
+    public Map<Long, UserProfileDTO> getProfiles(Set<Long> ids) {
+        Map<Long, UserProfileDTO> result = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        synchronized (cache) {
+            for (Long id : ids) {
+                Entry entry = cache.get(id);
+                if (entry != null && entry.expiresAt() > now) {
+                    result.put(id, entry.profile());
+                } else {
+                    misses.add(id);
+                }
+            }
+        }
+
+        for (int from = 0; from < misses.size(); from += BATCH_SIZE) {
+            List<Long> batch = misses.subList(from, Math.min(misses.size(), from + BATCH_SIZE));
+            try {
+                List<UserProfileDTO> fetched = userClient.getUsersByIds(batch);
+                long expiresAt = System.currentTimeMillis() + ttlMillis;
+                synchronized (cache) {
+                    for (UserProfileDTO profile : fetched) {
+                        cache.put(profile.getId(), new Entry(profile, expiresAt));
+                    }
+                }
+                for (UserProfileDTO profile : fetched) {
+                    result.put(profile.getId(), profile);
+                }
+            } catch (Exception e) {
+                // Author names are decoration; a UserService outage must not break post lists
+                logger.warn("Author lookup failed for {} ids: {}", batch.size(), e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (cache) {
+            cache.remove(userId);
+        }
+    }
+}
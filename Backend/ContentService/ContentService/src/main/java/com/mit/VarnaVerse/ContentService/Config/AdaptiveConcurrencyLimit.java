@@ -0,0 +1,135 @@
+package com.mit.VarnaVerse.ContentService.Config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that follows the latency of what it protects (gradient algorithm, in the
+ * spirit of Netflix's Gradient2). Two moving averages of the response time are kept: a short
+ * one (last ~10 requests) and a long one (last ~500), the long one standing in for "healthy".
+ *
+ * On every completed request the limit moves towards limit * gradient + sqrt(limit), where
+ * gradient = tolerance * longRtt / shortRtt clamped to [0.5, 1]. While latency holds at the
+ * baseline the sqrt term grows the limit; once the database slows down and shortRtt climbs past
+ * tolerance * longRtt, the gradient shrinks it. A failed request (exception, 5xx) cuts the limit
+ * multiplicatively, as in AIMD. The limit only moves while at least half of it is in use, so an
+ * idle service does not talk itself into an arbitrarily large one.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 500;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    record Bounds(int initial, int min, int max) {
+
+        // "initial/min/max", e.g. "40/10/400"
+        static Bounds parse(String value) {
+            String[] parts = value.trim().split("/");
+            return new Bounds(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()),
+                    Integer.parseInt(parts[2].trim()));
+        }
+    }
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    // Written under the lock, read lock-free by tryAcquire
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    AdaptiveConcurrencyLimit(String name, Bounds bounds, double tolerance) {
+        this.name = name;
+        this.minLimit = Math.max(1, bounds.min());
+        this.maxLimit = Math.max(minLimit, bounds.max());
+        this.limit = Math.max(minLimit, Math.min(bounds.initial(), maxLimit));
+        this.tolerance = tolerance;
+    }
+
+    // ---------------------- ADMISSION ----------------------
+    // Takes a slot if one is free; every true must be followed by exactly one onSuccess/onDropped/onIgnore
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void onSuccess(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(rttNanos, inFlightAtCompletion);
+    }
+
+    void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        }
+    }
+
+    // Released without a sample: client errors and long-lived (async) responses say nothing about backend latency
+    void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    // ---------------------- ADAPTATION ----------------------
+    private synchronized void update(long rttNanos, int inFlightAtCompletion) {
+        if (shortRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+        longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+
+        // After a slow period the baseline would take hundreds of requests to come back down
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    // ---------------------- STATE (metrics) ----------------------
+    String getName() {
+        return name;
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getRejected() {
+        return rejected.sum();
+    }
+
+    synchronized double getShortRttMillis() {
+        return shortRttNanos / 1e6;
+    }
+
+    synchronized double getLongRttMillis() {
+        return longRttNanos / 1e6;
+    }
+}
@@ -0,0 +1,140 @@
+package com.mit.VarnaVerse.ContentService.Config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+
+@Configuration
+public class AsyncConfig {
+
+    // Bounded pool for the /posts/{id}/detail fan-out. A full queue rejects instead of
+    // growing, and the caller reports that part as missing rather than waiting on it.
+    @Bean(name = "postDetailExecutor")
+    public AsyncTaskExecutor postDetailExecutor(Environment environment,
+            @Value("${content.detail.pool.core-size:8}") int coreSize,
+            @Value("${content.detail.pool.max-size:32}") int maxSize,
+            @Value("${content.detail.pool.queue-capacity:256}") int queueCapacity) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Virtual-thread mode: a virtual thread per part, max-size of them at once,
+            // rejecting (not queueing) beyond that, as the pool does when its queue is full
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("post-detail-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxSize);
+            executor.setRejectTasksWhenLimitReached(true);
+            executor.setTaskDecorator(requestContextPropagation());
+            executor.setTaskTerminationTimeout(5000);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("post-detail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(requestContextPropagation());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(5);
+        return executor;
+    }
+
+    // Partitions of a CounterReconciler run. Small and fixed: how many of them touch the database
+    // at once is capped separately (content.reconcile.max-db-concurrency)
+    @Bean(name = "reconcileExecutor")
+    public AsyncTaskExecutor reconcileExecutor(Environment environment,
+            @Value("${content.reconcile.parallelism:4}") int parallelism) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("reconcile-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(parallelism);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("reconcile-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    // Background re-renders for ResponseBytesCache. The sweep runs on the shared scheduler pool, so
+    // it only hands due keys over here; a full queue rejects and the key is retried next sweep
+    @Bean(name = "responseCacheRefreshExecutor")
+    public AsyncTaskExecutor responseCacheRefreshExecutor(Environment environment,
+            @Value("${content.response-cache.refresh-threads:2}") int threads,
+            @Value("${content.response-cache.refresh-queue-capacity:256}") int queueCapacity) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("response-refresh-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(threads);
+            executor.setRejectTasksWhenLimitReached(true); // never block the sweep's thread
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("response-refresh-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    // SSE writes for PostEventHub. SseEmitter.send blocks on a slow client's socket, so it stays off
+    // the shared scheduler pool; a full queue rejects and the hub retries the post next interval
+    @Bean(name = "sseFanoutExecutor")
+    public AsyncTaskExecutor sseFanoutExecutor(Environment environment,
+            @Value("${content.events.fanout.threads:8}") int threads,
+            @Value("${content.events.fanout.queue-capacity:10000}") int queueCapacity) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sse-fanout-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("sse-fanout-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    // Carries the request attributes to pool threads so the Feign interceptor can forward the JWT,
+    // the current observation/trace so the fan-out's spans stay children of the request span,
+    // and the request's SQL statement scope so the fan-out's queries count toward its budget
+    private TaskDecorator requestContextPropagation() {
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+        return task -> {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            ContextSnapshot context = snapshots.captureAll();
+            SqlStatementStats requestStats = SqlStatementStats.current();
+            return () -> {
+                RequestContextHolder.setRequestAttributes(attributes);
+                try (ContextSnapshot.Scope scope = context.setThreadLocals();
+                        SqlStatementStats stats = SqlStatementStats.openWithin(requestStats)) {
+                    task.run();
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,177 @@
+package com.mit.VarnaVerse.ContentService.Config;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Load shedding in front of the controllers. Requests are split into route groups, each with
+ * its own AdaptiveConcurrencyLimit, so a slow /posts/search backs off on its own while cheap
+ * reads keep their share. A request over its group's limit gets an immediate 503 with
+ * Retry-After instead of queueing in Tomcat until it times out.
+ *
+ * Groups (content.limiter.&lt;group&gt;, "initial/min/max"):
+ *   search - /posts/search, /posts/movies/search
+ *   reads  - other GET/HEAD, and POST /graphql (read-only API)
+ *   writes - everything else
+ * Not limited: actuator, admin, /error, and the SSE streams (they hold a request for hours).
+ *
+ * Exported per group: http.server.limiter.limit, .in.flight, .rtt (window=short|long), .rejected.
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Value("${content.limiter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${content.limiter.reads:40/8/150}")
+    private String readBounds;
+
+    @Value("${content.limiter.writes:20/4/50}")
+    private String writeBounds;
+
+    @Value("${content.limiter.search:8/2/20}")
+    private String searchBounds;
+
+    // How far shortRtt may rise above the baseline before the limit starts shrinking
+    @Value("${content.limiter.rtt-tolerance:1.5}")
+    private double rttTolerance;
+
+    @Value("${content.limiter.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    // After tracing (so shed requests are still counted and traced) and the SQL budget filter,
+    // well before Spring Security, which would otherwise spend a JWT parse on a request we drop
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> concurrencyLimitFilter(MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimit reads = new AdaptiveConcurrencyLimit("reads", AdaptiveConcurrencyLimit.Bounds.parse(readBounds), rttTolerance);
+        AdaptiveConcurrencyLimit writes = new AdaptiveConcurrencyLimit("writes", AdaptiveConcurrencyLimit.Bounds.parse(writeBounds), rttTolerance);
+        AdaptiveConcurrencyLimit search = new AdaptiveConcurrencyLimit("search", AdaptiveConcurrencyLimit.Bounds.parse(searchBounds), rttTolerance);
+        for (AdaptiveConcurrencyLimit limit : List.of(reads, writes, search)) {
+            bindMetrics(limit, meterRegistry);
+        }
+
+        Function<HttpServletRequest, AdaptiveConcurrencyLimit> classifier = request -> {
+            String path = request.getRequestURI();
+            String method = request.getMethod();
+            if (path.startsWith("/actuator/") || path.startsWith("/admin/") || path.equals("/error")
+                    || path.endsWith("/events") || "OPTIONS".equals(method)) {
+                return null;
+            }
+            if (path.equals("/posts/search") || path.equals("/posts/movies/search")) {
+                return search;
+            }
+            if ("GET".equals(method) || "HEAD".equals(method) || path.equals("/graphql")) {
+                return reads;
+            }
+            return writes;
+        };
+
+        FilterRegistrationBean<OncePerRequestFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(classifier, retryAfterSeconds));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+
+    private static void bindMetrics(AdaptiveConcurrencyLimit limit, MeterRegistry registry) {
+        Gauge.builder("http.server.limiter.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("group", limit.getName()).description("Current adaptive concurrency limit").register(registry);
+        Gauge.builder("http.server.limiter.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("group", limit.getName()).register(registry);
+        Gauge.builder("http.server.limiter.rtt", limit, AdaptiveConcurrencyLimit::getShortRttMillis)
+                .tag("group", limit.getName()).tag("window", "short").baseUnit("milliseconds").register(registry);
+        Gauge.builder("http.server.limiter.rtt", limit, AdaptiveConcurrencyLimit::getLongRttMillis)
+                .tag("group", limit.getName()).tag("window", "long").baseUnit("milliseconds").register(registry);
+        FunctionCounter.builder("http.server.limiter.rejected", limit, AdaptiveConcurrencyLimit::getRejected)
+                .tag("group", limit.getName()).description("Requests shed with 503").register(registry);
+    }
+
+    // ---------------------- FILTER ----------------------
+    static final class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+        private final Function<HttpServletRequest, AdaptiveConcurrencyLimit> classifier;
+        private final int retryAfterSeconds;
+
+        ConcurrencyLimitFilter(Function<HttpServletRequest, AdaptiveConcurrencyLimit> classifier, int retryAfterSeconds) {
+            this.classifier = classifier;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            AdaptiveConcurrencyLimit limit = classifier.apply(request);
+            if (limit == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            if (!limit.tryAcquire()) {
+                reject(response, limit);
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                filterChain.doFilter(request, response);
+            } catch (IOException | ServletException | RuntimeException e) {
+                limit.onDropped();
+                throw e;
+            }
+
+            if (request.isAsyncStarted()) {
+                // Streaming responses keep their slot until they finish, but their duration is not a latency sample
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        limit.onIgnore();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else if (response.getStatus() >= 500) {
+                limit.onDropped();
+            } else if (response.getStatus() >= 400) {
+                limit.onIgnore();
+            } else {
+                limit.onSuccess(System.nanoTime() - start);
+            }
+        }
+
+        private void reject(HttpServletResponse response, AdaptiveConcurrencyLimit limit) throws IOException {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"overloaded\",\"group\":\"" + limit.getName() + "\"}");
+        }
+    }
+}
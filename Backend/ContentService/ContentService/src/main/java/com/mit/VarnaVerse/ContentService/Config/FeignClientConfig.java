@@ -1,6 +1,8 @@
 package com.mit.VarnaVerse.ContentService.Config;
 
 import feign.RequestInterceptor;
+import feign.micrometer.MicrometerObservationCapability;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -9,6 +11,14 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 @Configuration
 public class FeignClientConfig {
 
+    // Wraps every UserClient call in an "http.client.requests" observation: a client span
+    // (UserService's server span becomes its child) plus W3C traceparent headers on the request.
+    // Declared here rather than left to auto-configuration so the hop is visibly instrumented.
+    @Bean
+    public MicrometerObservationCapability micrometerObservationCapability(ObservationRegistry observationRegistry) {
+        return new MicrometerObservationCapability(observationRegistry);
+    }
+
     @Bean
     public RequestInterceptor requestInterceptor() {
         return template -> {
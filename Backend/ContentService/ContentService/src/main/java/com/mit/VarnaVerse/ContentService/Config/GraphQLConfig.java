@@ -0,0 +1,91 @@
+package com.mit.VarnaVerse.ContentService.Config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+
+import com.mit.VarnaVerse.ContentService.Client.UserProfileCache;
+import com.mit.VarnaVerse.ContentService.Entity.Comment;
+import com.mit.VarnaVerse.ContentService.Payloads.CommentResponseDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.UserProfileDTO;
+import com.mit.VarnaVerse.ContentService.Repository.CommentRepository;
+
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import reactor.core.publisher.Mono;
+
+@Configuration
+public class GraphQLConfig {
+
+    // Key of the Post.comments loader: one post's newest "first" comments
+    public record CommentPage(Long postId, int first) {}
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    // ---------------------- QUERY COST LIMITS ----------------------
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(
+            @Value("${content.graphql.max-depth:6}") int maxDepth) {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    // A field costs 1 plus its children; a field with a "first" argument costs that many times its
+    // children, so posts(first: 100) { comments(first: 20) { author } } is priced as ~4000, not 3
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            @Value("${content.graphql.max-complexity:2000}") int maxComplexity) {
+        FieldComplexityCalculator calculator = (environment, childComplexity) -> {
+            Object first = environment.getArguments().get("first");
+            int multiplier = first instanceof Integer size ? Math.max(size, 1) : 1;
+            return 1 + childComplexity * multiplier;
+        };
+        return new MaxQueryComplexityInstrumentation(maxComplexity, calculator);
+    }
+
+    // ---------------------- DATA LOADERS (per request, batched per level) ----------------------
+    @Autowired
+    public void registerBatchLoaders(BatchLoaderRegistry registry) {
+        // Authors of posts and comments share one loader: one UserService call per level
+        registry.forTypePair(Long.class, UserProfileDTO.class)
+                .registerMappedBatchLoader((userIds, env) -> Mono.fromCallable(() -> userProfileCache.getProfiles(userIds)));
+
+        registry.<CommentPage, List<CommentResponseDTO>>forName("commentPages")
+                .registerMappedBatchLoader((pages, env) -> Mono.fromCallable(() -> loadCommentPages(pages)));
+    }
+
+    // One window-function query for every post in the batch, sliced per key
+    private Map<CommentPage, List<CommentResponseDTO>> loadCommentPages(Set<CommentPage> pages) {
+        Set<Long> postIds = new HashSet<>();
+        int perPost = 1;
+        for (CommentPage page : pages) {
+            postIds.add(page.postId());
+            perPost = Math.max(perPost, page.first());
+        }
+
+        Map<Long, List<CommentResponseDTO>> byPost = new HashMap<>();
+        for (Comment c : commentRepository.findLatestPerPost(postIds, perPost)) {
+            byPost.computeIfAbsent(c.getPostId(), id -> new ArrayList<>()).add(new CommentResponseDTO(c));
+        }
+
+        Map<CommentPage, List<CommentResponseDTO>> result = new HashMap<>();
+        for (CommentPage page : pages) {
+            List<CommentResponseDTO> comments = byPost.getOrDefault(page.postId(), List.of());
+            result.put(page, comments.subList(0, Math.min(page.first(), comments.size())));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+package com.mit.VarnaVerse.ContentService.Config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.mit.VarnaVerse.ContentService.Client.GrpcUserClient;
+import com.mit.VarnaVerse.ContentService.Client.UserClient;
+import com.mit.VarnaVerse.grpc.user.v1.UserDirectoryGrpc;
+
+import io.grpc.ManagedChannel;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcClientInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+
+@Configuration
+public class GrpcClientConfig {
+
+    // One long-lived HTTP/2 connection to UserService; calls are multiplexed as streams on it.
+    // The channel connects lazily on first use, so defining it costs nothing while on HTTP.
+    // The observation interceptor adds a client span per call and sends the trace context as metadata
+    @Bean(destroyMethod = "shutdownNow")
+    public ManagedChannel userDirectoryChannel(
+            @Value("${content.user-service.grpc.host:localhost}") String host,
+            @Value("${content.user-service.grpc.port:9093}") int port,
+            ObservationRegistry observationRegistry) {
+        return NettyChannelBuilder.forAddress(host, port)
+                .usePlaintext()
+                .intercept(new ObservationGrpcClientInterceptor(observationRegistry))
+                .keepAliveTime(30, TimeUnit.SECONDS)
+                .keepAliveWithoutCalls(true)
+                .idleTimeout(10, TimeUnit.MINUTES)
+                .maxInboundMessageSize(1 << 20)
+                .build();
+    }
+
+    @Bean
+    public UserDirectoryGrpc.UserDirectoryBlockingStub userDirectoryStub(ManagedChannel userDirectoryChannel) {
+        return UserDirectoryGrpc.newBlockingStub(userDirectoryChannel);
+    }
+
+    // content.user-client.transport=grpc swaps every UserClient injection point to the gRPC channel;
+    // the Feign client stays available as @Qualifier("feignUserClient")
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "content.user-client.transport", havingValue = "grpc")
+    public UserClient grpcUserClient(UserDirectoryGrpc.UserDirectoryBlockingStub userDirectoryStub,
+            @Value("${content.user-service.grpc.deadline-ms:500}") long deadlineMillis) {
+        return new GrpcUserClient(userDirectoryStub, deadlineMillis);
+    }
+}
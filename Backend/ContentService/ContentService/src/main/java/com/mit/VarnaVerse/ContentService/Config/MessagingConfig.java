@@ -0,0 +1,54 @@
+package com.mit.VarnaVerse.ContentService.Config;
+
+import org.springframework.boot.autoconfigure.jms.DefaultJmsListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
+import org.springframework.jms.core.JmsTemplate;
+
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.jms.ConnectionFactory;
+
+/**
+ * Domain-event topics on the Artemis broker (spring.artemis.*). The broker runs embedded in
+ * UserService for local runs; point spring.artemis.broker-url at a standalone broker elsewhere.
+ */
+@Configuration
+public class MessagingConfig {
+
+    public static final String USER_EVENTS_TOPIC = "varnaverse.user-events";
+    public static final String CONTENT_EVENTS_TOPIC = "varnaverse.content-events";
+
+    // Used by OutboxRelay only; persistent delivery, the send returns once the broker has the message
+    @Bean
+    public JmsTemplate eventJmsTemplate(ConnectionFactory connectionFactory, ObservationRegistry observationRegistry) {
+        JmsTemplate template = new JmsTemplate(connectionFactory);
+        template.setPubSubDomain(true);
+        template.setObservationRegistry(observationRegistry);
+        return template;
+    }
+
+    // Shared durable subscription: one copy per consuming service, kept while it is down,
+    // redelivered if the handler throws (at-least-once)
+    @Bean
+    public DefaultJmsListenerContainerFactory durableEventListenerFactory(
+            DefaultJmsListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setPubSubDomain(true);
+        factory.setSubscriptionDurable(true);
+        factory.setSubscriptionShared(true);
+        factory.setSessionTransacted(true);
+        return factory;
+    }
+
+    // Plain subscription: every running instance gets every message (in-memory fan-out, e.g. SSE)
+    @Bean
+    public DefaultJmsListenerContainerFactory broadcastEventListenerFactory(
+            DefaultJmsListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setPubSubDomain(true);
+        return factory;
+    }
+}
@@ -0,0 +1,91 @@
+package com.mit.VarnaVerse.ContentService.Config;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.mit.VarnaVerse.ContentService.Client.UserClient;
+import com.mit.VarnaVerse.ContentService.Entity.Comment;
+import com.mit.VarnaVerse.ContentService.Entity.Like;
+import com.mit.VarnaVerse.ContentService.Entity.OutboxEvent;
+import com.mit.VarnaVerse.ContentService.Entity.Post;
+import com.mit.VarnaVerse.ContentService.Entity.PostViewStats;
+import com.mit.VarnaVerse.ContentService.Entity.Rating;
+import com.mit.VarnaVerse.ContentService.Entity.SyncCheckpoint;
+import com.mit.VarnaVerse.ContentService.Payloads.CommentCreateDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.CommentResponseDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.DeletedUserDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.DomainEvent;
+import com.mit.VarnaVerse.ContentService.Payloads.PostCreateDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.PostDetailDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.PostEventDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.PostResponseDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.RatingCreateDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.RatingSummaryDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.UserDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.UserProfileDTO;
+
+/**
+ * Reflection/resource hints for the GraalVM native image (mvn -Pnative native:compile).
+ * Spring AOT covers controllers and repositories; this adds what it cannot infer:
+ * Hibernate entity access, jjwt's reflective bootstrap and the Feign proxy.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] JJWT_TYPES = {
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : new Class<?>[] { Post.class, Like.class, Comment.class, Rating.class, PostViewStats.class,
+                SyncCheckpoint.class, OutboxEvent.class }) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        // Feign builds a JDK proxy for the client and reads its mapping annotations reflectively
+        hints.proxies().registerJdkProxy(UserClient.class);
+        hints.reflection().registerType(UserClient.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // StatementCountingDataSource proxies JDBC connections and statements
+        hints.proxies().registerJdkProxy(Connection.class);
+        hints.proxies().registerJdkProxy(Statement.class);
+        hints.proxies().registerJdkProxy(PreparedStatement.class);
+        hints.proxies().registerJdkProxy(CallableStatement.class);
+
+        // Jackson (de)serializes these across controllers and the Feign client
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                PostResponseDTO.class, PostCreateDTO.class, CommentResponseDTO.class, CommentCreateDTO.class,
+                RatingCreateDTO.class, UserDTO.class, UserProfileDTO.class, PostEventDTO.class,
+                PostDetailDTO.class, DomainEvent.class, DeletedUserDTO.class);
+
+        // GraphQL: schema file and the types its property data fetchers read
+        hints.resources().registerPattern("graphql/*.graphqls");
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                RatingSummaryDTO.class, RatingSummaryDTO.Bucket.class);
+    }
+}
@@ -0,0 +1,22 @@
+package com.mit.VarnaVerse.ContentService.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReadStreamConfig {
+
+    // Where the streaming read endpoints (FeedStreamService) run their page queries. JDBC blocks,
+    // so it gets a small capped pool of its own: streams in flight are bounded by connections
+    // and clients, not by threads, and a burst of them queues here instead of starving Tomcat.
+    @Bean(name = "feedReadScheduler", destroyMethod = "dispose")
+    public Scheduler feedReadScheduler(
+            @Value("${content.read.stream.threads:8}") int threads,
+            @Value("${content.read.stream.queued-tasks:10000}") int queuedTasks) {
+        return Schedulers.newBoundedElastic(threads, queuedTasks, "feed-read");
+    }
+}
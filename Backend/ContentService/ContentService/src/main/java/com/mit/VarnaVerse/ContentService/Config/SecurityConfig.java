@@ -3,12 +3,19 @@ package com.mit.VarnaVerse.ContentService.Config;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import com.mit.VarnaVerse.ContentService.Client.UserClient;
+import com.mit.VarnaVerse.ContentService.Security.UserServiceAuthenticationFilter;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -16,6 +23,9 @@ public class SecurityConfig {
     @Autowired
     private CorsConfigurationSource corsConfigurationSource;
 
+    @Autowired
+    private UserClient userClient;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -27,8 +37,16 @@ public class SecurityConfig {
             		.requestMatchers("/posts/*/comments").permitAll()
             		.requestMatchers("/posts/*/rate").permitAll()
             		.requestMatchers("/posts/movies/search").permitAll()
+            		.requestMatchers("/graphql").permitAll()
+            		.requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+            		// caller resolved by UserServiceAuthenticationFilter; role as in UserService's SecurityConfig
+            		.requestMatchers("/admin/**").hasAuthority("ADMIN")
                 .anyRequest().authenticated()
-            );
+            )
+            .exceptionHandling(exceptions -> exceptions.defaultAuthenticationEntryPointFor(
+                    new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+                    PathPatternRequestMatcher.withDefaults().matcher("/admin/**")));
+        http.addFilterBefore(new UserServiceAuthenticationFilter(userClient), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,141 @@
+package com.mit.VarnaVerse.ContentService.Config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.MDC;
+
+/**
+ * JDBC statements and DB time of one unit of work on the current thread (normally one HTTP
+ * request, see SqlDiagnosticsConfig). StatementCountingDataSource reports every executed
+ * statement here; outside an open scope reporting is a no-op.
+ *
+ * Scopes nest: a scope opened inside another also counts toward the outer one, so a test can
+ * put a budget on one service call of a request. Pool threads working for a request join its
+ * scope with openWithin, so the request's totals include its fan-out.
+ */
+public final class SqlStatementStats implements AutoCloseable {
+
+    public static final String MDC_COUNT = "sql.count";
+    public static final String MDC_MILLIS = "sql.ms";
+
+    // Statement text kept per scope; beyond this only the totals grow
+    private static final int MAX_RECORDED = 200;
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    public record Statement(String sql, long nanos, boolean failed) {
+    }
+
+    private final SqlStatementStats parent;
+    // What was current on this thread before the scope opened, restored on close
+    private final SqlStatementStats previous;
+    private final boolean publishToMdc;
+    private final Thread owner = Thread.currentThread();
+    private final List<Statement> statements = new ArrayList<>();
+    private int count;
+    private long nanos;
+    private boolean closed;
+
+    private SqlStatementStats(SqlStatementStats parent, boolean publishToMdc) {
+        this.parent = parent;
+        this.previous = CURRENT.get();
+        this.publishToMdc = publishToMdc;
+    }
+
+    // ---------------------- SCOPE ----------------------
+    public static SqlStatementStats open() {
+        return open(false);
+    }
+
+    // With publishToMdc the running totals are kept in the MDC (sql.count, sql.ms) for log lines
+    public static SqlStatementStats open(boolean publishToMdc) {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get(), publishToMdc);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // A scope on this thread whose statements also count toward a scope captured on another thread
+    public static SqlStatementStats openWithin(SqlStatementStats parent) {
+        SqlStatementStats stats = new SqlStatementStats(parent, false);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+        if (publishToMdc) {
+            MDC.remove(MDC_COUNT);
+            MDC.remove(MDC_MILLIS);
+        }
+    }
+
+    // Called by the DataSource proxy after each execute*
+    public static void record(String sql, long nanos, boolean failed) {
+        for (SqlStatementStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.add(sql, nanos, failed);
+        }
+    }
+
+    // Synchronized for scopes shared with pool threads; uncontended otherwise
+    private synchronized void add(String sql, long elapsed, boolean failed) {
+        count++;
+        nanos += elapsed;
+        if (statements.size() < MAX_RECORDED) {
+            statements.add(new Statement(sql, elapsed, failed));
+        }
+        // The MDC is per thread: pool threads joined to the scope must not write into theirs
+        if (publishToMdc && Thread.currentThread() == owner) {
+            MDC.put(MDC_COUNT, Integer.toString(count));
+            MDC.put(MDC_MILLIS, Long.toString(nanos / 1_000_000));
+        }
+    }
+
+    // ---------------------- RESULTS ----------------------
+    public synchronized int getStatementCount() {
+        return count;
+    }
+
+    public synchronized long getDbNanos() {
+        return nanos;
+    }
+
+    public synchronized List<Statement> getStatements() {
+        return List.copyOf(statements);
+    }
+
+    // Distinct statements with their count and total time, slowest first; repeats are how N+1 shows up
+    public synchronized String summary() {
+        Map<String, long[]> bySql = new LinkedHashMap<>();
+        for (Statement statement : statements) {
+            long[] agg = bySql.computeIfAbsent(statement.sql(), sql -> new long[2]);
+            agg[0]++;
+            agg[1] += statement.nanos();
+        }
+
+        StringBuilder out = new StringBuilder();
+        bySql.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]))
+                .forEach(e -> out.append(String.format("%n  %4dx %8.2f ms  %s",
+                        e.getValue()[0], e.getValue()[1] / 1e6, e.getKey())));
+        if (count > statements.size()) {
+            out.append(String.format("%n  ... %d more statements not recorded", count - statements.size()));
+        }
+        return out.toString();
+    }
+}
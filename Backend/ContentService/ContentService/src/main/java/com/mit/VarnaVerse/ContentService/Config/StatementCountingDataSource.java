@@ -0,0 +1,128 @@
+package com.mit.VarnaVerse.ContentService.Config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps the pool so every executed statement is timed and reported to SqlStatementStats.
+ * Connections and statements are JDK proxies; only execute* calls do any extra work.
+ * Replaces spring.jpa.show-sql: set this class's logger to DEBUG to log each statement with
+ * its duration instead.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementCountingDataSource.class);
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    // The pool is a Closeable bean; keep its shutdown working through the wrapper
+    @Override
+    public void close() throws IOException {
+        if (getTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+    }
+
+    // ---------------------- CONNECTION ----------------------
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return wrap(statement, sql);
+            }
+            return result;
+        }
+
+        private static Statement wrap(Statement statement, String sql) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return (Statement) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                    new Class<?>[] { type }, new StatementHandler(statement, sql));
+        }
+    }
+
+    // ---------------------- STATEMENT ----------------------
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        // Prepared statements carry their SQL from prepareStatement; plain ones get it per execute
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = invokeTarget(target, method, args);
+                failed = false;
+                return result;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                SqlStatementStats.record(sql, elapsed, failed);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("{} ms {}{}", String.format("%.2f", elapsed / 1e6), sql, failed ? " (failed)" : "");
+                }
+            }
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
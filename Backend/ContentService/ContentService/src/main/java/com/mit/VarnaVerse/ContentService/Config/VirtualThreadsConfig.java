@@ -0,0 +1,55 @@
+package com.mit.VarnaVerse.ContentService.Config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Virtual-thread execution mode (the "virtual-threads" profile). On a Java 21+ runtime Spring
+ * Boot moves Tomcat, @Async/@Scheduled, JMS listeners and the post-detail fan-out (AsyncConfig)
+ * onto virtual threads; with no thread pool left in front of the blocking calls, Hikari's pool
+ * size and the Feign connection pool become the real concurrency limits. The build targets
+ * Java 17, where none of that happens: this class logs a warning and the service stays on
+ * platform threads.
+ *
+ * Locks that are held across blocking work (JDBC, the broker, a sleep) are ReentrantLocks rather
+ * than synchronized throughout this service: a virtual thread that blocks inside a monitor stays
+ * pinned to its carrier, and a handful of those can stall the whole carrier pool. The pinning
+ * diagnostics switched on here are how a regression would show up.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @Autowired
+    private Environment environment;
+
+    // jdk.tracePinnedThreads mode ("short" or "full"); empty leaves pinning traces off
+    @Value("${content.virtual-threads.trace-pinned:short}")
+    private String tracePinned;
+
+    @PostConstruct
+    public void checkRuntime() {
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            logger.warn("spring.threads.virtual.enabled is set, but Java {} has no virtual threads; staying on platform threads",
+                    Runtime.version().feature());
+            return;
+        }
+        // Read once when the first virtual thread starts, which is after the context refresh (Tomcat, schedulers).
+        // Pass -Djdk.tracePinnedThreads on the command line to be sure.
+        if (!tracePinned.isEmpty() && System.getProperty("jdk.tracePinnedThreads") == null) {
+            System.setProperty("jdk.tracePinnedThreads", tracePinned);
+        }
+        logger.info("Virtual-thread mode on (pinned-thread traces: {})",
+                System.getProperty("jdk.tracePinnedThreads", "off"));
+    }
+}
@@ -3,10 +3,16 @@ package com.mit.VarnaVerse.ContentService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.mit.VarnaVerse.ContentService.Config.NativeHints;
 
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = "com.mit.VarnaVerse.ContentService.Client")
+@ImportRuntimeHints(NativeHints.class)
+@EnableScheduling
 public class ContentServiceApplication {
     public static void main(String[] args) {
     	
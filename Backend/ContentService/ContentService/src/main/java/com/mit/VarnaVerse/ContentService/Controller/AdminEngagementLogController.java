@@ -0,0 +1,61 @@
+package com.mit.VarnaVerse.ContentService.Controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mit.VarnaVerse.ContentService.Payloads.EngagementRecord;
+import com.mit.VarnaVerse.ContentService.Services.Impl.EngagementLog;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Admin-only (see SecurityConfig) access to this instance's engagement log. GET /records replays a page from an
+ * offset (X-Next-Offset tells where to continue); GET /tail follows the log as NDJSON.
+ */
+@RestController
+@RequestMapping("/admin/engagement-log")
+public class AdminEngagementLogController {
+
+    private static final int MAX_PAGE = 10_000;
+
+    @Autowired
+    private EngagementLog engagementLog;
+
+    // ---------------------- REPLAY ----------------------
+    @GetMapping("/records")
+    public ResponseEntity<List<EngagementRecord>> records(
+            @RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "1000") int limit) {
+        List<EngagementRecord> page = engagementLog.read(from, Math.max(1, Math.min(limit, MAX_PAGE)));
+        long next = page.isEmpty() ? Math.max(from, 0) : page.get(page.size() - 1).offset() + 1;
+        return ResponseEntity.ok()
+                .header("X-Next-Offset", String.valueOf(next))
+                .header("X-Durable-Offset", String.valueOf(engagementLog.durableOffset()))
+                .body(page);
+    }
+
+    // ---------------------- TAIL ----------------------
+    @GetMapping(value = "/tail", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<EngagementRecord>> tail(@RequestParam(required = false) Long from) {
+        // Without ?from= only records appended from now on
+        long start = from != null ? from : engagementLog.durableOffset();
+        return ResponseEntity.ok(engagementLog.tail(start, Duration.ofMillis(500)));
+    }
+
+    // ---------------------- COMPACTION ----------------------
+    // Runs the scheduled compaction now; returns the number of records dropped
+    @PostMapping("/compactions")
+    public ResponseEntity<Long> compact() throws IOException {
+        return ResponseEntity.ok(engagementLog.compact());
+    }
+}
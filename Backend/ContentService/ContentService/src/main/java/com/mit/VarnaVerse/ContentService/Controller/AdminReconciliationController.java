@@ -0,0 +1,44 @@
+package com.mit.VarnaVerse.ContentService.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mit.VarnaVerse.ContentService.Payloads.ReconciliationReport;
+import com.mit.VarnaVerse.ContentService.Services.Impl.CounterReconciler;
+
+/**
+ * Admin-only view of the counter reconciliation job: the last run's drift report, or a run on
+ * demand (blocking; 409 while a run is in progress or another instance holds the job's lease,
+ * in which case the report lives on that instance).
+ */
+@RestController
+@RequestMapping("/admin/reconciliation")
+public class AdminReconciliationController {
+
+    // Absent when content.reconcile.enabled=false
+    @Autowired(required = false)
+    private CounterReconciler counterReconciler;
+
+    @GetMapping
+    public ResponseEntity<ReconciliationReport> lastReport() {
+        if (counterReconciler == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ReconciliationReport report = counterReconciler.getLastReport();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/runs")
+    public ResponseEntity<ReconciliationReport> run() {
+        if (counterReconciler == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ReconciliationReport report = counterReconciler.run();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
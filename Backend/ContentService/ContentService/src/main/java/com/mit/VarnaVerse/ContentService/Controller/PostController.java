@@ -4,19 +4,33 @@ import com.mit.VarnaVerse.ContentService.Client.UserClient;
 import com.mit.VarnaVerse.ContentService.Payloads.CommentCreateDTO;
 import com.mit.VarnaVerse.ContentService.Payloads.CommentResponseDTO;
 import com.mit.VarnaVerse.ContentService.Payloads.PostCreateDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.PostDetailDTO;
 import com.mit.VarnaVerse.ContentService.Payloads.PostResponseDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.ResourceVersion;
+import com.mit.VarnaVerse.ContentService.Security.JwtUtil;
 import com.mit.VarnaVerse.ContentService.Services.PostService;
 import com.mit.VarnaVerse.ContentService.Services.Impl.MovieService;
+import com.mit.VarnaVerse.ContentService.Services.Impl.PostEventHub;
+import com.mit.VarnaVerse.ContentService.Services.Impl.ResponseBytesCache;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/posts")
@@ -28,6 +42,15 @@ public class PostController {
     @Autowired
     private UserClient userClient;   // Feign Client for UserService
 
+    @Autowired
+    private PostEventHub postEventHub;
+
+    @Autowired
+    private ResponseBytesCache responseBytesCache;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
     // ---------------------- HELPER: Get User ID from UserService ----------------------
     private Long getUserIdFromUserService() {
         // Pass null because Feign interceptor automatically injects JWT
@@ -43,10 +66,52 @@ public class PostController {
     }
 
     // ---------------------- GET POST BY ID ----------------------
+    // Conditional: with a current If-None-Match / If-Modified-Since only the post's version is read, answered 304
     @GetMapping("/{postId}")
-    public ResponseEntity<PostResponseDTO> getPostById(@PathVariable Long postId) {
+    public ResponseEntity<PostResponseDTO> getPostById(@PathVariable Long postId, HttpServletRequest request,
+            WebRequest webRequest) {
+        if (notModified(postService.getPostVersion(postId), webRequest)) {
+            postService.recordView(postId, viewerKey(request));
+            return null;
+        }
         PostResponseDTO post = postService.getPostById(postId);
-        return ResponseEntity.ok(post);
+        postService.recordView(postId, viewerKey(request));
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(post);
+    }
+
+    // Sets ETag / Last-Modified on the response either way; true means a 304 has been prepared
+    private static boolean notModified(Optional<ResourceVersion> version, WebRequest webRequest) {
+        return version.isPresent() && webRequest.checkNotModified(version.get().etag(), version.get().lastModified());
+    }
+
+    // ---------------------- POST DETAIL (one round-trip for the post page) ----------------------
+    @GetMapping("/{postId}/detail")
+    public ResponseEntity<PostDetailDTO> getPostDetail(
+            @PathVariable Long postId,
+            @RequestParam(defaultValue = "20") int comments,
+            HttpServletRequest request) {
+        String token = request.getHeader("Authorization");
+        PostDetailDTO detail = postService.getPostDetail(postId,
+                token != null && !token.isEmpty() ? this::getUserIdFromUserService : null, comments);
+        postService.recordView(postId, viewerKey(request));
+        return ResponseEntity.ok(detail);
+    }
+
+    // Unique-viewer identity: the user behind a verified token, otherwise the client address. Neither the
+    // raw token (rotatable) nor headers are trusted; getRemoteAddr() only reflects X-Forwarded-For when the
+    // request came through one of server.tomcat.remoteip.internal-proxies
+    private String viewerKey(HttpServletRequest request) {
+        String subject = jwtUtil.extractSubject(request.getHeader("Authorization"));
+        return subject != null ? "user:" + subject : "addr:" + request.getRemoteAddr();
+    }
+
+    // ---------------------- LIVE ENGAGEMENT (SSE) ----------------------
+    // Replaces polling /likes, /comments/count and /rating; frames are coalesced per post
+    @GetMapping(value = "/{postId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(@PathVariable Long postId) {
+        return postEventHub.subscribe(postId)
+                .map(emitter -> ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
     }
 
     // ---------------------- UPDATE POST ----------------------
@@ -78,23 +143,52 @@ public class PostController {
     }
 
     // ---------------------- TRENDING POSTS ----------------------
+    // Same body for every visitor: served from ResponseBytesCache, 304 on a matching If-None-Match
     @GetMapping("/trending")
-    public ResponseEntity<List<PostResponseDTO>> getTrendingPosts() {
-        List<PostResponseDTO> trendingPosts = postService.getTrendingPosts();
-        return ResponseEntity.ok(trendingPosts);
+    public ResponseEntity<byte[]> getTrendingPosts(HttpServletRequest request) {
+        return cachedJson(responseBytesCache.get("trending", postService::getTrendingPosts), request);
     }
+
    // ---------------------- TOP RATED POSTS ----------------------
     @GetMapping("/top-rated")
-    public ResponseEntity<List<PostResponseDTO>> getTopRatedPostsByCategory(
-            @RequestParam String category) {
+    public ResponseEntity<byte[]> getTopRatedPostsByCategory(
+            @RequestParam String category, HttpServletRequest request) {
 
-        List<PostResponseDTO> topPosts = postService.getTopRatedPostsByCategory(category);
+        ResponseBytesCache.Body topPosts = responseBytesCache.get("top-rated:" + category,
+                () -> postService.getTopRatedPostsByCategory(category));
 
         if (topPosts.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
 
-        return ResponseEntity.ok(topPosts);
+        return cachedJson(topPosts, request);
+    }
+
+    // The gzip bytes when the client takes gzip; Spring answers 304 itself when If-None-Match has this ETag
+    private ResponseEntity<byte[]> cachedJson(ResponseBytesCache.Body body, HttpServletRequest request) {
+        boolean gzip = body.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(gzip ? body.gzipEtag() : body.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? body.gzip() : body.identity());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 
     // ---------------------- SEARCH POSTS ----------------------
@@ -143,9 +237,59 @@ public class PostController {
         return ResponseEntity.ok(count);
     }
     
+    // Threads page: top-level comments (newest first) each followed by their first replies, in display order.
+    // Pass X-Next-Cursor back as ?after= for the next page of top-level comments.
     @GetMapping("/{postId}/comments")
-    public List<CommentResponseDTO> getCommentsByPost(@PathVariable Long postId) {
-        return postService.getCommentsByPostId(postId);
+    public ResponseEntity<List<CommentResponseDTO>> getCommentsByPost(
+            @PathVariable Long postId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "3") int replies,
+            WebRequest webRequest) {
+        if (notModified(postService.getCommentsVersion(postId), webRequest)) {
+            return null;
+        }
+        List<CommentResponseDTO> page = postService.getCommentThreads(postId, after, size, replies);
+
+        Long lastTopLevel = null;
+        int topLevelCount = 0;
+        for (CommentResponseDTO comment : page) {
+            if (comment.getParentId() == null) {
+                lastTopLevel = comment.getCommentId();
+                topLevelCount++;
+            }
+        }
+        return cursorResponse(page, topLevelCount >= Math.min(Math.max(size, 1), PostService.MAX_COMMENT_PAGE_SIZE)
+                ? lastTopLevel : null);
+    }
+
+    // Subtree of one comment in thread order, keyset-paginated the same way
+    @GetMapping("/{postId}/comments/{commentId}/replies")
+    public ResponseEntity<List<CommentResponseDTO>> getReplies(
+            @PathVariable Long postId,
+            @PathVariable Long commentId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int size) {
+        List<CommentResponseDTO> page;
+        try {
+            page = postService.getCommentReplies(postId, commentId, after, size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean full = page.size() >= Math.min(Math.max(size, 1), PostService.MAX_COMMENT_PAGE_SIZE);
+        return cursorResponse(page, full ? page.get(page.size() - 1).getCommentId() : null);
+    }
+
+    // Next keyset cursor; absent on the last page
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private ResponseEntity<List<CommentResponseDTO>> cursorResponse(List<CommentResponseDTO> page, Long nextCursor) {
+        // Revalidate rather than Spring Security's default no-store, so the ETag can be used
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR_HEADER, String.valueOf(nextCursor));
+        }
+        return builder.body(page);
     }
 
 
@@ -184,6 +328,18 @@ public class PostController {
         boolean liked = postService.hasUserLikedPost(postId, userId);
         return ResponseEntity.ok(liked);
     }
+
+    // Like flags for a whole feed page in one call: GET /posts/liked?ids=1,2,3 -> the liked subset
+    @GetMapping("/liked")
+    public ResponseEntity<Set<Long>> getLikeStatuses(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_LIKE_STATUS_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        Long userId = getUserIdFromUserService();
+        return ResponseEntity.ok(postService.getLikedPostIds(ids, userId));
+    }
+
+    private static final int MAX_LIKE_STATUS_IDS = 200;
  
        
  
@@ -0,0 +1,168 @@
+package com.mit.VarnaVerse.ContentService.Controller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.dataloader.DataLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import com.mit.VarnaVerse.ContentService.Config.GraphQLConfig.CommentPage;
+import com.mit.VarnaVerse.ContentService.Entity.Post;
+import com.mit.VarnaVerse.ContentService.Payloads.CommentResponseDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.PostResponseDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.RatingSummaryDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.UserProfileDTO;
+import com.mit.VarnaVerse.ContentService.Repository.CommentRepository;
+import com.mit.VarnaVerse.ContentService.Repository.PostRepository;
+import com.mit.VarnaVerse.ContentService.Repository.RatingRepository;
+import com.mit.VarnaVerse.ContentService.Services.PostService;
+import com.mit.VarnaVerse.ContentService.Services.Impl.PostViewTracker;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+
+/**
+ * GraphQL read API (schema: resources/graphql/schema.graphqls).
+ * Root queries read posts without decoration; child fields are only resolved when selected
+ * and then in one batched query per level (authors through the shared per-request DataLoader).
+ */
+@Controller
+public class PostGraphQLController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_COMMENTS_PER_POST = 20;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private PostViewTracker postViewTracker;
+
+    @Autowired
+    private PostService postService;
+
+    // ---------------------- QUERIES ----------------------
+    @QueryMapping
+    public PostResponseDTO post(@Argument Long postId, DataFetchingFieldSelectionSet selection) {
+        return postRepository.findById(postId)
+                .map(post -> toResponses(List.of(post), selection).get(0))
+                .orElse(null);
+    }
+
+    @QueryMapping
+    public List<PostResponseDTO> posts(@Argument String category, @Argument int first, @Argument Long after,
+                                       DataFetchingFieldSelectionSet selection) {
+        long beforeId = after != null ? after : Long.MAX_VALUE;
+        PageRequest page = PageRequest.of(0, clamp(first, MAX_PAGE_SIZE));
+        List<Post> posts = category != null && !category.isEmpty()
+                ? postRepository.findByCategoryAndPostIdLessThanOrderByPostIdDesc(category, beforeId, page)
+                : postRepository.findByPostIdLessThanOrderByPostIdDesc(beforeId, page);
+        return toResponses(posts, selection);
+    }
+
+    @QueryMapping
+    public List<PostResponseDTO> trendingPosts(@Argument int first, DataFetchingFieldSelectionSet selection) {
+        List<Post> posts = postRepository.findTop10ByOrderByLikesCountDesc();
+        return toResponses(posts.subList(0, Math.min(clamp(first, 10), posts.size())), selection);
+    }
+
+    @QueryMapping
+    public List<PostResponseDTO> searchPosts(@Argument String query, @Argument int first,
+                                             DataFetchingFieldSelectionSet selection) {
+        return toResponses(postRepository.findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(
+                query, query, PageRequest.of(0, clamp(first, MAX_PAGE_SIZE))), selection);
+    }
+
+    // Top-level comments (newest thread first) each followed by up to "replies" replies, in thread order
+    @QueryMapping
+    public List<CommentResponseDTO> comments(@Argument Long postId, @Argument int first, @Argument int replies,
+                                             @Argument Long after) {
+        return postService.getCommentThreads(postId, after, clamp(first, MAX_PAGE_SIZE), replies);
+    }
+
+    @QueryMapping
+    public List<CommentResponseDTO> replies(@Argument Long postId, @Argument Long commentId, @Argument int first,
+                                            @Argument Long after) {
+        return postService.getCommentReplies(postId, commentId, after, clamp(first, MAX_PAGE_SIZE));
+    }
+
+    // ---------------------- POST CHILD FIELDS ----------------------
+    @SchemaMapping(typeName = "Post", field = "author")
+    public CompletableFuture<UserProfileDTO> postAuthor(PostResponseDTO post, DataLoader<Long, UserProfileDTO> loader) {
+        return loader.load(post.getUserId());
+    }
+
+    @SchemaMapping(typeName = "Post", field = "comments")
+    public CompletableFuture<List<CommentResponseDTO>> postComments(PostResponseDTO post, @Argument int first,
+            DataLoader<CommentPage, List<CommentResponseDTO>> commentPages) {
+        return commentPages.load(new CommentPage(post.getPostId(), clamp(first, MAX_COMMENTS_PER_POST)));
+    }
+
+    @BatchMapping(typeName = "Post", field = "commentsCount")
+    public List<Long> commentsCount(List<PostResponseDTO> posts) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : commentRepository.countByPostIds(postIds(posts))) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return posts.stream().map(p -> counts.getOrDefault(p.getPostId(), 0L)).collect(Collectors.toList());
+    }
+
+    @BatchMapping(typeName = "Post", field = "ratings")
+    public List<RatingSummaryDTO> ratings(List<PostResponseDTO> posts) {
+        Map<Long, RatingSummaryDTO> summaries = new HashMap<>();
+        for (Object[] row : ratingRepository.countByPostIdsAndRatingValue(postIds(posts))) {
+            summaries.computeIfAbsent((Long) row[0], id -> new RatingSummaryDTO()).add((Integer) row[1], (Long) row[2]);
+        }
+        return posts.stream()
+                .map(p -> summaries.getOrDefault(p.getPostId(), new RatingSummaryDTO()))
+                .collect(Collectors.toList());
+    }
+
+    // ---------------------- COMMENT CHILD FIELDS ----------------------
+    @SchemaMapping(typeName = "Comment", field = "author")
+    public CompletableFuture<UserProfileDTO> commentAuthor(CommentResponseDTO comment, DataLoader<Long, UserProfileDTO> loader) {
+        return loader.load(comment.getUserId());
+    }
+
+    // ---------------------- HELPERS ----------------------
+    // View counters cost a query, so they are only applied when the client selected them
+    private List<PostResponseDTO> toResponses(List<Post> posts, DataFetchingFieldSelectionSet selection) {
+        List<PostResponseDTO> responses = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            responses.add(new PostResponseDTO(post));
+        }
+        if (selection.contains("viewCount") || selection.contains("uniqueViewers")) {
+            postViewTracker.applyStats(responses);
+        }
+        return responses;
+    }
+
+    private Set<Long> postIds(List<PostResponseDTO> posts) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (PostResponseDTO post : posts) {
+            ids.add(post.getPostId());
+        }
+        return ids;
+    }
+
+    private int clamp(int requested, int max) {
+        return Math.max(1, Math.min(requested, max));
+    }
+}
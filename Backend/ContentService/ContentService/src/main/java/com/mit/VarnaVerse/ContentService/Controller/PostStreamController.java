@@ -0,0 +1,59 @@
+package com.mit.VarnaVerse.ContentService.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mit.VarnaVerse.ContentService.Payloads.CommentResponseDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.PostResponseDTO;
+import com.mit.VarnaVerse.ContentService.Services.Impl.FeedStreamService;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming variants of the read-heavy listings, selected with "Accept: application/x-ndjson"
+ * on the same URLs as PostController. The body is one JSON object per line, written and
+ * flushed as each element is produced; Spring MVC requests the next element only after the
+ * previous write went out, so a slow client slows the page queries down instead of piling up
+ * rows. The request thread is released as soon as the Flux is returned.
+ */
+@RestController
+@RequestMapping(value = "/posts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+public class PostStreamController {
+
+    @Autowired
+    private FeedStreamService feedStreamService;
+
+    // ---------------------- ALL POSTS (stream) ----------------------
+    @GetMapping
+    public Flux<PostResponseDTO> streamPosts(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String sort) {
+        return feedStreamService.streamPosts(category, sort);
+    }
+
+    // ---------------------- TRENDING POSTS (stream) ----------------------
+    @GetMapping("/trending")
+    public Flux<PostResponseDTO> streamTrending() {
+        return feedStreamService.streamTrending();
+    }
+
+    // ---------------------- SEARCH POSTS (stream) ----------------------
+    @GetMapping("/search")
+    public Flux<PostResponseDTO> streamSearch(@RequestParam String query) {
+        return feedStreamService.streamSearch(query);
+    }
+
+    // ---------------------- COMMENT THREADS (stream) ----------------------
+    // All threads of the post rather than one page, so there is no cursor
+    @GetMapping("/{postId}/comments")
+    public Flux<CommentResponseDTO> streamComments(
+            @PathVariable Long postId,
+            @RequestParam(defaultValue = "3") int replies) {
+        return feedStreamService.streamCommentThreads(postId, replies);
+    }
+}
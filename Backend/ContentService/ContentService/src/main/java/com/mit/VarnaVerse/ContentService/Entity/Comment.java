@@ -1,9 +1,10 @@
 package com.mit.VarnaVerse.ContentService.Entity;
 //comment_id, post_id, user_id, text, created_at
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 import jakarta.persistence.GeneratedValue; // Correct annotation for auto-generation
@@ -14,7 +15,13 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 
 @Entity
-@Table(name="comments")
+// (post_id, path): whole-thread and subtree range scans; (post_id, depth, path): pages of top-level comments;
+// (post_id, updated_at): the comments version of a post, read from the index alone
+@Table(name="comments", indexes = {
+        @Index(name = "idx_comments_post_path", columnList = "post_id, path"),
+        @Index(name = "idx_comments_post_depth_path", columnList = "post_id, depth, path"),
+        @Index(name = "idx_comments_post_updated", columnList = "post_id, updated_at")
+})
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY) 
@@ -26,17 +33,35 @@ public class Comment {
     @Column(nullable=false)
     private long userId;
 
+    // Threading: null parent = top-level comment; rootId is the top-level comment of the thread
+    @Column(nullable = true)
+    private Long parentId;
+
+    @Column(nullable = true)
+    private Long rootId;
+
+    @Column(nullable = false)
+    private int depth = 0;
+
+    // Materialized path, see Util.CommentPaths; assigned right after the insert yields the id
+    @Column(length = 255)
+    private String path;
+
+    // Denormalized number of replies below this comment (all levels)
+    @Column(nullable = false)
+    private int replyCount = 0;
+
     // Keep your rating text field, rename for Java style
     @Column(nullable=false,columnDefinition="TEXT")
     private String text;
 
     @CreationTimestamp 
     @Column(nullable = false)
-    private LocalDate createdAt;
+    private LocalDateTime createdAt;
 
     @UpdateTimestamp
     @Column(nullable = false)
-    private LocalDate updatedAt;
+    private LocalDateTime updatedAt;
 
     // Getters and Setters
     public long getCommentId() { return commentId; }
@@ -48,6 +73,21 @@ public class Comment {
     public long getUserId() { return userId; }
     public void setUserId(long userId) { this.userId = userId; }
 
+    public Long getParentId() { return parentId; }
+    public void setParentId(Long parentId) { this.parentId = parentId; }
+
+    public Long getRootId() { return rootId; }
+    public void setRootId(Long rootId) { this.rootId = rootId; }
+
+    public int getDepth() { return depth; }
+    public void setDepth(int depth) { this.depth = depth; }
+
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public int getReplyCount() { return replyCount; }
+    public void setReplyCount(int replyCount) { this.replyCount = replyCount; }
+
     public String getText() {
         return text;
     }
@@ -56,9 +96,9 @@ public class Comment {
         this.text = text;
     }
 
-    public LocalDate getCreatedAt() { return createdAt; }
-    public void setCreatedAt(LocalDate createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
-    public LocalDate getUpdatedAt() { return updatedAt; }
-    public void setUpdatedAt(LocalDate updatedAt) { this.updatedAt = updatedAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 }
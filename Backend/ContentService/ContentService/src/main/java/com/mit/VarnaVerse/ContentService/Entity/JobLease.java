@@ -0,0 +1,44 @@
+package com.mit.VarnaVerse.ContentService.Entity;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+//job_name, owner, fencing_token, acquired_at, expires_at
+// Which instance may run a cluster-wide scheduled job; written only by ClusterJobScheduler's conditional UPDATEs
+@Entity
+@Table(name = "job_leases")
+public class JobLease {
+
+    @Id
+    @Column(length = 64)
+    private String jobName;
+
+    @Column(length = 128)
+    private String owner;
+
+    // Bumped on every change of holder, never on renewal
+    @Column(nullable = false)
+    private long fencingToken;
+
+    private LocalDateTime acquiredAt;
+
+    private LocalDateTime expiresAt;
+
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public long getFencingToken() { return fencingToken; }
+    public void setFencingToken(long fencingToken) { this.fencingToken = fencingToken; }
+
+    public LocalDateTime getAcquiredAt() { return acquiredAt; }
+    public void setAcquiredAt(LocalDateTime acquiredAt) { this.acquiredAt = acquiredAt; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
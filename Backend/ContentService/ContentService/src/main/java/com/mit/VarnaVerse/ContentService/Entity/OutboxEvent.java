@@ -0,0 +1,60 @@
+package com.mit.VarnaVerse.ContentService.Entity;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+//id, event_id, event_type, aggregate_id, envelope, created_at, published_at
+// Written in the same transaction as the change it describes; OutboxRelay publishes it afterwards
+@Entity
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_published_id", columnList = "published_at, id"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String eventId;
+
+    @Column(nullable = false, length = 64)
+    private String eventType;
+
+    @Column(nullable = false)
+    private long aggregateId;
+
+    // Serialized DomainEvent, sent to the broker as-is
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String envelope;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public long getAggregateId() { return aggregateId; }
+    public void setAggregateId(long aggregateId) { this.aggregateId = aggregateId; }
+
+    public String getEnvelope() { return envelope; }
+    public void setEnvelope(String envelope) { this.envelope = envelope; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(LocalDateTime publishedAt) { this.publishedAt = publishedAt; }
+}
@@ -1,19 +1,26 @@
 package com.mit.VarnaVerse.ContentService.Entity;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 import jakarta.persistence.GeneratedValue; // Correct annotation for auto-generation
 import jakarta.persistence.GenerationType; // Strategy type for auto-generation
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 
 @Entity
-@Table(name="posts")
+@Table(name="posts", indexes = {
+		@Index(name = "idx_posts_deleted_at", columnList = "deleted_at"),
+		@Index(name = "idx_posts_user_deleted", columnList = "user_id, deleted_at") })
+// Soft delete: deleted posts drop out of every entity query at once; DeletionReaper removes the rows later
+@SQLRestriction("deleted_at IS NULL")
 public class Post { 
 //	post_id, user_id, title, content, category, rating_avg, likes_count, created_at, updated_at
 	
@@ -46,6 +53,14 @@ public class Post {
 	@UpdateTimestamp
 	@Column(nullable = true)
 	private LocalDate updatedAt;
+	
+	@Column(name = "deleted_at", nullable = true)
+	private LocalDateTime deletedAt;
+
+	// Row version for conditional GETs (updatedAt is only a date); set on insert and on every update
+	@UpdateTimestamp
+	@Column(name = "modified_at", nullable = true)
+	private LocalDateTime modifiedAt;
 
 	public long getPostId() {
 		return postId;
@@ -140,6 +155,15 @@ public class Post {
 		this.updatedAt = updatedAt;
 	}
 	
-	
+	public LocalDateTime getDeletedAt() {
+		return deletedAt;
+	}
+
+	public void setDeletedAt(LocalDateTime deletedAt) {
+		this.deletedAt = deletedAt;
+	}
 
-}
\ No newline at end of file
+	public LocalDateTime getModifiedAt() {
+		return modifiedAt;
+	}
+}
@@ -0,0 +1,44 @@
+package com.mit.VarnaVerse.ContentService.Entity;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+//post_id, view_count, unique_viewers, viewer_sketch, updated_at
+// Written only by PostViewTracker's batched upserts
+@Entity
+@Table(name = "post_view_stats")
+public class PostViewStats {
+
+    @Id
+    private long postId;
+
+    @Column(nullable = false)
+    private long viewCount;
+
+    // HyperLogLog estimate of viewer_sketch, kept alongside so reads never decode the sketch
+    @Column(nullable = false)
+    private long uniqueViewers;
+
+    @Column(nullable = false, columnDefinition = "VARBINARY(1024)")
+    private byte[] viewerSketch;
+
+    private LocalDateTime updatedAt;
+
+    public long getPostId() { return postId; }
+    public void setPostId(long postId) { this.postId = postId; }
+
+    public long getViewCount() { return viewCount; }
+    public void setViewCount(long viewCount) { this.viewCount = viewCount; }
+
+    public long getUniqueViewers() { return uniqueViewers; }
+    public void setUniqueViewers(long uniqueViewers) { this.uniqueViewers = uniqueViewers; }
+
+    public byte[] getViewerSketch() { return viewerSketch; }
+    public void setViewerSketch(byte[] viewerSketch) { this.viewerSketch = viewerSketch; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,49 @@
+package com.mit.VarnaVerse.ContentService.Entity;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+//name, position, position_at, updated_at
+// Cursor of a background feed this service consumes (e.g. UserService's deleted-user feed).
+// position is the last id read; feeds ordered by time also keep that entry's timestamp in positionAt
+@Entity
+@Table(name = "sync_checkpoints")
+public class SyncCheckpoint {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private long position;
+
+    private LocalDateTime positionAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public SyncCheckpoint() {
+    }
+
+    public SyncCheckpoint(String name, long position) {
+        this.name = name;
+        this.position = position;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getPosition() { return position; }
+    public void setPosition(long position) { this.position = position; }
+
+    public LocalDateTime getPositionAt() { return positionAt; }
+    public void setPositionAt(LocalDateTime positionAt) { this.positionAt = positionAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
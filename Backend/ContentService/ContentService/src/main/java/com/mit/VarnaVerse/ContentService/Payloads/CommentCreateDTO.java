@@ -3,6 +3,7 @@ package com.mit.VarnaVerse.ContentService.Payloads;
 
 public class CommentCreateDTO {
     private String text;
+    private Long parentId; // set when replying to another comment
 
     // Constructors
     public CommentCreateDTO() {}
@@ -14,4 +15,7 @@ public class CommentCreateDTO {
     // Getter and Setter
     public String getText() { return text; }
     public void setText(String text) { this.text = text; }
+
+    public Long getParentId() { return parentId; }
+    public void setParentId(Long parentId) { this.parentId = parentId; }
 }
\ No newline at end of file
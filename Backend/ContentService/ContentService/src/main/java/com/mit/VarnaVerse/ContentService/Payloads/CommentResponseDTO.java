@@ -2,12 +2,18 @@ package com.mit.VarnaVerse.ContentService.Payloads;
 
 import java.time.LocalDateTime;
 
+import com.mit.VarnaVerse.ContentService.Entity.Comment;
+
 public class CommentResponseDTO {
     private Long commentId;
     private Long postId;
     private Long userId; // Commenter ID
     private String text; // Comment content
     private LocalDateTime createdAt;
+    private Long parentId;   // null for top-level comments
+    private Long rootId;     // top-level comment of the thread
+    private int depth;
+    private int replyCount;  // replies below this comment, all levels
 
     // Constructor for just text (optional)
     public CommentResponseDTO(String text) {
@@ -24,6 +30,14 @@ public class CommentResponseDTO {
         this.createdAt = createdAt;
     }
 
+    public CommentResponseDTO(Comment comment) {
+        this(comment.getCommentId(), comment.getPostId(), comment.getUserId(), comment.getText(), comment.getCreatedAt());
+        this.parentId = comment.getParentId();
+        this.rootId = comment.getRootId();
+        this.depth = comment.getDepth();
+        this.replyCount = comment.getReplyCount();
+    }
+
     // Getters and setters
     public Long getCommentId() {
         return commentId;
@@ -64,4 +78,37 @@ public class CommentResponseDTO {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    // A top-level comment is its own root; rows written before threading have no root_id
+    public Long getRootId() {
+        return rootId != null ? rootId : commentId;
+    }
+
+    public void setRootId(Long rootId) {
+        this.rootId = rootId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public int getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(int replyCount) {
+        this.replyCount = replyCount;
+    }
 }
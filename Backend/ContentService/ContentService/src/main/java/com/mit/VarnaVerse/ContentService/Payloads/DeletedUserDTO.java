@@ -0,0 +1,10 @@
+package com.mit.VarnaVerse.ContentService.Payloads;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of UserService's deleted-user feed. The last entry's deletedAt and id are the
+ * cursor of the next page (stored in the deleted-users SyncCheckpoint).
+ */
+public record DeletedUserDTO(Long id, LocalDateTime deletedAt) {
+}
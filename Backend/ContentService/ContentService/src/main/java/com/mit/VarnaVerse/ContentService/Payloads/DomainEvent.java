@@ -0,0 +1,30 @@
+package com.mit.VarnaVerse.ContentService.Payloads;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Envelope of a cross-service domain event, as stored in outbox_events and sent to the broker.
+ * Same JSON shape in UserService. eventId is unique per event and is what consumers dedupe on.
+ */
+public record DomainEvent(String eventId, String type, long aggregateId, Instant occurredAt,
+        Map<String, Object> payload) {
+
+    // Published by UserService on varnaverse.user-events
+    public static final String USER_UPDATED = "UserUpdated";
+    public static final String USER_DELETED = "UserDeleted";
+
+    // Published by this service on varnaverse.content-events
+    public static final String POST_CREATED = "PostCreated";
+    public static final String ENGAGEMENT_CHANGED = "EngagementChanged";
+
+    public long payloadLong(String key) {
+        Object value = payload == null ? null : payload.get(key);
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    public String payloadString(String key) {
+        Object value = payload == null ? null : payload.get(key);
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,12 @@
+package com.mit.VarnaVerse.ContentService.Payloads;
+
+/**
+ * One entry of the engagement log. value depends on the type: 1 for LIKE, 0 for UNLIKE, the
+ * rating for RATE, the new comment's id for COMMENT.
+ */
+public record EngagementRecord(long offset, long timestampMillis, Type type, long postId, long userId, long value) {
+
+    public enum Type {
+        LIKE, UNLIKE, RATE, COMMENT
+    }
+}
@@ -0,0 +1,90 @@
+package com.mit.VarnaVerse.ContentService.Payloads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything a post page needs in one response (GET /posts/{id}/detail).
+ * Non-critical parts that missed the deadline are left null and listed in missingParts;
+ * partial is true whenever that list is non-empty.
+ */
+public class PostDetailDTO {
+    private PostResponseDTO post;
+    private List<CommentResponseDTO> comments;
+    private Long commentsCount;
+    private Map<Integer, Long> ratingHistogram; // rating value (1-5) -> number of ratings
+    private Boolean likedByViewer;              // null for anonymous viewers
+    private Integer viewerRating;               // 0 when the viewer hasn't rated
+    private boolean partial;
+    private List<String> missingParts = new ArrayList<>();
+
+    public PostResponseDTO getPost() {
+        return post;
+    }
+
+    public void setPost(PostResponseDTO post) {
+        this.post = post;
+    }
+
+    public List<CommentResponseDTO> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<CommentResponseDTO> comments) {
+        this.comments = comments;
+    }
+
+    public Long getCommentsCount() {
+        return commentsCount;
+    }
+
+    public void setCommentsCount(Long commentsCount) {
+        this.commentsCount = commentsCount;
+    }
+
+    public Map<Integer, Long> getRatingHistogram() {
+        return ratingHistogram;
+    }
+
+    public void setRatingHistogram(Map<Integer, Long> ratingHistogram) {
+        this.ratingHistogram = ratingHistogram;
+    }
+
+    public Boolean getLikedByViewer() {
+        return likedByViewer;
+    }
+
+    public void setLikedByViewer(Boolean likedByViewer) {
+        this.likedByViewer = likedByViewer;
+    }
+
+    public Integer getViewerRating() {
+        return viewerRating;
+    }
+
+    public void setViewerRating(Integer viewerRating) {
+        this.viewerRating = viewerRating;
+    }
+
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+
+    public List<String> getMissingParts() {
+        return missingParts;
+    }
+
+    public void setMissingParts(List<String> missingParts) {
+        this.missingParts = missingParts;
+    }
+
+    public void addMissingPart(String part) {
+        this.missingParts.add(part);
+        this.partial = true;
+    }
+}
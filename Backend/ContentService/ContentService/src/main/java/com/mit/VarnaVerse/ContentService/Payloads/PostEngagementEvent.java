@@ -0,0 +1,12 @@
+package com.mit.VarnaVerse.ContentService.Payloads;
+
+/**
+ * In-process notification that a post's likes, comments or rating changed.
+ * Published through the Spring ApplicationEventPublisher by the write paths in PostServiceImpl.
+ */
+public record PostEngagementEvent(Long postId, Type type) {
+
+    public enum Type {
+        LIKE, COMMENT, RATING
+    }
+}
@@ -0,0 +1,77 @@
+package com.mit.VarnaVerse.ContentService.Payloads;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Payload of an "engagement" SSE frame on /posts/{id}/events: the current counters for the
+ * post plus which kinds of change were coalesced into this frame.
+ */
+public class PostEventDTO {
+    private Long postId;
+    private long likesCount;
+    private long commentsCount;
+    private float ratingAvg;
+    private Set<PostEngagementEvent.Type> changed;
+    private LocalDateTime emittedAt;
+
+    public PostEventDTO() {}
+
+    public PostEventDTO(Long postId, long likesCount, long commentsCount, float ratingAvg,
+                        Set<PostEngagementEvent.Type> changed, LocalDateTime emittedAt) {
+        this.postId = postId;
+        this.likesCount = likesCount;
+        this.commentsCount = commentsCount;
+        this.ratingAvg = ratingAvg;
+        this.changed = changed;
+        this.emittedAt = emittedAt;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public long getLikesCount() {
+        return likesCount;
+    }
+
+    public void setLikesCount(long likesCount) {
+        this.likesCount = likesCount;
+    }
+
+    public long getCommentsCount() {
+        return commentsCount;
+    }
+
+    public void setCommentsCount(long commentsCount) {
+        this.commentsCount = commentsCount;
+    }
+
+    public float getRatingAvg() {
+        return ratingAvg;
+    }
+
+    public void setRatingAvg(float ratingAvg) {
+        this.ratingAvg = ratingAvg;
+    }
+
+    public Set<PostEngagementEvent.Type> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(Set<PostEngagementEvent.Type> changed) {
+        this.changed = changed;
+    }
+
+    public LocalDateTime getEmittedAt() {
+        return emittedAt;
+    }
+
+    public void setEmittedAt(LocalDateTime emittedAt) {
+        this.emittedAt = emittedAt;
+    }
+}
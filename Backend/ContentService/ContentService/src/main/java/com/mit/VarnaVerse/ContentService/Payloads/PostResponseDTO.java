@@ -9,6 +9,7 @@ public class PostResponseDTO {
   
 	private Long postId;
     private Long userId; // Author ID
+    private String authorName; // Filled from UserService via UserProfileCache
     private String title;
     private String content;
     private String category;
@@ -16,6 +17,8 @@ public class PostResponseDTO {
     private Integer likesCount;
     private LocalDate createdAt;
     private LocalDate updatedAt;
+    private Long viewCount; // Filled by PostViewTracker
+    private Long uniqueViewers; // HyperLogLog estimate
 	
 	public Long getPostId() {
 		return postId;
@@ -29,6 +32,12 @@ public class PostResponseDTO {
 	public void setUserId(Long userId) {
 		this.userId = userId;
 	}
+	public String getAuthorName() {
+		return authorName;
+	}
+	public void setAuthorName(String authorName) {
+		this.authorName = authorName;
+	}
 	public String getTitle() {
 		return title;
 	}
@@ -65,6 +74,18 @@ public class PostResponseDTO {
 	public void setCreatedAt(LocalDate createdAt) {
 		this.createdAt = createdAt;
 	}
+	public Long getViewCount() {
+		return viewCount;
+	}
+	public void setViewCount(Long viewCount) {
+		this.viewCount = viewCount;
+	}
+	public Long getUniqueViewers() {
+		return uniqueViewers;
+	}
+	public void setUniqueViewers(Long uniqueViewers) {
+		this.uniqueViewers = uniqueViewers;
+	}
 	public LocalDate getUpdatedAt() {
 		return updatedAt;
 	}
@@ -0,0 +1,64 @@
+package com.mit.VarnaVerse.ContentService.Payloads;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rating distribution of one post (GraphQL Post.ratings): average, total and a 1-5 histogram.
+ */
+public class RatingSummaryDTO {
+    private double average;
+    private long count;
+    private List<Bucket> histogram = new ArrayList<>();
+
+    public RatingSummaryDTO() {
+        for (int value = 1; value <= 5; value++) {
+            histogram.add(new Bucket(value, 0));
+        }
+    }
+
+    // Adds count ratings of the given value (1-5)
+    public void add(int value, long ratings) {
+        if (value < 1 || value > 5) {
+            return;
+        }
+        Bucket bucket = histogram.get(value - 1);
+        bucket.setCount(bucket.getCount() + ratings);
+        average = (average * count + (double) value * ratings) / (count + ratings);
+        count += ratings;
+    }
+
+    public double getAverage() {
+        return average;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public List<Bucket> getHistogram() {
+        return histogram;
+    }
+
+    public static class Bucket {
+        private int value;
+        private long count;
+
+        public Bucket(int value, long count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.mit.VarnaVerse.ContentService.Payloads;
+
+import java.time.Instant;
+
+/**
+ * Outcome of one CounterReconciler run. "Drifted" counts rows whose stored counter disagreed
+ * with the aggregate; "fixed" those actually rewritten (a row changed by a request meanwhile is
+ * left for the next run). likeDriftTotal / likeDriftMax are in likes, summed over posts.
+ */
+public record ReconciliationReport(
+        Instant startedAt,
+        long durationMs,
+        int partitions,
+        long postsScanned,
+        long likesDrifted,
+        long likesFixed,
+        long likeDriftTotal,
+        long likeDriftMax,
+        long ratingsDrifted,
+        long ratingsFixed,
+        long replyCountsDrifted,
+        long replyCountsFixed) {
+}
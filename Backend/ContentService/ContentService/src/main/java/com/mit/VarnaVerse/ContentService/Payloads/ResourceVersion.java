@@ -0,0 +1,18 @@
+package com.mit.VarnaVerse.ContentService.Payloads;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators for a conditional GET, read without loading the resource: a weak ETag (the bodies
+ * can carry values kept outside the row, such as author names) and the
+ * Last-Modified time in epoch millis, -1 when unknown. Passed to WebRequest.checkNotModified.
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    // W/"<key>-<millis>"; key identifies the resource, so versions of different resources never collide
+    public static ResourceVersion of(String key, LocalDateTime modifiedAt) {
+        long millis = modifiedAt != null ? modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        return new ResourceVersion("W/\"" + key + "-" + Math.max(millis, 0) + "\"", millis);
+    }
+}
@@ -7,6 +7,7 @@ public class UserDTO {
     private Long id;
     private String email;
     private String name;
+    private String role;
 	public Long getId() {
 		return id;
 	}
@@ -25,6 +26,12 @@ public class UserDTO {
 	public void setName(String name) {
 		this.name = name;
 	}
+	public String getRole() {
+		return role;
+	}
+	public void setRole(String role) {
+		this.role = role;
+	}
     
     
 }
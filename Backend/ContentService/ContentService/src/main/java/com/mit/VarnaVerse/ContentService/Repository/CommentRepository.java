@@ -1,13 +1,63 @@
 package com.mit.VarnaVerse.ContentService.Repository;
 
 import com.mit.VarnaVerse.ContentService.Entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPostId(Long postId);
     long countByPostId(Long postId);
+
+    // [count, max id, max updated_at] of a post's comments: changes with every new, edited or removed comment
+    @Query("SELECT COUNT(c), MAX(c.commentId), MAX(c.updatedAt) FROM Comment c WHERE c.postId = :postId")
+    List<Object[]> findVersionByPostId(@Param("postId") Long postId);
+
+    // Newest-first page for the post detail view
+    List<Comment> findByPostIdOrderByCommentIdDesc(Long postId, Pageable pageable);
+
+    // [postId, count] for a batch of posts (GraphQL Post.commentsCount)
+    @Query("SELECT c.postId, COUNT(c) FROM Comment c WHERE c.postId IN :postIds GROUP BY c.postId")
+    List<Object[]> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Newest perPost top-level comments of every post in the batch, in one statement (GraphQL Post.comments)
+    @Query(value = "SELECT " + COLUMNS + " FROM (SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.post_id ORDER BY c.comment_id DESC) AS rn "
+            + "      FROM comments c WHERE c.post_id IN (:postIds) AND c.depth = 0) ranked "
+            + "WHERE ranked.rn <= :perPost ORDER BY ranked.post_id, ranked.comment_id DESC", nativeQuery = true)
+    List<Comment> findLatestPerPost(@Param("postIds") Collection<Long> postIds, @Param("perPost") int perPost);
+
+    // ---------------------- THREADS (materialized path, see Util.CommentPaths) ----------------------
+    String COLUMNS = "ranked.comment_id, ranked.post_id, ranked.user_id, ranked.parent_id, ranked.root_id, ranked.depth, "
+            + "ranked.path, ranked.reply_count, ranked.text, ranked.created_at, ranked.updated_at";
+
+    // Whole post in thread order
+    List<Comment> findByPostIdOrderByPathAsc(Long postId);
+
+    // Keyset page of top-level comments (newest thread first): range scan on idx_comments_post_depth_path
+    @Query("SELECT c FROM Comment c WHERE c.postId = :postId AND c.depth = 0 AND c.path > :afterPath ORDER BY c.path")
+    List<Comment> findTopLevelAfter(@Param("postId") Long postId, @Param("afterPath") String afterPath, Pageable pageable);
+
+    // First perThread replies of every thread whose paths lie in [fromPath, toPath): one range scan on idx_comments_post_path
+    @Query(value = "SELECT " + COLUMNS + " FROM (SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.root_id ORDER BY c.path) AS rn "
+            + "      FROM comments c WHERE c.post_id = :postId AND c.path > :fromPath AND c.path < :toPath AND c.depth > 0) ranked "
+            + "WHERE ranked.rn <= :perThread ORDER BY ranked.path", nativeQuery = true)
+    List<Comment> findRepliesInRange(@Param("postId") Long postId, @Param("fromPath") String fromPath,
+            @Param("toPath") String toPath, @Param("perThread") int perThread);
+
+    // Keyset page of a subtree: paths in (afterPath, subtreeEnd)
+    @Query("SELECT c FROM Comment c WHERE c.postId = :postId AND c.path > :afterPath AND c.path < :subtreeEnd ORDER BY c.path")
+    List<Comment> findSubtreeAfter(@Param("postId") Long postId, @Param("afterPath") String afterPath,
+            @Param("subtreeEnd") String subtreeEnd, Pageable pageable);
+
+    // Every ancestor of a new reply, one statement
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + 1 WHERE c.commentId IN :commentIds")
+    int incrementReplyCounts(@Param("commentIds") Collection<Long> commentIds);
 }
\ No newline at end of file
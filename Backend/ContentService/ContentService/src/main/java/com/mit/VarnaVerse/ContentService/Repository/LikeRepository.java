@@ -2,9 +2,13 @@ package com.mit.VarnaVerse.ContentService.Repository;
 
 import com.mit.VarnaVerse.ContentService.Entity.Like;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface LikeRepository extends JpaRepository<Like, Long> {
@@ -13,4 +17,8 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     Optional<Like> findByPostIdAndUserId(Long postId, Long userId);
     
     boolean existsByPostIdAndUserId(Long postId, Long userId);
+
+    // Fallback for LikeIndex: the subset of postIds the user liked, in one query
+    @Query("SELECT l.postId FROM Like l WHERE l.userId = :userId AND l.postId IN :postIds")
+    Set<Long> findLikedPostIds(@Param("postIds") Collection<Long> postIds, @Param("userId") Long userId);
 }
@@ -5,7 +5,11 @@ package com.mit.VarnaVerse.ContentService.Repository;
 import com.mit.VarnaVerse.ContentService.Entity.Post;
 import com.mit.VarnaVerse.ContentService.Payloads.PostResponseDTO;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -24,6 +28,35 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     // API: GET /search?query=
     List<Post> findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(String titleQuery, String contentQuery);
+
+    List<Post> findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(String titleQuery, String contentQuery,
+            Pageable pageable);
+
+    // GraphQL posts(first, after): newest-first keyset pages over the primary key
+    List<Post> findByPostIdLessThanOrderByPostIdDesc(long beforeId, Pageable pageable);
+
+    List<Post> findByCategoryAndPostIdLessThanOrderByPostIdDesc(String category, long beforeId, Pageable pageable);
+
+    // Conditional GET /posts/{id}: [modifiedAt, viewCount, uniqueViewers, views updatedAt] without loading the
+    // post; empty if missing, the view columns null before the post's first view flush
+    @Query("SELECT p.modifiedAt, s.viewCount, s.uniqueViewers, s.updatedAt FROM Post p "
+            + "LEFT JOIN PostViewStats s ON s.postId = p.postId WHERE p.postId = :postId")
+    List<Object[]> findVersion(@Param("postId") long postId);
+
+    // '!' rather than the derived queries' backslash, which MySQL string literals would take as an escape
+    EscapeCharacter LIKE_ESCAPE = EscapeCharacter.of('!');
+
+    // Streamed /posts/search: newest-first keyset pages of the same title/content match. % and _ in
+    // the query are literal, as in the derived Containing query behind the buffered search
+    default List<Post> searchBefore(String query, long beforeId, Pageable pageable) {
+        return searchEscapedBefore(LIKE_ESCAPE.escape(query), beforeId, pageable);
+    }
+
+    @Query("SELECT p FROM Post p WHERE p.postId < :beforeId "
+            + "AND (LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%')) ESCAPE '!' "
+            + "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :query, '%')) ESCAPE '!') ORDER BY p.postId DESC")
+    List<Post> searchEscapedBefore(@Param("query") String escapedQuery, @Param("beforeId") long beforeId,
+            Pageable pageable);
     
    
     
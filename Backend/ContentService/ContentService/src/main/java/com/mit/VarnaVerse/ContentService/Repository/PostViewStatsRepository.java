@@ -0,0 +1,23 @@
+package com.mit.VarnaVerse.ContentService.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mit.VarnaVerse.ContentService.Entity.PostViewStats;
+
+@Repository
+public interface PostViewStatsRepository extends JpaRepository<PostViewStats, Long> {
+
+    // [postId, viewCount, uniqueViewers] without loading the 1 KB sketch
+    @Query("SELECT s.postId, s.viewCount, s.uniqueViewers FROM PostViewStats s WHERE s.postId IN :postIds")
+    List<Object[]> findCounters(@Param("postIds") Collection<Long> postIds);
+
+    // [postId, viewerSketch] for merging at flush time
+    @Query("SELECT s.postId, s.viewerSketch FROM PostViewStats s WHERE s.postId IN :postIds")
+    List<Object[]> findSketches(@Param("postIds") Collection<Long> postIds);
+}
@@ -1,9 +1,12 @@
 package com.mit.VarnaVerse.ContentService.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.mit.VarnaVerse.ContentService.Entity.Rating;
@@ -14,4 +17,12 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     Optional<Rating> findByPostIdAndUserId(Long postId, Long userId);
 
     List<Rating> findByPostId(Long postId);
+
+    // [ratingValue, count] per value; aggregated in the database instead of loading every rating
+    @Query("SELECT r.ratingValue, COUNT(r) FROM Rating r WHERE r.postId = :postId GROUP BY r.ratingValue")
+    List<Object[]> countByRatingValue(@Param("postId") Long postId);
+
+    // [postId, ratingValue, count] for a batch of posts (GraphQL Post.ratings)
+    @Query("SELECT r.postId, r.ratingValue, COUNT(r) FROM Rating r WHERE r.postId IN :postIds GROUP BY r.postId, r.ratingValue")
+    List<Object[]> countByPostIdsAndRatingValue(@Param("postIds") Collection<Long> postIds);
 }
@@ -0,0 +1,10 @@
+package com.mit.VarnaVerse.ContentService.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.mit.VarnaVerse.ContentService.Entity.SyncCheckpoint;
+
+@Repository
+public interface SyncCheckpointRepository extends JpaRepository<SyncCheckpoint, String> {
+}
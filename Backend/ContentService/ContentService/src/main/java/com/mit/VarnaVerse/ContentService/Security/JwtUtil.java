@@ -23,6 +23,18 @@ public class JwtUtil {
                 .getBody();
     }
 
+    // Subject of a valid, unexpired token (optionally "Bearer "-prefixed); null for anything else
+    public String extractSubject(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return extractAllClaims(token.startsWith("Bearer ") ? token.substring(7) : token).getSubject();
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
     public Long extractUserId(String token) {
         try {
             Claims claims = extractAllClaims(token);
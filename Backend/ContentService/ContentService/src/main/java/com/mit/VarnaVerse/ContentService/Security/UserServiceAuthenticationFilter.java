@@ -0,0 +1,76 @@
+package com.mit.VarnaVerse.ContentService.Security;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.mit.VarnaVerse.ContentService.Client.UserClient;
+import com.mit.VarnaVerse.ContentService.Payloads.UserDTO;
+
+import feign.FeignException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates /admin/** callers against UserService (this service has no user store of its own).
+ * The resolved UserDTO becomes the principal, with its role as the only authority, so
+ * SecurityConfig can check the role. A missing or rejected token leaves the request anonymous
+ * (401 from the entry point); UserService being unreachable answers 503.
+ */
+public class UserServiceAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserServiceAuthenticationFilter.class);
+
+    private final UserClient userClient;
+
+    public UserServiceAuthenticationFilter(UserClient userClient) {
+        this.userClient = userClient;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/admin/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader("Authorization");
+        if (authorization == null || authorization.isBlank()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        UserDTO user;
+        try {
+            user = userClient.getCurrentUser(authorization);
+        } catch (FeignException | ResponseStatusException e) {
+            int status = e instanceof FeignException feign ? feign.status() : ((ResponseStatusException) e).getStatusCode().value();
+            if (status != HttpStatus.UNAUTHORIZED.value() && status != HttpStatus.FORBIDDEN.value()) {
+                logger.warn("Could not resolve the caller of {}: {}", request.getRequestURI(), e.getMessage());
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+                return;
+            }
+            user = null;
+        }
+
+        if (user != null && user.getRole() != null) {
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    user, null, List.of(new SimpleGrantedAuthority(user.getRole().toUpperCase())));
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
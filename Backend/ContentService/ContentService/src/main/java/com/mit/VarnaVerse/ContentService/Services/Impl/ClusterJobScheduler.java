@@ -0,0 +1,365 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs the scheduled jobs that must happen once per cluster rather than once per instance
+ * (purging deleted content, counter reconciliation, relaying and trimming the outbox). Every
+ * job has a row in job_leases; before a run an instance renews the lease it already holds or
+ * takes over one that has expired. Both are conditional UPDATEs compared against the
+ * database clock, so clock skew between instances does not matter and two instances can
+ * never take the same expired lease.
+ *
+ * The holder keeps its lease between runs: a heartbeat thread of its own (a long run must not
+ * starve it) extends every held lease each heartbeat-ms. Other instances keep ticking at the
+ * job's interval and take over once the holder has missed lease-ms worth of heartbeats. Each
+ * takeover increments the job's fencing token; statements carrying {@link #FENCE} stop
+ * matching as soon as another instance holds the lease, even before the old holder notices.
+ *
+ * Jobs whose state lives in this process (view buffers, local caches, the engagement log)
+ * stay on plain @Scheduled.
+ */
+@Service
+public class ClusterJobScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterJobScheduler.class);
+
+    // For a job's UPDATE/DELETE ... WHERE; binds the job name, then the fencing token
+    public static final String FENCE = "EXISTS (SELECT 1 FROM job_leases WHERE job_name = ? AND fencing_token = ?)";
+
+    private static final ThreadLocal<Lease> CURRENT = new ThreadLocal<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    // false: every instance runs every job (single-instance setups without the job_leases table)
+    @Value("${content.jobs.leases.enabled:true}")
+    private boolean leasesEnabled;
+
+    @Value("${content.jobs.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${content.jobs.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    @Value("${content.jobs.instance-id:}")
+    private String instanceId;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private ScheduledExecutorService heartbeats;
+    private String owner;
+    private volatile boolean refreshed;
+
+    /** Right to run one job, valid while job_leases still carries this owner and token. */
+    public record Lease(String jobName, String owner, long fencingToken) {
+    }
+
+    @PostConstruct
+    void init() {
+        if (heartbeatMs >= leaseMs) {
+            throw new IllegalStateException("content.jobs.heartbeat-ms must be shorter than content.jobs.lease-ms");
+        }
+        // Unique per process: a restarted instance must not mistake its predecessor's lease for its own
+        owner = instanceId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8)
+                : instanceId;
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (leasesEnabled) {
+            heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // ---------------------- SCHEDULING ----------------------
+    // Fixed delay between the end of one tick and the start of the next, like @Scheduled(fixedDelay).
+    // Jobs scheduled from @PostConstruct start ticking once the context has been refreshed.
+    public void schedule(String name, Duration initialDelay, Duration interval, Runnable task) {
+        Job job = new Job(name, initialDelay, interval, task);
+        if (jobs.putIfAbsent(name, job) != null) {
+            throw new IllegalStateException("Job already scheduled: " + name);
+        }
+        registerMeters(job);
+        if (refreshed) {
+            start(job);
+        }
+    }
+
+    @EventListener
+    void onRefreshed(ContextRefreshedEvent event) {
+        // Child contexts (Feign clients) publish their own refreshes to this one
+        if (event.getApplicationContext() != applicationContext) {
+            return;
+        }
+        refreshed = true;
+        jobs.values().forEach(this::start);
+    }
+
+    private void start(Job job) {
+        if (job.started.compareAndSet(false, true)) {
+            Instant first = Instant.now().plus(job.initialDelay);
+            job.nextRunMillis = first.toEpochMilli();
+            taskScheduler.scheduleWithFixedDelay(() -> tick(job), first, job.interval);
+        }
+    }
+
+    // Runs the job now if this instance holds or can take its lease. False when another instance
+    // holds it or a run is already in progress here; failures of the job itself propagate.
+    public boolean runNow(String name) {
+        Job job = jobs.get(name);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown job: " + name);
+        }
+        return execute(job);
+    }
+
+    // The lease of the job running on this thread; null outside a job or with leases disabled
+    public static Lease currentLease() {
+        return CURRENT.get();
+    }
+
+    // As far as the last renewal knows. Long jobs check this between chunks and stop early when it turns false.
+    public boolean holds(Lease lease) {
+        if (lease == null) {
+            return true;
+        }
+        Job job = jobs.get(lease.jobName());
+        return job != null && lease.equals(job.lease.get())
+                && System.nanoTime() - job.renewedAtNanos < TimeUnit.MILLISECONDS.toNanos(leaseMs);
+    }
+
+    private void tick(Job job) {
+        try {
+            execute(job);
+        } catch (RuntimeException e) {
+            logger.warn("Job {} failed, retrying next run: {}", job.name, e.toString());
+        } finally {
+            job.nextRunMillis = System.currentTimeMillis() + job.interval.toMillis();
+        }
+    }
+
+    private boolean execute(Job job) {
+        if (!job.running.tryLock()) {
+            return false;
+        }
+        try {
+            Lease lease = null;
+            if (leasesEnabled) {
+                try {
+                    lease = acquire(job);
+                } catch (DataAccessException e) {
+                    logger.warn("Could not acquire the lease of job {}: {}", job.name, e.getMessage());
+                    return false;
+                }
+                if (lease == null) {
+                    job.skipped.increment();
+                    return false;
+                }
+            }
+
+            job.lastRunMillis = System.currentTimeMillis();
+            long started = System.nanoTime();
+            CURRENT.set(lease);
+            try {
+                job.task.run();
+                job.succeeded.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            } catch (RuntimeException e) {
+                job.failed.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                throw e;
+            } finally {
+                CURRENT.remove();
+            }
+            return true;
+        } finally {
+            job.running.unlock();
+        }
+    }
+
+    // ---------------------- LEASES ----------------------
+    // The lease this instance may run the job under, null when another instance holds it
+    private Lease acquire(Job job) {
+        if (!job.rowCreated) {
+            createRow(job.name);
+            job.rowCreated = true;
+        }
+        Lease held = job.lease.get();
+        if (held != null) {
+            // Fresh enough from the heartbeat: frequent jobs (the outbox relay) need no write per tick
+            if (System.nanoTime() - job.renewedAtNanos < TimeUnit.MILLISECONDS.toNanos(heartbeatMs) || renew(job, held)) {
+                return held;
+            }
+            lost(job, held);
+        }
+
+        long attempted = System.nanoTime();
+        int taken = jdbcTemplate.update("UPDATE job_leases SET owner = ?, fencing_token = fencing_token + 1, "
+                + "acquired_at = CURRENT_TIMESTAMP(6), expires_at = TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(6)) "
+                + "WHERE job_name = ? AND (expires_at IS NULL OR expires_at < CURRENT_TIMESTAMP(6))",
+                owner, leaseMs * 1000, job.name);
+        if (taken == 0) {
+            return null;
+        }
+        Long token = jdbcTemplate.queryForObject(
+                "SELECT fencing_token FROM job_leases WHERE job_name = ? AND owner = ?", Long.class, job.name, owner);
+        Lease lease = new Lease(job.name, owner, token);
+        job.renewedAtNanos = attempted;
+        job.lease.set(lease);
+        logger.info("Took the lease of job {} (fencing token {})", job.name, token);
+        return lease;
+    }
+
+    private void createRow(String name) {
+        try {
+            jdbcTemplate.update("INSERT INTO job_leases (job_name, fencing_token) VALUES (?, 0)", name);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance (or an earlier run of this one) created it
+        }
+    }
+
+    // Unchanged token means nobody else held the lease since, so even an expired one may be extended
+    private boolean renew(Job job, Lease lease) {
+        long attempted = System.nanoTime();
+        boolean renewed = jdbcTemplate.update("UPDATE job_leases SET expires_at = TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(6)) "
+                + "WHERE job_name = ? AND owner = ? AND fencing_token = ?",
+                leaseMs * 1000, lease.jobName(), lease.owner(), lease.fencingToken()) == 1;
+        if (renewed) {
+            // Counted from before the statement, so the local view never outlives the row
+            job.renewedAtNanos = attempted;
+        }
+        return renewed;
+    }
+
+    private void lost(Job job, Lease lease) {
+        if (job.lease.compareAndSet(lease, null)) {
+            logger.warn("Lost the lease of job {} (fencing token {})", job.name, lease.fencingToken());
+        }
+    }
+
+    private void heartbeat() {
+        for (Job job : jobs.values()) {
+            Lease lease = job.lease.get();
+            if (lease == null) {
+                continue;
+            }
+            try {
+                if (!renew(job, lease)) {
+                    lost(job, lease);
+                }
+            } catch (DataAccessException e) {
+                // Database unreachable: keep trying until the lease would have run out anyway
+                if (System.nanoTime() - job.renewedAtNanos >= TimeUnit.MILLISECONDS.toNanos(leaseMs)) {
+                    lost(job, lease);
+                }
+            }
+        }
+    }
+
+    // Hands idle leases over right away instead of after lease-ms; a job still running keeps its lease until expiry
+    @PreDestroy
+    void releaseLeases() {
+        heartbeats.shutdownNow();
+        for (Job job : jobs.values()) {
+            Lease lease = job.lease.get();
+            if (lease == null || !job.running.tryLock()) {
+                continue;
+            }
+            try {
+                jdbcTemplate.update("UPDATE job_leases SET expires_at = NULL WHERE job_name = ? AND owner = ? AND fencing_token = ?",
+                        lease.jobName(), lease.owner(), lease.fencingToken());
+                job.lease.set(null);
+            } catch (DataAccessException e) {
+                logger.debug("Could not release the lease of job {}: {}", job.name, e.getMessage());
+            } finally {
+                job.running.unlock();
+            }
+        }
+    }
+
+    // ---------------------- METRICS ----------------------
+    private void registerMeters(Job job) {
+        Gauge.builder("content.jobs.last.run", job, j -> j.lastRunMillis / 1000.0).tag("job", job.name)
+                .baseUnit("seconds").description("Epoch time this instance last started the job").register(meterRegistry);
+        Gauge.builder("content.jobs.next.run", job, j -> j.nextRunMillis / 1000.0).tag("job", job.name)
+                .baseUnit("seconds").description("Epoch time of this instance's next attempt").register(meterRegistry);
+        Gauge.builder("content.jobs.leader", job, j -> j.lease.get() != null ? 1 : 0).tag("job", job.name)
+                .description("1 while this instance holds the job's lease").register(meterRegistry);
+        Gauge.builder("content.jobs.fencing.token", job, j -> {
+            Lease lease = j.lease.get();
+            return lease != null ? lease.fencingToken() : 0;
+        }).tag("job", job.name).register(meterRegistry);
+        job.succeeded = Timer.builder("content.jobs.duration").tag("job", job.name).tag("outcome", "success")
+                .register(meterRegistry);
+        job.failed = Timer.builder("content.jobs.duration").tag("job", job.name).tag("outcome", "failure")
+                .register(meterRegistry);
+        job.skipped = Counter.builder("content.jobs.skipped").tag("job", job.name)
+                .description("Ticks left to the instance holding the lease").register(meterRegistry);
+    }
+
+    // ---------------------- JOB ----------------------
+    private static final class Job {
+        final String name;
+        final Duration initialDelay;
+        final Duration interval;
+        final Runnable task;
+        // One run of this job at a time
+        final ReentrantLock running = new ReentrantLock();
+        final AtomicBoolean started = new AtomicBoolean();
+        final AtomicReference<Lease> lease = new AtomicReference<>();
+        volatile long renewedAtNanos;
+        volatile boolean rowCreated;
+        volatile long lastRunMillis;
+        volatile long nextRunMillis;
+        Timer succeeded;
+        Timer failed;
+        Counter skipped;
+
+        Job(String name, Duration initialDelay, Duration interval, Runnable task) {
+            this.name = name;
+            this.initialDelay = initialDelay;
+            this.interval = interval;
+            this.task = task;
+        }
+    }
+}
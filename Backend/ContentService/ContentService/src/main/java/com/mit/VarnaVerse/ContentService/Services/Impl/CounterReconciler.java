@@ -0,0 +1,394 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.mit.VarnaVerse.ContentService.Payloads.ReconciliationReport;
+import com.mit.VarnaVerse.ContentService.Services.Impl.ClusterJobScheduler.Lease;
+import com.mit.VarnaVerse.ContentService.Services.Impl.PostColumnStore.Counters;
+import com.mit.VarnaVerse.ContentService.Util.CommentPaths;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Repairs the denormalized counters that requests maintain with read-modify-writes:
+ * posts.likes_count and posts.rating_avg against likes / ratings, and comments.reply_count
+ * against the comment paths. Each run splits the live post id range into partitions, walks
+ * every partition in keyset chunks on reconcileExecutor, computes the truth for a chunk with
+ * grouped aggregates over a post_id range and rewrites the mismatches in one batch.
+ *
+ * At most max-db-concurrency partitions talk to the database at a time, whatever the pool
+ * size. Counter fixes are compare-and-set on the value read, so a row a request changed in
+ * the meantime is skipped and picked up by the next run. The PostColumnStore of the instance
+ * doing the run gets the true values the same way: its counters are read before the truth is
+ * computed and only replaced if still unchanged, and never where the database fix was skipped.
+ *
+ * Only the holder of the job's lease runs it (ClusterJobScheduler). Every fix is fenced with
+ * the lease's token, and partitions stop between chunks once the lease is gone, so a holder
+ * that stalled past its lease cannot overwrite the counters of the instance that took over.
+ */
+@Service
+@ConditionalOnProperty(name = "content.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class CounterReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CounterReconciler.class);
+
+    static final String JOB_NAME = "counter-reconciliation";
+
+    // ratePost stores a float; closer than this is the same average
+    private static final double RATING_EPSILON = 1e-4;
+
+    // The FLOAT comes back through its decimal rendering, so the compare-and-set cannot use equality;
+    // a concurrent rating moves the average by far more than this on any realistic rating count
+    private static final double RATING_CAS_TOLERANCE = 1e-6;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostColumnStore postColumnStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ClusterJobScheduler clusterJobScheduler;
+
+    @Autowired
+    @Qualifier("reconcileExecutor")
+    private AsyncTaskExecutor reconcileExecutor;
+
+    @Value("${content.reconcile.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${content.reconcile.partitions:16}")
+    private int partitions;
+
+    @Value("${content.reconcile.max-db-concurrency:2}")
+    private int maxDbConcurrency;
+
+    @Value("${content.reconcile.initial-delay-ms:300000}")
+    private long initialDelayMs;
+
+    @Value("${content.reconcile.interval-ms:3600000}")
+    private long intervalMs;
+
+    private Semaphore dbPermits;
+    private volatile ReconciliationReport lastReport;
+
+    private Timer runTimer;
+    private DistributionSummary likeDrift;
+    private Counter fixedLikes;
+    private Counter fixedRatings;
+    private Counter fixedReplyCounts;
+
+    @PostConstruct
+    void init() {
+        dbPermits = new Semaphore(Math.max(1, maxDbConcurrency), true);
+        runTimer = Timer.builder("content.reconcile.duration").register(meterRegistry);
+        likeDrift = DistributionSummary.builder("content.reconcile.like.drift")
+                .description("Absolute likes_count error of each drifted post").register(meterRegistry);
+        fixedLikes = Counter.builder("content.reconcile.fixed").tag("counter", "likes").register(meterRegistry);
+        fixedRatings = Counter.builder("content.reconcile.fixed").tag("counter", "rating").register(meterRegistry);
+        fixedReplyCounts = Counter.builder("content.reconcile.fixed").tag("counter", "replies").register(meterRegistry);
+        clusterJobScheduler.schedule(JOB_NAME, Duration.ofMillis(initialDelayMs), Duration.ofMillis(intervalMs),
+                this::runOnce);
+    }
+
+    // ---------------------- RUN ----------------------
+    // Null when a run is already in progress, here or on the instance holding the lease
+    public ReconciliationReport run() {
+        return clusterJobScheduler.runNow(JOB_NAME) ? lastReport : null;
+    }
+
+    public ReconciliationReport getLastReport() {
+        return lastReport;
+    }
+
+    private void runOnce() {
+        // Taken on the scheduling thread: the partitions run on reconcileExecutor
+        Lease lease = ClusterJobScheduler.currentLease();
+        Instant startedAt = Instant.now();
+        long started = System.nanoTime();
+        Map<String, Object> bounds = withDb(() -> jdbcTemplate.queryForMap(
+                "SELECT MIN(post_id) AS lo, MAX(post_id) AS hi FROM posts WHERE deleted_at IS NULL"));
+        Tally total = new Tally();
+        int ranges = 0;
+        if (bounds.get("lo") != null) {
+            long low = ((Number) bounds.get("lo")).longValue() - 1; // exclusive
+            long high = ((Number) bounds.get("hi")).longValue();
+            ranges = (int) Math.max(1, Math.min(partitions, high - low));
+            long width = (high - low + ranges - 1) / ranges;
+
+            List<CompletableFuture<Tally>> futures = new ArrayList<>();
+            for (int p = 0; p < ranges; p++) {
+                long after = low + p * width;
+                long upTo = Math.min(high, after + width);
+                futures.add(CompletableFuture.supplyAsync(() -> reconcileRange(after, upTo, lease), reconcileExecutor));
+            }
+            for (CompletableFuture<Tally> future : futures) {
+                total.add(future.join());
+            }
+        }
+
+        long durationNanos = System.nanoTime() - started;
+        runTimer.record(Duration.ofNanos(durationNanos));
+        fixedLikes.increment(total.likesFixed);
+        fixedRatings.increment(total.ratingsFixed);
+        fixedReplyCounts.increment(total.replyCountsFixed);
+        ReconciliationReport report = total.toReport(startedAt, durationNanos / 1_000_000, ranges);
+        lastReport = report;
+        if (!clusterJobScheduler.holds(lease)) {
+            logger.warn("Counter reconciliation lost its lease and stopped early: {}", report);
+        } else if (total.likesDrifted + total.ratingsDrifted + total.replyCountsDrifted > 0) {
+            logger.info("Counter reconciliation: {}", report);
+        } else {
+            logger.debug("Counter reconciliation found no drift in {} posts", total.postsScanned);
+        }
+    }
+
+    // Posts with after < post_id <= upTo, one chunk at a time
+    private Tally reconcileRange(long after, long upTo, Lease lease) {
+        Tally tally = new Tally();
+        long cursor = after;
+        while (cursor < upTo && clusterJobScheduler.holds(lease)) {
+            long last = reconcileChunk(cursor, upTo, tally, lease);
+            if (last < 0) {
+                break;
+            }
+            cursor = last;
+        }
+        return tally;
+    }
+
+    // ---------------------- CHUNK ----------------------
+    // Returns the last post id of the chunk, -1 when there was none
+    private long reconcileChunk(long after, long upTo, Tally tally, Lease lease) {
+        Map<Long, Long> stored = new HashMap<>(); // post -> likes_count
+        Map<Long, Double> storedRatings = new HashMap<>();
+        long[] range = { Long.MAX_VALUE, -1 };
+        withDb(() -> {
+            jdbcTemplate.query("SELECT post_id, likes_count, rating_avg FROM posts "
+                    + "WHERE deleted_at IS NULL AND post_id > ? AND post_id <= ? ORDER BY post_id LIMIT ?", rs -> {
+                        long postId = rs.getLong(1);
+                        stored.put(postId, rs.getLong(2));
+                        storedRatings.put(postId, rs.getDouble(3));
+                        range[0] = Math.min(range[0], postId);
+                        range[1] = Math.max(range[1], postId);
+                    }, after, upTo, chunkSize);
+            return null;
+        });
+        if (stored.isEmpty()) {
+            return -1;
+        }
+        long first = range[0];
+        long last = range[1];
+        tally.postsScanned += stored.size();
+        // Before the aggregates: anything a request applies from here on makes the compare-and-set fail
+        Map<Long, Counters> cached = postColumnStore.counters(stored.keySet());
+
+        Map<Long, Long> likes = new HashMap<>();
+        Map<Long, long[]> ratings = new HashMap<>(); // post -> {sum, count}
+        Map<Long, Integer> storedReplies = new HashMap<>();
+        Map<Long, Integer> trueReplies = new HashMap<>();
+        Map<Long, Integer> comments = new HashMap<>();
+        withDb(() -> {
+            jdbcTemplate.query("SELECT post_id, COUNT(*) FROM likes WHERE post_id BETWEEN ? AND ? GROUP BY post_id",
+                    rs -> {
+                        likes.put(rs.getLong(1), rs.getLong(2));
+                    }, first, last);
+            jdbcTemplate.query("SELECT post_id, SUM(rating_value), COUNT(*) FROM ratings WHERE post_id BETWEEN ? AND ? "
+                    + "GROUP BY post_id", rs -> {
+                        ratings.put(rs.getLong(1), new long[] { rs.getLong(2), rs.getLong(3) });
+                    }, first, last);
+            // Reply counts are per comment: every comment adds one to each of its ancestors
+            jdbcTemplate.query("SELECT post_id, comment_id, path, reply_count FROM comments WHERE post_id BETWEEN ? AND ?",
+                    rs -> {
+                        long postId = rs.getLong(1);
+                        String path = rs.getString(3);
+                        if (!stored.containsKey(postId) || path == null) {
+                            return;
+                        }
+                        long commentId = rs.getLong(2);
+                        storedReplies.put(commentId, rs.getInt(4));
+                        comments.merge(postId, 1, Integer::sum);
+                        List<Long> ids = CommentPaths.ids(path);
+                        for (int i = 0; i < ids.size() - 1; i++) {
+                            trueReplies.merge(ids.get(i), 1, Integer::sum);
+                        }
+                    }, first, last);
+            return null;
+        });
+
+        List<Object[]> likeFixes = new ArrayList<>();
+        List<Long> likeFixPosts = new ArrayList<>();
+        List<Object[]> ratingFixes = new ArrayList<>();
+        List<Long> ratingFixPosts = new ArrayList<>();
+        Map<Long, Counters> truth = new HashMap<>();
+        for (Map.Entry<Long, Long> entry : stored.entrySet()) {
+            long postId = entry.getKey();
+            long storedLikes = entry.getValue();
+            long trueLikes = likes.getOrDefault(postId, 0L);
+            if (storedLikes != trueLikes) {
+                tally.likesDrifted++;
+                long drift = Math.abs(storedLikes - trueLikes);
+                tally.likeDriftTotal += drift;
+                tally.likeDriftMax = Math.max(tally.likeDriftMax, drift);
+                likeDrift.record(drift);
+                likeFixes.add(fenceArgs(lease, trueLikes, postId, storedLikes));
+                likeFixPosts.add(postId);
+            }
+
+            long[] rating = ratings.getOrDefault(postId, new long[] { 0, 0 });
+            double trueAverage = rating[1] == 0 ? 0.0 : (double) rating[0] / rating[1];
+            double storedRating = storedRatings.get(postId);
+            if (Math.abs(storedRating - trueAverage) > RATING_EPSILON) {
+                tally.ratingsDrifted++;
+                // Compare-and-set on the average read: a ratePost committed since then already wrote a newer one
+                ratingFixes.add(fenceArgs(lease, (float) trueAverage, postId, storedRating, RATING_CAS_TOLERANCE));
+                ratingFixPosts.add(postId);
+            }
+
+            truth.put(postId, new Counters(trueLikes, (int) rating[0], (int) rating[1], comments.getOrDefault(postId, 0)));
+        }
+
+        List<Object[]> replyFixes = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : storedReplies.entrySet()) {
+            long commentId = entry.getKey();
+            int recorded = entry.getValue();
+            int actual = trueReplies.getOrDefault(commentId, 0);
+            if (actual != recorded) {
+                tally.replyCountsDrifted++;
+                replyFixes.add(fenceArgs(lease, actual, commentId, recorded));
+            }
+        }
+
+        // modified_at / updated_at move too: they are the validators of the conditional GETs
+        Set<Long> likesSkipped = new HashSet<>();
+        Set<Long> ratingsSkipped = new HashSet<>();
+        if (!likeFixes.isEmpty() || !ratingFixes.isEmpty() || !replyFixes.isEmpty()) {
+            withDb(() -> {
+                tally.likesFixed += updated(jdbcTemplate.batchUpdate(fenced(lease, "UPDATE posts SET likes_count = ?, "
+                        + "modified_at = CURRENT_TIMESTAMP(6) WHERE post_id = ? AND likes_count = ?"), likeFixes),
+                        likeFixPosts, likesSkipped);
+                tally.ratingsFixed += updated(jdbcTemplate.batchUpdate(fenced(lease, "UPDATE posts SET rating_avg = ?, "
+                        + "modified_at = CURRENT_TIMESTAMP(6) WHERE post_id = ? AND ABS(rating_avg - ?) < ?"), ratingFixes),
+                        ratingFixPosts, ratingsSkipped);
+                tally.replyCountsFixed += updated(jdbcTemplate.batchUpdate(fenced(lease, "UPDATE comments SET reply_count = ?, "
+                        + "updated_at = CURRENT_TIMESTAMP(6) WHERE comment_id = ? AND reply_count = ?"), replyFixes),
+                        null, null);
+                return null;
+            });
+        }
+
+        // A skipped fix means the row moved after the read, so this run's truth may already be stale there
+        for (Map.Entry<Long, Counters> entry : cached.entrySet()) {
+            long postId = entry.getKey();
+            Counters held = entry.getValue();
+            Counters actual = truth.get(postId);
+            Counters update = new Counters(likesSkipped.contains(postId) ? held.likes() : actual.likes(),
+                    ratingsSkipped.contains(postId) ? held.ratingSum() : actual.ratingSum(),
+                    ratingsSkipped.contains(postId) ? held.ratingCount() : actual.ratingCount(),
+                    actual.comments());
+            if (!update.equals(held)) {
+                postColumnStore.compareAndSetCounters(postId, held, update);
+            }
+        }
+        return last;
+    }
+
+    // Rows updated; the keys of statements that matched no row go into skipped when given
+    private static long updated(int[] counts, List<Long> keys, Set<Long> skipped) {
+        long rows = 0;
+        for (int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            // Some drivers report "succeeded, count unknown" (-2) for batched statements
+            rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            if (count == 0 && skipped != null) {
+                skipped.add(keys.get(i));
+            }
+        }
+        return rows;
+    }
+
+    // Without a lease (leases disabled) statements go out unfenced
+    private static String fenced(Lease lease, String sql) {
+        return lease == null ? sql : sql + " AND " + ClusterJobScheduler.FENCE;
+    }
+
+    private static Object[] fenceArgs(Lease lease, Object... args) {
+        if (lease == null) {
+            return args;
+        }
+        Object[] withFence = Arrays.copyOf(args, args.length + 2);
+        withFence[args.length] = lease.jobName();
+        withFence[args.length + 1] = lease.fencingToken();
+        return withFence;
+    }
+
+    // Runs a unit of database work under the concurrency cap
+    private <T> T withDb(Supplier<T> work) {
+        dbPermits.acquireUninterruptibly();
+        try {
+            return work.get();
+        } finally {
+            dbPermits.release();
+        }
+    }
+
+    // ---------------------- TALLY ----------------------
+    // One per partition, so no sharing between threads until the join
+    private static final class Tally {
+        long postsScanned;
+        long likesDrifted;
+        long likesFixed;
+        long likeDriftTotal;
+        long likeDriftMax;
+        long ratingsDrifted;
+        long ratingsFixed;
+        long replyCountsDrifted;
+        long replyCountsFixed;
+
+        void add(Tally other) {
+            postsScanned += other.postsScanned;
+            likesDrifted += other.likesDrifted;
+            likesFixed += other.likesFixed;
+            likeDriftTotal += other.likeDriftTotal;
+            likeDriftMax = Math.max(likeDriftMax, other.likeDriftMax);
+            ratingsDrifted += other.ratingsDrifted;
+            ratingsFixed += other.ratingsFixed;
+            replyCountsDrifted += other.replyCountsDrifted;
+            replyCountsFixed += other.replyCountsFixed;
+        }
+
+        ReconciliationReport toReport(Instant startedAt, long durationMs, int partitions) {
+            return new ReconciliationReport(startedAt, durationMs, partitions, postsScanned, likesDrifted, likesFixed,
+                    likeDriftTotal, likeDriftMax, ratingsDrifted, ratingsFixed, replyCountsDrifted, replyCountsFixed);
+        }
+    }
+}
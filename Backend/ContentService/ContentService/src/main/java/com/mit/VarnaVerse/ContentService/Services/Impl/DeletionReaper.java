@@ -0,0 +1,223 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.mit.VarnaVerse.ContentService.Client.UserClient;
+import com.mit.VarnaVerse.ContentService.Entity.SyncCheckpoint;
+import com.mit.VarnaVerse.ContentService.Payloads.DeletedUserDTO;
+import com.mit.VarnaVerse.ContentService.Repository.SyncCheckpointRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Background half of post and user deletion. Requests only set posts.deleted_at (hidden by
+ * the entity's @SQLRestriction); each run of this reaper
+ *   1. pulls newly deleted users from UserService and soft-deletes their posts (a backstop
+ *      for the UserDeleted event, which DomainEventListener handles as it arrives),
+ *   2. removes the dependents of soft-deleted posts, then the post rows themselves.
+ * Every statement is a bounded DELETE/UPDATE ... LIMIT in its own auto-commit transaction,
+ * with a pause between chunks and a row budget per run, so a post with 100k likes is purged
+ * over several runs instead of one long, lock-heavy transaction. Runs go through
+ * ClusterJobScheduler, so only the instance holding the job's lease reaps.
+ */
+@Service
+@ConditionalOnProperty(name = "content.reaper.enabled", havingValue = "true", matchIfMissing = true)
+public class DeletionReaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeletionReaper.class);
+
+    // One reap at a time
+    private final ReentrantLock reapLock = new ReentrantLock();
+
+    static final String JOB_NAME = "deletion-reaper";
+
+    static final String DELETED_USERS_CHECKPOINT = "user-service.deleted-users";
+
+    // Dependents first, so a crash mid-purge never leaves rows pointing at a missing post
+    private static final String[] DEPENDENT_TABLES = { "likes", "ratings", "comments", "post_view_stats" };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserClient userClient;
+
+    @Autowired
+    private SyncCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PostViewTracker postViewTracker;
+
+    @Autowired
+    private PostColumnStore postColumnStore;
+
+    @Autowired
+    private LikeIndex likeIndex;
+
+    @Autowired
+    private ClusterJobScheduler clusterJobScheduler;
+
+    @Value("${content.reaper.interval-ms:30000}")
+    private long intervalMs;
+
+    @Value("${content.reaper.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${content.reaper.chunk-pause-ms:50}")
+    private long chunkPauseMs;
+
+    @Value("${content.reaper.max-rows-per-run:20000}")
+    private int maxRowsPerRun;
+
+    @Value("${content.reaper.grace-ms:60000}")
+    private long graceMs;
+
+    @Value("${content.reaper.user-page-size:200}")
+    private int userPageSize;
+
+    // ---------------------- RUN ----------------------
+    @PostConstruct
+    void schedule() {
+        clusterJobScheduler.schedule(JOB_NAME, Duration.ofMillis(intervalMs), Duration.ofMillis(intervalMs), this::reap);
+    }
+
+    public void reap() {
+        reapLock.lock();
+        try {
+            reapOnce();
+        } finally {
+            reapLock.unlock();
+        }
+    }
+
+    private void reapOnce() {
+        int budget = maxRowsPerRun;
+        try {
+            budget -= syncDeletedAuthors(budget);
+        } catch (Exception e) {
+            // UserService down: own deletions still get purged, the feed is retried next run
+            logger.warn("Deleted-user sync failed, retrying next run: {}", e.getMessage());
+        }
+        if (budget > 0) {
+            reapPosts(budget);
+        }
+    }
+
+    // ---------------------- DELETED AUTHORS ----------------------
+    // Returns the post rows soft-deleted. The checkpoint is the (deleted_at, id) of the last user
+    // fully handled; a checkpoint without positionAt (the old id-only cursor) replays the feed
+    // from the start, which is harmless as softDeletePostsOf only touches live posts.
+    int syncDeletedAuthors(int budget) {
+        SyncCheckpoint checkpoint = checkpointRepository.findById(DELETED_USERS_CHECKPOINT)
+                .orElseGet(() -> new SyncCheckpoint(DELETED_USERS_CHECKPOINT, 0));
+        if (checkpoint.getPositionAt() == null) {
+            checkpoint.setPosition(0);
+        }
+        LocalDateTime startedAt = checkpoint.getPositionAt();
+        long startedId = checkpoint.getPosition();
+        int updated = 0;
+
+        List<DeletedUserDTO> users;
+        do {
+            LocalDateTime after = checkpoint.getPositionAt();
+            users = userClient.getDeletedUsers(after != null ? after.toString() : null, checkpoint.getPosition(), userPageSize);
+            for (DeletedUserDTO user : users) {
+                updated += softDeletePostsOf(user.id(), budget - updated);
+                if (updated >= budget) {
+                    break;
+                }
+                checkpoint.setPositionAt(user.deletedAt());
+                checkpoint.setPosition(user.id());
+            }
+        } while (users.size() == userPageSize && updated < budget);
+
+        if (checkpoint.getPosition() != startedId || !Objects.equals(checkpoint.getPositionAt(), startedAt)) {
+            checkpointRepository.save(checkpoint);
+            logger.info("Soft-deleted {} posts of users deleted up to {} (id {})", updated,
+                    checkpoint.getPositionAt(), checkpoint.getPosition());
+        }
+        return updated;
+    }
+
+    // Idempotent (only touches live posts), also called for UserDeleted events
+    public int softDeletePostsOf(long userId, int budget) {
+        int updated = chunked("UPDATE posts SET deleted_at = ? WHERE user_id = ? AND deleted_at IS NULL LIMIT ?",
+                budget, Timestamp.valueOf(LocalDateTime.now()), userId);
+        if (updated > 0) {
+            // Drops every row of the author, also ones a spent budget left for the next pass: they are going anyway
+            postColumnStore.removeAuthor(userId);
+        }
+        return updated;
+    }
+
+    // ---------------------- POSTS ----------------------
+    int reapPosts(int budget) {
+        // Grace period lets requests that loaded the post just before deletion finish first
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusNanos(graceMs * 1_000_000));
+        List<Long> postIds = jdbcTemplate.queryForList(
+                "SELECT post_id FROM posts WHERE deleted_at IS NOT NULL AND deleted_at <= ? ORDER BY deleted_at LIMIT 100",
+                Long.class, cutoff);
+
+        int removed = 0;
+        int purged = 0;
+        for (Long postId : postIds) {
+            postViewTracker.discard(postId);
+            likeIndex.discard(postId);
+            for (String table : DEPENDENT_TABLES) {
+                removed += chunked("DELETE FROM " + table + " WHERE post_id = ? LIMIT ?", budget - removed, postId);
+            }
+            if (removed >= budget) {
+                break;
+            }
+            removed += jdbcTemplate.update("DELETE FROM posts WHERE post_id = ? AND deleted_at IS NOT NULL", postId);
+            purged++;
+        }
+
+        if (!postIds.isEmpty()) {
+            logger.info("Deletion reaper purged {} of {} deleted posts ({} rows)", purged, postIds.size(), removed);
+        }
+        return removed;
+    }
+
+    // Runs a "... LIMIT ?" statement until it affects fewer rows than the chunk or the budget is spent.
+    // The chunk size is appended as the last parameter.
+    private int chunked(String sql, int budget, Object... args) {
+        Object[] params = new Object[args.length + 1];
+        System.arraycopy(args, 0, params, 0, args.length);
+
+        int affected = 0;
+        while (affected < budget) {
+            int limit = Math.min(chunkSize, budget - affected);
+            params[args.length] = limit;
+            int rows = jdbcTemplate.update(sql, params);
+            affected += rows;
+            if (rows < limit || !pause()) {
+                break;
+            }
+        }
+        return affected;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(chunkPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jms.annotation.JmsListener;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mit.VarnaVerse.ContentService.Client.UserProfileCache;
+import com.mit.VarnaVerse.ContentService.Config.MessagingConfig;
+import com.mit.VarnaVerse.ContentService.Payloads.DomainEvent;
+import com.mit.VarnaVerse.ContentService.Payloads.PostEngagementEvent;
+
+/**
+ * Consumers of domain events. Delivery is at-least-once, so every handler is idempotent:
+ * cache eviction and "soft-delete live posts of user X" can run twice without effect.
+ */
+@Component
+public class DomainEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventListener.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    // Absent when content.reaper.enabled=false; the reaper's own poll is then off as well
+    @Autowired(required = false)
+    private DeletionReaper deletionReaper;
+
+    @Autowired
+    private PostEventHub postEventHub;
+
+    @Autowired
+    private LikeIndex likeIndex;
+
+    // ---------------------- USER EVENTS ----------------------
+    // One durable subscription shared by all ContentService instances: the soft-delete runs once
+    @JmsListener(destination = MessagingConfig.USER_EVENTS_TOPIC, subscription = "content-service",
+            containerFactory = "durableEventListenerFactory")
+    public void onUserEvent(String body) throws JsonProcessingException {
+        DomainEvent event = objectMapper.readValue(body, DomainEvent.class);
+        if (!DomainEvent.USER_DELETED.equals(event.type()) || deletionReaper == null) {
+            return;
+        }
+        int posts = deletionReaper.softDeletePostsOf(event.aggregateId(), Integer.MAX_VALUE);
+        logger.info("User {} deleted: soft-deleted {} posts", event.aggregateId(), posts);
+    }
+
+    // Every instance holds its own author near-cache, so each one evicts; missed while down is fine,
+    // the cache starts empty
+    @JmsListener(destination = MessagingConfig.USER_EVENTS_TOPIC,
+            containerFactory = "broadcastEventListenerFactory")
+    public void onUserEventBroadcast(String body) throws JsonProcessingException {
+        DomainEvent event = objectMapper.readValue(body, DomainEvent.class);
+        switch (event.type()) {
+            case DomainEvent.USER_UPDATED, DomainEvent.USER_DELETED -> userProfileCache.invalidate(event.aggregateId());
+            default -> logger.debug("Ignoring user event {}", event.type());
+        }
+    }
+
+    // ---------------------- CONTENT EVENTS ----------------------
+    // Every instance subscribes, so SSE clients connected elsewhere see likes made on this instance
+    @JmsListener(destination = MessagingConfig.CONTENT_EVENTS_TOPIC,
+            containerFactory = "broadcastEventListenerFactory")
+    public void onContentEvent(String body) throws JsonProcessingException {
+        DomainEvent event = objectMapper.readValue(body, DomainEvent.class);
+        if (DomainEvent.ENGAGEMENT_CHANGED.equals(event.type())) {
+            if (event.payloadString("liked") != null) {
+                likeIndex.applyRemote(event.aggregateId(), event.payloadLong("userId"),
+                        Boolean.parseBoolean(event.payloadString("liked")), event.payloadLong("likeId"));
+            }
+            postEventHub.onEngagement(new PostEngagementEvent(event.aggregateId(),
+                    PostEngagementEvent.Type.valueOf(event.payloadString("kind"))));
+        }
+    }
+}
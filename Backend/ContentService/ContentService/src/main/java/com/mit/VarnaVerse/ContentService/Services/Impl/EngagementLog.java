@@ -0,0 +1,514 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mit.VarnaVerse.ContentService.Payloads.EngagementRecord;
+import com.mit.VarnaVerse.ContentService.Util.AfterCommit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Flux;
+
+/**
+ * Append-only log of every committed like, unlike, rating and comment made on this instance,
+ * kept next to the mutable rows so history can be replayed (counter rebuilds, analytics)
+ * without scanning live tables.
+ *
+ * Records are 48 bytes, fixed width, big-endian:
+ *   offset(8) timestamp(8) postId(8) userId(8) value(8) type(1) padding(3) crc32(4)
+ * and go into memory-mapped segment files of segment-records records, named after their first
+ * offset. Appends are plain stores into the mapping; a flusher forces the dirty segment every
+ * flush-interval-ms, so one fsync covers everything appended in that interval (group commit).
+ * Readers only see records up to the last fsync, i.e. nothing a crash could take back. On
+ * startup the last segment is scanned and ends at its first record with a bad checksum; the
+ * rest of it is zeroed before appends resume.
+ *
+ * Closed segments older than compact-after-hours are compacted: for likes and ratings only the
+ * newest record per (post, user) across the whole log is kept, comments are all kept. Offsets
+ * survive compaction, so a reader's position stays valid; it just skips the dropped records.
+ *
+ * The directory belongs to one process: it has no default (content.data-dir sets it outside prod)
+ * and is locked while open, so a second instance pointed at it fails to start instead of mapping
+ * the same segments read-write.
+ */
+@Service
+public class EngagementLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementLog.class);
+
+    static final int RECORD_BYTES = 48;
+    private static final int CRC_OFFSET = 44;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String COMPACTED_SUFFIX = ".compacted";
+    private static final String LOCK_FILE = "lock";
+    private static final EngagementRecord.Type[] TYPES = EngagementRecord.Type.values();
+    private static final int TAIL_PAGE = 1000;
+    private static final int ZERO_PAGE = 64 * 1024;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${content.engagement-log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${content.engagement-log.directory:}")
+    private String directory;
+
+    @Value("${content.engagement-log.segment-records:1048576}")
+    private int segmentRecords;
+
+    @Value("${content.engagement-log.compact-after-hours:24}")
+    private long compactAfterHours;
+
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+    private Segment active;
+    private long nextOffset;
+    private volatile long durableOffset;
+
+    private Counter failures;
+    private FileChannel lockChannel;
+
+    // Scheduled compaction vs. an explicit call; two runs would rewrite the same segment
+    private final ReentrantLock compactionLock = new ReentrantLock();
+
+    // A segment file mapped whole; closed segments are immutable until compaction replaces them
+    private static final class Segment {
+        final long baseOffset;
+        final Path path;
+        final MappedByteBuffer buffer;
+        final boolean compacted;
+        int count;
+
+        Segment(long baseOffset, Path path, MappedByteBuffer buffer, boolean compacted) {
+            this.baseOffset = baseOffset;
+            this.path = path;
+            this.buffer = buffer;
+            this.compacted = compacted;
+        }
+
+        long offsetAt(int index) {
+            return buffer.getLong(index * RECORD_BYTES);
+        }
+
+        long lastTimestamp() {
+            return count == 0 ? 0 : buffer.getLong((count - 1) * RECORD_BYTES + 8);
+        }
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        failures = Counter.builder("content.engagement.log.failures").register(meterRegistry);
+        Gauge.builder("content.engagement.log.end", this, EngagementLog::endOffset).register(meterRegistry);
+        Gauge.builder("content.engagement.log.durable", this, EngagementLog::durableOffset).register(meterRegistry);
+        Gauge.builder("content.engagement.log.segments", this, EngagementLog::segmentCount).register(meterRegistry);
+        if (!enabled) {
+            return;
+        }
+        if (directory.isBlank()) {
+            throw new IllegalStateException("content.engagement-log.directory is not set; give every instance a "
+                    + "directory of its own on durable storage (content.data-dir)");
+        }
+
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+        lock(dir);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            boolean compacted = name.endsWith(COMPACTED_SUFFIX + SEGMENT_SUFFIX);
+            long base = Long.parseLong(name.substring(0, name.indexOf('.')));
+            Segment existing = segments.get(base);
+            if (existing != null && existing.compacted) {
+                Files.deleteIfExists(file); // a crash between writing the compacted copy and deleting this one
+                continue;
+            }
+            Segment segment = new Segment(base, file, map(file, FileChannel.MapMode.READ_ONLY, Files.size(file)), compacted);
+            segment.count = validRecords(segment.buffer);
+            segments.put(base, segment);
+        }
+
+        Map.Entry<Long, Segment> last = segments.lastEntry();
+        if (last != null && !last.getValue().compacted && last.getValue().count < segmentRecords) {
+            // Reopen the tail writable and wipe everything after its last valid record: a record that
+            // survived past a torn one would otherwise pass the checks again once appends reach it
+            Segment tail = last.getValue();
+            active = new Segment(tail.baseOffset, tail.path,
+                    map(tail.path, FileChannel.MapMode.READ_WRITE, (long) segmentRecords * RECORD_BYTES), false);
+            active.count = tail.count;
+            if (zeroFrom(active.buffer, active.count * RECORD_BYTES)) {
+                active.buffer.force();
+            }
+            segments.put(active.baseOffset, active);
+        }
+        nextOffset = last == null ? 0
+                : last.getValue().count == 0 ? last.getKey() : last.getValue().offsetAt(last.getValue().count - 1) + 1;
+        if (active == null) {
+            active = createSegment(nextOffset);
+        }
+        durableOffset = nextOffset;
+        logger.info("Engagement log opened at {}: {} segments, next offset {}", dir, segments.size(), nextOffset);
+    }
+
+    // ---------------------- APPEND ----------------------
+    // Appended once the caller's transaction commits; a failure is logged, never thrown at the request
+    public void append(EngagementRecord.Type type, long postId, long userId, long value) {
+        if (!enabled) {
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        AfterCommit.run(() -> {
+            try {
+                write(type, postId, userId, value, timestamp);
+            } catch (IOException | RuntimeException e) {
+                failures.increment();
+                logger.warn("Engagement log append failed ({} post {} user {}): {}", type, postId, userId, e.toString());
+            }
+        });
+    }
+
+    private synchronized void write(EngagementRecord.Type type, long postId, long userId, long value, long timestamp)
+            throws IOException {
+        if (active.count == segmentRecords) {
+            roll();
+        }
+        int position = active.count * RECORD_BYTES;
+        ByteBuffer buffer = active.buffer;
+        buffer.putLong(position, nextOffset);
+        buffer.putLong(position + 8, timestamp);
+        buffer.putLong(position + 16, postId);
+        buffer.putLong(position + 24, userId);
+        buffer.putLong(position + 32, value);
+        buffer.put(position + 40, (byte) (type.ordinal() + 1));
+        buffer.put(position + 41, (byte) 0);
+        buffer.putShort(position + 42, (short) 0);
+        buffer.putInt(position + CRC_OFFSET, crc(buffer, position));
+        active.count++;
+        nextOffset++;
+    }
+
+    private void roll() throws IOException {
+        active.buffer.force();
+        durableOffset = nextOffset;
+        active = createSegment(nextOffset);
+    }
+
+    private Segment createSegment(long baseOffset) throws IOException {
+        Path path = Path.of(directory, String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+        Segment segment = new Segment(baseOffset, path,
+                map(path, FileChannel.MapMode.READ_WRITE, (long) segmentRecords * RECORD_BYTES), false);
+        segments.put(baseOffset, segment);
+        return segment;
+    }
+
+    // ---------------------- GROUP FSYNC ----------------------
+    @Scheduled(fixedDelayString = "${content.engagement-log.flush-interval-ms:100}")
+    public void flush() {
+        Segment segment;
+        long upTo;
+        synchronized (this) {
+            if (!enabled || nextOffset == durableOffset) {
+                return;
+            }
+            segment = active;
+            upTo = nextOffset;
+        }
+        // Outside the lock: appends carry on while the page cache is written back
+        segment.buffer.force();
+        synchronized (this) {
+            if (upTo > durableOffset) {
+                durableOffset = upTo;
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        flush();
+        if (lockChannel != null) {
+            lockChannel.close(); // releases the directory lock
+            lockChannel = null;
+        }
+    }
+
+    private void lock(Path dir) throws IOException {
+        FileChannel channel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null; // held elsewhere in this JVM
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IllegalStateException("Engagement log directory " + dir + " is in use by another instance");
+        }
+        lockChannel = channel;
+    }
+
+    // ---------------------- READ ----------------------
+    // Up to max durable records with offset >= fromOffset, in offset order
+    public synchronized List<EngagementRecord> read(long fromOffset, int max) {
+        List<EngagementRecord> records = new ArrayList<>(Math.min(Math.max(max, 0), TAIL_PAGE));
+        if (!enabled || max <= 0 || fromOffset >= durableOffset) {
+            return records;
+        }
+        Long start = segments.floorKey(fromOffset);
+        for (Segment segment : segments.tailMap(start != null ? start : fromOffset, true).values()) {
+            for (int index = firstAtOrAfter(segment, fromOffset); index < segment.count; index++) {
+                EngagementRecord record = decode(segment.buffer, index * RECORD_BYTES);
+                if (record.offset() >= durableOffset) {
+                    return records;
+                }
+                records.add(record);
+                if (records.size() == max) {
+                    return records;
+                }
+            }
+        }
+        return records;
+    }
+
+    // Follows the log from fromOffset, polling for newly durable records
+    public Flux<EngagementRecord> tail(long fromOffset, Duration pollInterval) {
+        AtomicLong cursor = new AtomicLong(fromOffset);
+        return Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMapIterable(tick -> {
+                    List<EngagementRecord> page = read(cursor.get(), TAIL_PAGE);
+                    if (!page.isEmpty()) {
+                        cursor.set(page.get(page.size() - 1).offset() + 1);
+                    }
+                    return page;
+                });
+    }
+
+    public long endOffset() {
+        return nextOffset;
+    }
+
+    public long durableOffset() {
+        return durableOffset;
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    // Binary search on the stored offsets (compaction leaves gaps, so the position is not offset - base)
+    private static int firstAtOrAfter(Segment segment, long offset) {
+        int low = 0;
+        int high = segment.count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (segment.offsetAt(mid) < offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // ---------------------- COMPACTION ----------------------
+    @Scheduled(fixedDelayString = "${content.engagement-log.compact-interval-ms:3600000}",
+            initialDelayString = "${content.engagement-log.compact-interval-ms:3600000}")
+    public void scheduledCompaction() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Engagement log compaction failed: {}", e.toString());
+        }
+    }
+
+    // Returns the number of records dropped
+    public long compact() throws IOException {
+        if (!enabled) {
+            return 0;
+        }
+        compactionLock.lock();
+        try {
+            return compactOnce();
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    private long compactOnce() throws IOException {
+        long cutoff = System.currentTimeMillis() - Duration.ofHours(compactAfterHours).toMillis();
+        // Counts are taken under the lock: every record below them is completely written
+        List<Segment> newestFirst;
+        List<Integer> counts = new ArrayList<>();
+        Segment writing;
+        synchronized (this) {
+            newestFirst = new ArrayList<>(segments.descendingMap().values());
+            newestFirst.forEach(segment -> counts.add(segment.count));
+            writing = active;
+        }
+
+        // Keys seen in newer records supersede older likes and ratings of the same (post, user)
+        Set<SupersedingKey> seen = new HashSet<>();
+        long dropped = 0;
+        for (int s = 0; s < newestFirst.size(); s++) {
+            Segment segment = newestFirst.get(s);
+            int count = counts.get(s);
+            boolean eligible = segment != writing && !segment.compacted && segment.lastTimestamp() < cutoff;
+            List<Integer> keep = new ArrayList<>();
+            for (int index = count - 1; index >= 0; index--) {
+                int position = index * RECORD_BYTES;
+                EngagementRecord.Type type = TYPES[segment.buffer.get(position + 40) - 1];
+                boolean fresh = type == EngagementRecord.Type.COMMENT
+                        || seen.add(new SupersedingKey(type == EngagementRecord.Type.RATE,
+                                segment.buffer.getLong(position + 16), segment.buffer.getLong(position + 24)));
+                if (fresh) {
+                    keep.add(index);
+                }
+            }
+            if (eligible) {
+                dropped += count - keep.size();
+                rewrite(segment, keep);
+            }
+        }
+        if (dropped > 0) {
+            logger.info("Engagement log compaction dropped {} superseded records", dropped);
+        }
+        return dropped;
+    }
+
+    private record SupersedingKey(boolean rating, long postId, long userId) {
+    }
+
+    // keep holds record indexes newest first
+    private void rewrite(Segment segment, List<Integer> keep) throws IOException {
+        Path target = Path.of(directory, String.format("%020d%s%s", segment.baseOffset, COMPACTED_SUFFIX, SEGMENT_SUFFIX));
+        Segment replacement = null;
+        if (!keep.isEmpty()) {
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            ByteBuffer out = ByteBuffer.allocate(keep.size() * RECORD_BYTES);
+            for (int i = keep.size() - 1; i >= 0; i--) {
+                out.put(segment.buffer.slice(keep.get(i) * RECORD_BYTES, RECORD_BYTES));
+            }
+            out.flip();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            replacement = new Segment(segment.baseOffset, target, map(target, FileChannel.MapMode.READ_ONLY, Files.size(target)), true);
+            replacement.count = keep.size();
+        }
+        synchronized (this) {
+            if (replacement != null) {
+                segments.put(segment.baseOffset, replacement);
+            } else {
+                segments.remove(segment.baseOffset);
+            }
+        }
+        Files.deleteIfExists(segment.path);
+    }
+
+    // ---------------------- ENCODING ----------------------
+    private static MappedByteBuffer map(Path path, FileChannel.MapMode mode, long size) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[] { StandardOpenOption.READ }
+                : new StandardOpenOption[] { StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE };
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            return channel.map(mode, 0, size);
+        }
+    }
+
+    // Clears [from, capacity) a page at a time, skipping pages that are already zero (never written)
+    private static boolean zeroFrom(ByteBuffer buffer, int from) {
+        byte[] zeros = new byte[ZERO_PAGE];
+        boolean dirty = false;
+        for (int position = from; position < buffer.capacity(); position += ZERO_PAGE) {
+            int length = Math.min(ZERO_PAGE, buffer.capacity() - position);
+            if (!isZero(buffer, position, length)) {
+                buffer.put(position, zeros, 0, length);
+                dirty = true;
+            }
+        }
+        return dirty;
+    }
+
+    private static boolean isZero(ByteBuffer buffer, int position, int length) {
+        int end = position + length;
+        for (; position + Long.BYTES <= end; position += Long.BYTES) {
+            if (buffer.getLong(position) != 0) {
+                return false;
+            }
+        }
+        for (; position < end; position++) {
+            if (buffer.get(position) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Records before the first empty, torn or out-of-order one
+    private static int validRecords(ByteBuffer buffer) {
+        int count = 0;
+        long previous = -1;
+        for (int position = 0; position + RECORD_BYTES <= buffer.capacity(); position += RECORD_BYTES) {
+            byte type = buffer.get(position + 40);
+            long offset = buffer.getLong(position);
+            if (type < 1 || type > TYPES.length || offset <= previous
+                    || buffer.getInt(position + CRC_OFFSET) != crc(buffer, position)) {
+                break;
+            }
+            previous = offset;
+            count++;
+        }
+        return count;
+    }
+
+    private static int crc(ByteBuffer buffer, int position) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(position, CRC_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private static EngagementRecord decode(ByteBuffer buffer, int position) {
+        return new EngagementRecord(buffer.getLong(position), buffer.getLong(position + 8),
+                TYPES[buffer.get(position + 40) - 1], buffer.getLong(position + 16),
+                buffer.getLong(position + 24), buffer.getLong(position + 32));
+    }
+}
@@ -0,0 +1,117 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.mit.VarnaVerse.ContentService.Client.UserProfileCache;
+import com.mit.VarnaVerse.ContentService.Entity.Post;
+import com.mit.VarnaVerse.ContentService.Payloads.CommentResponseDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.PostResponseDTO;
+import com.mit.VarnaVerse.ContentService.Repository.PostRepository;
+import com.mit.VarnaVerse.ContentService.Services.PostService;
+import com.mit.VarnaVerse.ContentService.Util.KeysetFlux;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Streaming reads behind the NDJSON variants of the feed, trending, search and comment
+ * endpoints (PostStreamController). Same rows and DTOs as PostService, but read in keyset pages
+ * on the feed-read scheduler and emitted as demand arrives, so an unbounded listing never sits
+ * in memory and a slow client holds neither a request thread nor a database connection.
+ */
+@Service
+public class FeedStreamService {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private PostViewTracker postViewTracker;
+
+    @Autowired
+    @Qualifier("feedReadScheduler")
+    private Scheduler scheduler;
+
+    // Rows per query; also the batch for author and view-count hydration
+    @Value("${content.read.stream.page-size:100}")
+    private int pageSize;
+
+    // ---------------------- POSTS ----------------------
+    // Newest first, unlike the buffered GET /posts (table order), since pages are keyed on the id
+    public Flux<PostResponseDTO> streamPosts(String category, String sort) {
+        if (category != null && !category.isEmpty()) {
+            return newestFirst((before, page) -> postRepository.findByCategoryAndPostIdLessThanOrderByPostIdDesc(category, before, page));
+        }
+        if ("top-rated".equalsIgnoreCase(sort)) {
+            return single(postRepository::findTop10ByOrderByRatingAvgDesc);
+        }
+        return newestFirst(postRepository::findByPostIdLessThanOrderByPostIdDesc);
+    }
+
+    public Flux<PostResponseDTO> streamTrending() {
+        return single(postRepository::findTop10ByOrderByLikesCountDesc);
+    }
+
+    public Flux<PostResponseDTO> streamSearch(String query) {
+        return newestFirst((before, page) -> postRepository.searchBefore(query, before, page));
+    }
+
+    private Flux<PostResponseDTO> newestFirst(BiFunction<Long, Pageable, List<Post>> query) {
+        Pageable page = PageRequest.of(0, pageSize);
+        return KeysetFlux.<PostResponseDTO, Long>pages(
+                before -> decorate(query.apply(before != null ? before : Long.MAX_VALUE, page)),
+                posts -> posts.size() < pageSize ? null : posts.get(posts.size() - 1).getPostId(),
+                scheduler);
+    }
+
+    // Already bounded (top 10): one query, still off the request thread
+    private Flux<PostResponseDTO> single(Supplier<List<Post>> query) {
+        return Mono.fromCallable(() -> decorate(query.get()))
+                .subscribeOn(scheduler)
+                .flatMapIterable(posts -> posts);
+    }
+
+    private List<PostResponseDTO> decorate(List<Post> posts) {
+        List<PostResponseDTO> dtos = posts.stream().map(PostResponseDTO::new).toList();
+        postViewTracker.applyStats(dtos);
+        return userProfileCache.hydrateAuthors(dtos);
+    }
+
+    // ---------------------- COMMENTS ----------------------
+    // Every thread of the post in GET /posts/{id}/comments order, page after page of top-level comments
+    public Flux<CommentResponseDTO> streamCommentThreads(Long postId, int repliesPerThread) {
+        int threadsPerPage = Math.min(pageSize, PostService.MAX_COMMENT_PAGE_SIZE);
+        return KeysetFlux.<CommentResponseDTO, Long>pages(
+                after -> postService.getCommentThreads(postId, after, threadsPerPage, repliesPerThread),
+                page -> lastTopLevelIfFull(page, threadsPerPage),
+                scheduler);
+    }
+
+    private static Long lastTopLevelIfFull(List<CommentResponseDTO> page, int threadsPerPage) {
+        Long last = null;
+        int topLevel = 0;
+        for (CommentResponseDTO comment : page) {
+            if (comment.getParentId() == null) {
+                last = comment.getCommentId();
+                topLevel++;
+            }
+        }
+        return topLevel >= threadsPerPage ? last : null;
+    }
+}
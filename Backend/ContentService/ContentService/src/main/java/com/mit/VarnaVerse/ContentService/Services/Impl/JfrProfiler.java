@@ -0,0 +1,257 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.mit.VarnaVerse.ContentService.Payloads.ProfileSummaryDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.ProfileSummaryDTO.FrameStat;
+import com.mit.VarnaVerse.ContentService.Payloads.ProfileSummaryDTO.GcPause;
+import com.mit.VarnaVerse.ContentService.Payloads.ProfileSummaryDTO.GcSummary;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * On-demand Java Flight Recorder sessions for the admin profiling endpoint. One recording at a
+ * time, time-boxed, on the built-in "default" settings (the ~1% overhead profile meant for
+ * production) with sampling and lock thresholds tuned for a latency investigation.
+ * The last few .jfr files are kept on disk for download.
+ */
+@Service
+public class JfrProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrProfiler.class);
+
+    private static final DateTimeFormatter ID_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final Pattern ID_PATTERN = Pattern.compile("\\d{8}-\\d{6}");
+    private static final String FILE_SUFFIX = ".jfr";
+
+    // Frames that are the mechanics of blocking rather than the contended call site
+    private static final String[] WAIT_FRAME_PREFIXES = { "jdk.internal.misc.", "java.util.concurrent.locks.", "java.lang.Object.wait" };
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${spring.application.name}")
+    private String serviceName;
+
+    @Value("${content.profiling.directory:${java.io.tmpdir}/varnaverse-jfr}")
+    private String directory;
+
+    @Value("${content.profiling.max-seconds:120}")
+    private int maxSeconds;
+
+    @Value("${content.profiling.keep-recordings:5}")
+    private int keepRecordings;
+
+    @Value("${content.profiling.top-frames:20}")
+    private int topFrames;
+
+    // ---------------------- RECORD ----------------------
+    // Blocks the caller for the recording's duration. Throws IllegalStateException if one is already running.
+    public ProfileSummaryDTO record(int seconds) throws IOException, InterruptedException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        try {
+            Duration duration = Duration.ofSeconds(Math.max(1, Math.min(seconds, maxSeconds)));
+            Instant startedAt = Instant.now();
+            String id = ID_FORMAT.format(startedAt);
+            Path file = recordingDirectory().resolve(serviceName + "-" + id + FILE_SUFFIX);
+
+            try (Recording recording = new Recording(defaultSettings())) {
+                recording.setName(serviceName + " " + id);
+                recording.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(20));
+                recording.enable("jdk.ObjectAllocationSample").with("throttle", "150/s");
+                recording.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ofMillis(10));
+                recording.enable("jdk.ThreadPark").withThreshold(Duration.ofMillis(10));
+                recording.enable("jdk.GarbageCollection");
+                // Java 21+ only (ignored before): virtual threads blocking while pinned to their carrier
+                recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(20));
+
+                logger.info("Starting {} s JFR recording {}", duration.toSeconds(), id);
+                recording.start();
+                Thread.sleep(duration.toMillis());
+                recording.stop();
+                recording.dump(file);
+            }
+
+            ProfileSummaryDTO summary = summarize(id, startedAt, duration.toMillis(), file);
+            logger.info("JFR recording {} written to {} ({} execution samples)", id, file, summary.executionSamples());
+            pruneRecordings();
+            return summary;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // JDK's built-in default.jfc; a parse failure would mean a broken JDK install
+    private static Configuration defaultSettings() throws IOException {
+        try {
+            return Configuration.getConfiguration("default");
+        } catch (ParseException e) {
+            throw new IOException("Cannot read the JFR default settings", e);
+        }
+    }
+
+    // The .jfr file of a kept recording, or null if the id is unknown or already pruned
+    public Path recordingFile(String id) {
+        if (id == null || !ID_PATTERN.matcher(id).matches()) {
+            return null;
+        }
+        Path file = Paths.get(directory).resolve(serviceName + "-" + id + FILE_SUFFIX);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    private Path recordingDirectory() throws IOException {
+        return Files.createDirectories(Paths.get(directory));
+    }
+
+    private void pruneRecordings() throws IOException {
+        List<Path> recordings;
+        try (Stream<Path> files = Files.list(recordingDirectory())) {
+            recordings = files.filter(f -> f.getFileName().toString().startsWith(serviceName + "-")
+                            && f.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+        }
+        for (Path old : recordings.subList(Math.min(keepRecordings, recordings.size()), recordings.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    // ---------------------- SUMMARY ----------------------
+    ProfileSummaryDTO summarize(String id, Instant startedAt, long durationMs, Path file) throws IOException {
+        Map<String, long[]> samples = new HashMap<>();
+        Map<String, long[]> allocations = new HashMap<>();
+        Map<String, long[]> contention = new HashMap<>();
+        List<GcPause> pauses = new ArrayList<>();
+        long executionSamples = 0;
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        executionSamples++;
+                        add(samples, topFrame(event.getStackTrace()), 1);
+                    }
+                    case "jdk.ObjectAllocationSample" ->
+                        add(allocations, topFrame(event.getStackTrace()), event.getLong("weight"));
+                    case "jdk.JavaMonitorEnter" ->
+                        add(contention, blockingSite(event.getStackTrace()) + " [" + className(event, "monitorClass") + "]",
+                                event.getDuration().toMillis());
+                    case "jdk.ThreadPark" -> {
+                        // Idle pool threads park on queue conditions; only count parks on actual locks
+                        String parked = className(event, "parkedClass");
+                        if (parked != null && !parked.endsWith("ConditionObject")) {
+                            add(contention, blockingSite(event.getStackTrace()) + " [" + parked + "]",
+                                    event.getDuration().toMillis());
+                        }
+                    }
+                    case "jdk.VirtualThreadPinned" ->
+                        add(contention, blockingSite(event.getStackTrace()) + " [virtual thread pinned]",
+                                event.getDuration().toMillis());
+                    case "jdk.GarbageCollection" -> pauses.add(new GcPause(event.getLong("gcId"), event.getString("name"),
+                            event.getString("cause"), event.getDuration("sumOfPauses").toNanos() / 1e6));
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        long totalSamples = Math.max(1, executionSamples);
+        return new ProfileSummaryDTO(id, startedAt, durationMs, executionSamples,
+                top(samples, count -> 100.0 * count[0] / totalSamples),
+                top(allocations, count -> count[1]),
+                top(contention, count -> count[1]),
+                gcSummary(pauses));
+    }
+
+    private static void add(Map<String, long[]> stats, String frame, long value) {
+        long[] stat = stats.computeIfAbsent(frame, f -> new long[2]);
+        stat[0]++;
+        stat[1] += value;
+    }
+
+    private List<FrameStat> top(Map<String, long[]> stats, ToDoubleFunction<long[]> value) {
+        return stats.entrySet().stream()
+                .map(e -> new FrameStat(e.getKey(), e.getValue()[0], value.applyAsDouble(e.getValue())))
+                .sorted(Comparator.comparingDouble(FrameStat::value).reversed())
+                .limit(topFrames)
+                .toList();
+    }
+
+    private static GcSummary gcSummary(List<GcPause> pauses) {
+        double total = pauses.stream().mapToDouble(GcPause::pauseMs).sum();
+        double max = pauses.stream().mapToDouble(GcPause::pauseMs).max().orElse(0);
+        List<GcPause> longest = pauses.stream()
+                .sorted(Comparator.comparingDouble(GcPause::pauseMs).reversed())
+                .limit(10)
+                .toList();
+        return new GcSummary(pauses.size(), total, max, longest);
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<no stack>";
+        }
+        return describe(stackTrace.getFrames().get(0));
+    }
+
+    // First frame below the lock/park machinery, i.e. the code that asked for the lock
+    private static String blockingSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<no stack>";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String described = describe(frame);
+            boolean waitFrame = false;
+            for (String prefix : WAIT_FRAME_PREFIXES) {
+                waitFrame |= described.startsWith(prefix);
+            }
+            if (!waitFrame) {
+                return described;
+            }
+        }
+        return describe(stackTrace.getFrames().get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        if (frame.getMethod() == null) {
+            return "<unknown>";
+        }
+        String method = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+        return frame.getLineNumber() > 0 ? method + ":" + frame.getLineNumber() : method;
+    }
+
+    private static String className(RecordedEvent event, String field) {
+        RecordedClass type = event.hasField(field) ? event.getClass(field) : null;
+        return type != null ? type.getName() : null;
+    }
+}
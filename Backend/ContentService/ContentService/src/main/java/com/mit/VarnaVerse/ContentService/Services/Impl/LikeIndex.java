@@ -0,0 +1,445 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mit.VarnaVerse.ContentService.Util.AfterCommit;
+import com.mit.VarnaVerse.ContentService.Util.RoaringBitmap;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Who liked what, as one RoaringBitmap of liker user ids per post, so "has user U liked post P"
+ * is a lookup in memory instead of a query against likes. Bitmaps are loaded on first use (a
+ * page of posts in one query) and kept in an LRU bounded by their byte size rather than by
+ * entry count: one viral post can outweigh thousands of quiet ones.
+ *
+ * Updates are absolute ("U likes P" / "U no longer likes P"), so applying one twice or after a
+ * load that already saw it is harmless. They come from toggleLike after commit and from the
+ * broadcast EngagementChanged events (every instance's, this one's included), so the same change
+ * can arrive twice and two changes to one (post, user) can arrive out of order. Each carries the
+ * like_id it created or deleted as its version; see version(). A post whose bitmap is still
+ * loading answers from the database.
+ *
+ * The hot set is written to a snapshot file on shutdown and every snapshot-interval-ms, and read
+ * back on startup. Likes added since the snapshot are replayed by like_id; a bitmap whose size
+ * no longer matches the post's rows in likes (an unlike happened meanwhile) is dropped and
+ * reloads lazily.
+ */
+@Service
+public class LikeIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeIndex.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x4C494B31; // "LIK1"
+    // Posts per IN (...) query when loading or validating
+    private static final int BATCH = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${content.likes.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${content.likes.index.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${content.likes.index.snapshot-path:}")
+    private String snapshotPath;
+
+    // Guarded by this; access order, so iteration starts at the least recently used post
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes;
+    private boolean dirty;
+
+    // Guarded by this: version of the last change applied per recently changed (post, user), so a
+    // late duplicate or an older change arriving after a newer one is skipped
+    private final LinkedHashMap<String, Long> appliedVersions = new LinkedHashMap<>(256, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > 10_000;
+        }
+    };
+
+    private Counter hits;
+    private Counter misses;
+
+    // bitmap is null while the loading thread queries; changes meanwhile queue in pending
+    private static final class Entry {
+        RoaringBitmap bitmap;
+        long bytes;
+        List<long[]> pending = new ArrayList<>();
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        hits = Counter.builder("content.likes.index").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("content.likes.index").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("content.likes.index.bytes", this, LikeIndex::footprintBytes).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("content.likes.index.posts", this, LikeIndex::cachedPosts).register(meterRegistry);
+    }
+
+    // ---------------------- QUERIES ----------------------
+    // True/false from the bitmap, null when the caller has to ask the database
+    public Boolean hasLiked(long postId, long userId) {
+        if (!enabled || !RoaringBitmap.fits(userId)) {
+            return null;
+        }
+        Map<Long, RoaringBitmap> bitmaps = bitmaps(List.of(postId));
+        RoaringBitmap bitmap = bitmaps.get(postId);
+        return bitmap == null ? null : bitmap.contains(userId);
+    }
+
+    // The subset of postIds liked by userId, or null when the caller has to ask the database
+    public Set<Long> likedAmong(Collection<Long> postIds, long userId) {
+        if (!enabled || !RoaringBitmap.fits(userId)) {
+            return null;
+        }
+        Map<Long, RoaringBitmap> bitmaps = bitmaps(postIds);
+        if (bitmaps.size() < new HashSet<>(postIds).size()) {
+            return null; // some are loading on another thread
+        }
+        return postIds.stream()
+                .filter(postId -> bitmaps.get(postId).contains(userId))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    // Cached bitmaps for postIds, loading the missing ones in batched queries
+    private Map<Long, RoaringBitmap> bitmaps(Collection<Long> postIds) {
+        Map<Long, RoaringBitmap> found = new HashMap<>();
+        List<Long> toLoad = new ArrayList<>();
+        synchronized (this) {
+            for (Long postId : postIds) {
+                Entry entry = entries.get(postId);
+                if (entry == null) {
+                    entries.put(postId, new Entry());
+                    toLoad.add(postId);
+                } else if (entry.bitmap != null) {
+                    found.put(postId, entry.bitmap);
+                }
+            }
+        }
+        if (toLoad.isEmpty()) {
+            hits.increment(postIds.size());
+            return found;
+        }
+        misses.increment(toLoad.size());
+        hits.increment(found.size());
+
+        Map<Long, RoaringBitmap> loaded;
+        try {
+            loaded = query(toLoad);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                toLoad.forEach(entries::remove);
+            }
+            throw e;
+        }
+        synchronized (this) {
+            for (Map.Entry<Long, RoaringBitmap> load : loaded.entrySet()) {
+                Entry entry = entries.get(load.getKey());
+                if (entry == null || entry.bitmap != null) {
+                    continue; // evicted or discarded while loading
+                }
+                applyPending(entry, load.getValue());
+                install(entry, load.getValue());
+                found.put(load.getKey(), load.getValue());
+            }
+            evict();
+        }
+        return found;
+    }
+
+    private Map<Long, RoaringBitmap> query(List<Long> postIds) {
+        Map<Long, RoaringBitmap> loaded = new HashMap<>();
+        for (int from = 0; from < postIds.size(); from += BATCH) {
+            List<Long> batch = postIds.subList(from, Math.min(postIds.size(), from + BATCH));
+            batch.forEach(postId -> loaded.put(postId, new RoaringBitmap()));
+            jdbcTemplate.query("SELECT post_id, user_id FROM likes WHERE post_id IN (" + placeholders(batch.size()) + ")",
+                    rs -> {
+                        long userId = rs.getLong(2);
+                        if (RoaringBitmap.fits(userId)) {
+                            loaded.get(rs.getLong(1)).add(userId);
+                        }
+                    }, batch.toArray());
+        }
+        return loaded;
+    }
+
+    // ---------------------- UPDATES ----------------------
+    /**
+     * Orders the changes to one (post, user). A like inserts a row and an unlike deletes that same
+     * row, so the pair's history reads like(5), unlike(5), like(9), ... with like_id increasing
+     * between rows: the id, doubled, plus one for the unlike, only ever grows.
+     */
+    static long version(long likeId, boolean liked) {
+        return likeId * 2 + (liked ? 0 : 1);
+    }
+
+    // Records the like state of (post, user) once the surrounding transaction commits. likeId is the
+    // row the toggle inserted (like) or deleted (unlike)
+    public void set(long postId, long userId, boolean liked, long likeId) {
+        if (!enabled || !RoaringBitmap.fits(userId)) {
+            return;
+        }
+        AfterCommit.run(() -> applyVersioned(postId, userId, liked, likeId));
+    }
+
+    // A like broadcast by any instance (this one included)
+    public void applyRemote(long postId, long userId, boolean liked, long likeId) {
+        if (!enabled) {
+            return;
+        }
+        applyVersioned(postId, userId, liked, likeId);
+    }
+
+    private synchronized void applyVersioned(long postId, long userId, boolean liked, long likeId) {
+        long version = version(likeId, liked);
+        String key = postId + ":" + userId;
+        Long applied = appliedVersions.get(key);
+        if (applied != null && applied >= version) {
+            return;
+        }
+        appliedVersions.put(key, version);
+        apply(postId, userId, liked);
+    }
+
+    // Only touches posts already cached: an uncached post reads the committed rows when it is loaded
+    public synchronized void apply(long postId, long userId, boolean liked) {
+        if (!RoaringBitmap.fits(userId)) {
+            return;
+        }
+        Entry entry = entries.get(postId);
+        if (entry == null) {
+            return;
+        }
+        if (entry.bitmap == null) {
+            entry.pending.add(new long[] { userId, liked ? 1 : 0 });
+            return;
+        }
+        boolean changed = liked ? entry.bitmap.add(userId) : entry.bitmap.remove(userId);
+        if (changed) {
+            dirty = true;
+            long size = entry.bitmap.sizeInBytes();
+            bytes += size - entry.bytes;
+            entry.bytes = size;
+            evict();
+        }
+    }
+
+    // The post's likes are being purged
+    public synchronized void discard(long postId) {
+        Entry entry = entries.remove(postId);
+        if (entry != null) {
+            bytes -= entry.bytes;
+            dirty = true;
+        }
+    }
+
+    private void applyPending(Entry entry, RoaringBitmap bitmap) {
+        for (long[] change : entry.pending) {
+            if (change[1] == 1) {
+                bitmap.add(change[0]);
+            } else {
+                bitmap.remove(change[0]);
+            }
+        }
+        entry.pending = null;
+    }
+
+    private void install(Entry entry, RoaringBitmap bitmap) {
+        entry.bitmap = bitmap;
+        entry.bytes = bitmap.sizeInBytes();
+        bytes += entry.bytes;
+        dirty = true;
+    }
+
+    // Least recently used first, skipping entries still loading
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.bitmap != null) {
+                bytes -= entry.bytes;
+                iterator.remove();
+            }
+        }
+    }
+
+    // ---------------------- SNAPSHOTS ----------------------
+    @Scheduled(fixedDelayString = "${content.likes.index.snapshot-interval-ms:300000}",
+            initialDelayString = "${content.likes.index.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        Path path = snapshotFile();
+        if (path == null) {
+            return;
+        }
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+        }
+        // Read before copying, so a like committed in between is replayed rather than lost
+        long highWater = maxLikeId();
+        List<Map.Entry<Long, RoaringBitmap>> hot = new ArrayList<>();
+        synchronized (this) {
+            entries.forEach((postId, entry) -> {
+                if (entry.bitmap != null) {
+                    hot.add(Map.entry(postId, entry.bitmap));
+                }
+            });
+            dirty = false;
+        }
+
+        try {
+            Path dir = path.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            // Unique name: a process that shares the directory by mistake must not write into this one's copy
+            Path temp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                    out.writeInt(SNAPSHOT_MAGIC);
+                    out.writeLong(highWater);
+                    out.writeInt(hot.size());
+                    for (Map.Entry<Long, RoaringBitmap> entry : hot) {
+                        out.writeLong(entry.getKey());
+                        entry.getValue().writeTo(out);
+                    }
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp); // only still there if the write or the move failed
+            }
+            logger.debug("Like index snapshot: {} posts written to {}", hot.size(), path);
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            logger.warn("Writing like index snapshot {} failed: {}", path, e.toString());
+        }
+    }
+
+    @PreDestroy
+    void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Path path = snapshotFile();
+        if (path == null || !Files.isReadable(path)) {
+            return;
+        }
+        long started = System.nanoTime();
+        Map<Long, RoaringBitmap> restored = new LinkedHashMap<>();
+        long highWater;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                logger.warn("Ignoring like index snapshot {}: unknown format", path);
+                return;
+            }
+            highWater = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long postId = in.readLong();
+                restored.put(postId, RoaringBitmap.readFrom(in));
+            }
+        } catch (IOException e) {
+            logger.warn("Ignoring like index snapshot {}: {}", path, e.toString());
+            return;
+        }
+
+        // Likes made since (on any instance), then drop whatever still disagrees with the likes rows
+        jdbcTemplate.query("SELECT post_id, user_id FROM likes WHERE like_id > ?", rs -> {
+            RoaringBitmap bitmap = restored.get(rs.getLong(1));
+            if (bitmap != null && RoaringBitmap.fits(rs.getLong(2))) {
+                bitmap.add(rs.getLong(2));
+            }
+        }, highWater);
+        List<Long> postIds = new ArrayList<>(restored.keySet());
+        // The rows themselves, not posts.likes_count: that counter can drift (CounterReconciler
+        // repairs it later), and a drifted one would throw away a correct bitmap or keep a stale one
+        Map<Long, Long> likeCounts = new HashMap<>();
+        for (int from = 0; from < postIds.size(); from += BATCH) {
+            List<Long> batch = postIds.subList(from, Math.min(postIds.size(), from + BATCH));
+            jdbcTemplate.query("SELECT post_id, COUNT(*) FROM likes WHERE post_id IN ("
+                    + placeholders(batch.size()) + ") GROUP BY post_id", rs -> {
+                        likeCounts.put(rs.getLong(1), rs.getLong(2));
+                    }, batch.toArray());
+        }
+
+        int kept = 0;
+        synchronized (this) {
+            for (Map.Entry<Long, RoaringBitmap> entry : restored.entrySet()) {
+                long likes = likeCounts.getOrDefault(entry.getKey(), 0L);
+                if (likes != entry.getValue().cardinality() || entries.containsKey(entry.getKey())) {
+                    continue;
+                }
+                Entry restoredEntry = new Entry();
+                restoredEntry.pending = null;
+                install(restoredEntry, entry.getValue());
+                entries.put(entry.getKey(), restoredEntry);
+                kept++;
+            }
+            evict();
+        }
+        logger.info("Like index warmed from {}: {} of {} posts in {} ms", path, kept, restored.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private Path snapshotFile() {
+        return enabled && snapshotPath != null && !snapshotPath.isBlank() ? Path.of(snapshotPath) : null;
+    }
+
+    private long maxLikeId() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(like_id) FROM likes", Long.class);
+        return max != null ? max : 0;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    // ---------------------- STATS ----------------------
+    public synchronized long footprintBytes() {
+        return bytes;
+    }
+
+    public synchronized int cachedPosts() {
+        return entries.size();
+    }
+}
@@ -1,6 +1,8 @@
 package com.mit.VarnaVerse.ContentService.Services.Impl;
 
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -10,7 +12,17 @@ public class MovieService {
     private final String API_KEY = "2095c90f"; // OMDb key
     private final String BASE_URL = "http://www.omdbapi.com/";
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+
+    // OMDb is outside our control: without timeouts a stalled upstream holds every caller
+    // (a pool thread each, or in virtual-thread mode an unbounded pile of waiting requests)
+    public MovieService(@Value("${content.movies.connect-timeout-ms:2000}") int connectTimeoutMs,
+                        @Value("${content.movies.read-timeout-ms:5000}") int readTimeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
 
     // Search movies by title (multiple results)
     public String searchMovies(String title) {
@@ -0,0 +1,131 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Service;
+
+import com.mit.VarnaVerse.ContentService.Config.MessagingConfig;
+import com.mit.VarnaVerse.ContentService.Entity.OutboxEvent;
+import com.mit.VarnaVerse.ContentService.Repository.OutboxEventRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.jms.TextMessage;
+
+/**
+ * Publishes outbox rows to varnaverse.content-events in id order and marks them published.
+ * A crash between send and mark resends the event on the next run, so delivery is
+ * at-least-once; the broker's duplicate-id cache drops most resends and consumers are idempotent.
+ * Every instance writes to the outbox but only the holder of the relay's lease sends, so the
+ * table is drained in one order rather than raced by all instances.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // One relay run at a time
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    // Artemis duplicate detection header
+    private static final String DUPLICATE_ID_PROPERTY = "_AMQ_DUPL_ID";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    @Qualifier("eventJmsTemplate")
+    private JmsTemplate eventJmsTemplate;
+
+    @Autowired
+    private ClusterJobScheduler clusterJobScheduler;
+
+    @Value("${content.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${content.outbox.relay-interval-ms:500}")
+    private long relayIntervalMs;
+
+    @Value("${content.outbox.cleanup-interval-ms:3600000}")
+    private long cleanupIntervalMs;
+
+    @Value("${content.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @PostConstruct
+    void schedule() {
+        clusterJobScheduler.schedule("outbox-relay", Duration.ofMillis(relayIntervalMs), Duration.ofMillis(relayIntervalMs),
+                this::relay);
+        clusterJobScheduler.schedule("outbox-cleanup", Duration.ofMillis(cleanupIntervalMs),
+                Duration.ofMillis(cleanupIntervalMs), this::deletePublished);
+    }
+
+    // ---------------------- RELAY ----------------------
+    public void relay() {
+        relayLock.lock();
+        try {
+            relayBatches();
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    private void relayBatches() {
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxEventRepository.findUnpublished(batchSize);
+            List<Long> sent = new ArrayList<>(batch.size());
+            try {
+                for (OutboxEvent event : batch) {
+                    send(event);
+                    sent.add(event.getId());
+                }
+            } catch (JmsException e) {
+                // Broker unreachable: stop here to keep order, the rest goes out next run
+                logger.warn("Outbox relay stopped after {} of {} events: {}", sent.size(), batch.size(), e.getMessage());
+            } finally {
+                if (!sent.isEmpty()) {
+                    outboxEventRepository.markPublished(sent, LocalDateTime.now());
+                }
+            }
+            if (sent.size() < batch.size()) {
+                return;
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private void send(OutboxEvent event) {
+        eventJmsTemplate.send(MessagingConfig.CONTENT_EVENTS_TOPIC, session -> {
+            TextMessage message = session.createTextMessage(event.getEnvelope());
+            message.setStringProperty("eventType", event.getEventType());
+            message.setStringProperty("eventId", event.getEventId());
+            message.setStringProperty(DUPLICATE_ID_PROPERTY, event.getEventId());
+            return message;
+        });
+    }
+
+    // ---------------------- CLEANUP ----------------------
+    // Published rows are only kept for inspection; chunked like the deletion reaper
+    public void deletePublished() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        int deleted;
+        int total = 0;
+        do {
+            deleted = outboxEventRepository.deletePublishedBefore(before, 1000);
+            total += deleted;
+        } while (deleted == 1000);
+        if (total > 0) {
+            logger.info("Deleted {} published outbox events older than {}h", total, retentionHours);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mit.VarnaVerse.ContentService.Entity.OutboxEvent;
+import com.mit.VarnaVerse.ContentService.Payloads.DomainEvent;
+import com.mit.VarnaVerse.ContentService.Repository.OutboxEventRepository;
+
+/**
+ * Transactional outbox: the event row commits or rolls back together with the change it
+ * describes, so no event is lost when the broker is down and none is sent for a rolled-back write.
+ */
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // MANDATORY: an outbox write outside the business transaction would defeat the point
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String type, long aggregateId, Map<String, Object> payload) {
+        DomainEvent event = new DomainEvent(UUID.randomUUID().toString(), type, aggregateId, Instant.now(), payload);
+
+        OutboxEvent row = new OutboxEvent();
+        row.setEventId(event.eventId());
+        row.setEventType(type);
+        row.setAggregateId(aggregateId);
+        row.setCreatedAt(LocalDateTime.now());
+        try {
+            row.setEnvelope(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event", e);
+        }
+        outboxEventRepository.save(row);
+    }
+}
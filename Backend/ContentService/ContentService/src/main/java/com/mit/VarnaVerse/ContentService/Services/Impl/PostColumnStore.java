@@ -0,0 +1,650 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.mit.VarnaVerse.ContentService.Entity.Post;
+import com.mit.VarnaVerse.ContentService.Util.AfterCommit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * The ranking columns of every live post, held in memory as parallel primitive arrays (one
+ * row per post, rows in post id order) so trending / top-rated / per-author / date-range
+ * queries are array scans instead of MySQL sorts. Only ids come out; the caller loads those
+ * few posts by primary key.
+ *
+ * Per post: id and author (8 + 8 bytes), category code (2), created day, likes, rating sum,
+ * rating count and comment count (4 each) = 38 bytes, at most ~57 with the 1.5x array growth
+ * slack. A deleted post keeps its row with category code -1 until the next compaction.
+ * Categories past the first 32767 distinct ones share an overflow code: such rows still rank
+ * under other filters, but a filter on one of those categories is left to the repositories.
+ *
+ * Loaded once after startup; until then isReady() is false and callers use the repositories.
+ * Afterwards PostServiceImpl (and DeletionReaper) apply every change after commit. Changes made
+ * by other instances are not seen here; the counters are periodically reconciled separately.
+ */
+@Service
+public class PostColumnStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostColumnStore.class);
+
+    private static final short DELETED = -1;
+    // Shared by every category once the dictionary is full; never handed out as a regular code
+    private static final short OTHER = Short.MAX_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+    // Rows per selection-vector chunk: the predicate pass writes matches here, the ranking pass reads them
+    private static final int CHUNK = 1024;
+
+    public enum Rank {
+        LIKES, RATING, NEWEST
+    }
+
+    /**
+     * Row filter; null / 0 fields match everything. Days are LocalDate.toEpochDay() values
+     * (posts only carry their creation date), both ends inclusive.
+     */
+    public record Filter(String category, Long authorId, LocalDate createdFrom, LocalDate createdTo) {
+
+        public static final Filter ALL = new Filter(null, null, null, null);
+
+        public static Filter category(String category) {
+            return new Filter(category, null, null, null);
+        }
+
+        public static Filter author(long authorId) {
+            return new Filter(null, authorId, null, null);
+        }
+    }
+
+    /** The counters of one post as held here; likes saturate at Integer.MAX_VALUE. */
+    public record Counters(long likes, int ratingSum, int ratingCount, int comments) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${content.columns.enabled:true}")
+    private boolean enabled;
+
+    @Value("${content.columns.load-page-size:10000}")
+    private int loadPageSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // ---------------------- COLUMNS (guarded by lock) ----------------------
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] authors = new long[INITIAL_CAPACITY];
+    private short[] categories = new short[INITIAL_CAPACITY];
+    private int[] createdDays = new int[INITIAL_CAPACITY];
+    private int[] likes = new int[INITIAL_CAPACITY];
+    private int[] ratingSums = new int[INITIAL_CAPACITY];
+    private int[] ratingCounts = new int[INITIAL_CAPACITY];
+    private int[] comments = new int[INITIAL_CAPACITY];
+    private int size;
+    private int deletedRows;
+
+    private final Map<String, Short> categoryCodes = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+    private boolean categoryOverflow;
+
+    // Changes committed while the initial load runs, replayed on top of it
+    private List<Runnable> pendingWhileLoading = new ArrayList<>();
+    private volatile boolean ready;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("content.post.columns.rows", this, PostColumnStore::liveRows).register(meterRegistry);
+        Gauge.builder("content.post.columns.bytes", this, PostColumnStore::footprintBytes)
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ---------------------- LOAD ----------------------
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            deletedRows = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Keyset pages of the narrow columns only; rows arrive in id order, so appends keep ids sorted
+        long after = 0;
+        int page;
+        do {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "SELECT post_id, user_id, category, created_at, likes_count FROM posts "
+                            + "WHERE deleted_at IS NULL AND post_id > ? ORDER BY post_id LIMIT ?",
+                    (rs, i) -> new Object[] { rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getDate(4), rs.getLong(5) },
+                    after, loadPageSize);
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : rows) {
+                    Date created = (Date) row[3];
+                    append((Long) row[0], (Long) row[1], (String) row[2],
+                            created != null ? created.toLocalDate() : LocalDate.now(), (Long) row[4]);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            page = rows.size();
+            if (page > 0) {
+                after = (Long) rows.get(page - 1)[0];
+            }
+        } while (page == loadPageSize);
+
+        jdbcTemplate.query("SELECT post_id, SUM(rating_value), COUNT(*) FROM ratings GROUP BY post_id", rs -> {
+            setRatingNow(rs.getLong(1), rs.getInt(2), rs.getInt(3));
+        });
+        jdbcTemplate.query("SELECT post_id, COUNT(*) FROM comments GROUP BY post_id", rs -> {
+            setCommentsNow(rs.getLong(1), rs.getInt(2));
+        });
+
+        List<Runnable> pending;
+        lock.writeLock().lock();
+        try {
+            pending = pendingWhileLoading;
+            pendingWhileLoading = null;
+            pending.forEach(Runnable::run);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Post column store loaded {} posts in {} ms ({} KB, {} changes replayed)", size,
+                (System.nanoTime() - started) / 1_000_000, footprintBytes() / 1024, pending.size());
+    }
+
+    // ---------------------- WRITES (applied after commit) ----------------------
+    public void put(Post post) {
+        long id = post.getPostId();
+        long author = post.getUserId();
+        String category = post.getCategory();
+        LocalDate created = post.getCreatedAt() != null ? post.getCreatedAt() : LocalDate.now();
+        long likeCount = post.getLikesCount();
+        afterCommit(() -> {
+            int row = rowOf(id);
+            if (row < 0) {
+                append(id, author, category, created, likeCount);
+            } else {
+                categories[row] = code(category);
+                likes[row] = saturate(likeCount);
+            }
+        });
+    }
+
+    public void remove(long postId) {
+        afterCommit(() -> {
+            tombstone(rowOf(postId));
+            compactIfSparse();
+        });
+    }
+
+    // All posts of a deleted author (DeletionReaper); the rows are already committed deleted.
+    // Every row is marked before the single compaction, which would otherwise shift rows under the loop
+    public void removeAuthor(long authorId) {
+        afterCommit(() -> {
+            for (int row = 0; row < size; row++) {
+                if (authors[row] == authorId) {
+                    tombstone(row);
+                }
+            }
+            compactIfSparse();
+        });
+    }
+
+    public void setLikes(long postId, long likeCount) {
+        afterCommit(() -> {
+            int row = rowOf(postId);
+            if (row >= 0) {
+                likes[row] = saturate(likeCount);
+            }
+        });
+    }
+
+    public void setRating(long postId, int sum, int count) {
+        afterCommit(() -> setRatingNow(postId, sum, count));
+    }
+
+    public void addComments(long postId, int delta) {
+        afterCommit(() -> {
+            int row = rowOf(postId);
+            if (row >= 0) {
+                comments[row] += delta;
+            }
+        });
+    }
+
+    // ---------------------- RECONCILIATION ----------------------
+    // Counters of the posts that have a live row; empty until loaded
+    public Map<Long, Counters> counters(Collection<Long> postIds) {
+        Map<Long, Counters> counters = new HashMap<>();
+        if (!enabled || !ready) {
+            return counters;
+        }
+        lock.readLock().lock();
+        try {
+            for (long postId : postIds) {
+                int row = rowOf(postId);
+                if (row >= 0) {
+                    counters.put(postId, new Counters(likes[row], ratingSums[row], ratingCounts[row], comments[row]));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counters;
+    }
+
+    // Each counter (the rating sum and count as a pair) takes its value from update only while it still
+    // holds the one in expected; one a request moved in between keeps the request's value
+    public void compareAndSetCounters(long postId, Counters expected, Counters update) {
+        if (!enabled || !ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int row = rowOf(postId);
+            if (row < 0) {
+                return;
+            }
+            if (likes[row] == expected.likes()) {
+                likes[row] = saturate(update.likes());
+            }
+            if (ratingSums[row] == expected.ratingSum() && ratingCounts[row] == expected.ratingCount()) {
+                ratingSums[row] = update.ratingSum();
+                ratingCounts[row] = update.ratingCount();
+            }
+            if (comments[row] == expected.comments()) {
+                comments[row] = update.comments();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Runs the change under the write lock once the surrounding transaction commits (at once without one);
+    // a rolled-back write never reaches the columns
+    private void afterCommit(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        Runnable locked = () -> {
+            lock.writeLock().lock();
+            try {
+                if (pendingWhileLoading != null) {
+                    pendingWhileLoading.add(change);
+                } else {
+                    change.run();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        AfterCommit.run(locked);
+    }
+
+    private void setRatingNow(long postId, int sum, int count) {
+        lock.writeLock().lock();
+        try {
+            int row = rowOf(postId);
+            if (row >= 0) {
+                ratingSums[row] = sum;
+                ratingCounts[row] = count;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setCommentsNow(long postId, int count) {
+        lock.writeLock().lock();
+        try {
+            int row = rowOf(postId);
+            if (row >= 0) {
+                comments[row] = count;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---------------------- ROW MANAGEMENT (write lock held) ----------------------
+    private void append(long id, long author, String category, LocalDate created, long likeCount) {
+        if (size > 0 && id <= ids[size - 1]) {
+            // Ids come from AUTO_INCREMENT, so only a replayed or out-of-order insert lands here
+            if (rowOf(id) >= 0) {
+                return;
+            }
+            logger.warn("Post {} arrived out of id order; skipped until the next load", id);
+            return;
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = id;
+        authors[size] = author;
+        categories[size] = code(category);
+        createdDays[size] = (int) created.toEpochDay();
+        likes[size] = saturate(likeCount);
+        ratingSums[size] = 0;
+        ratingCounts[size] = 0;
+        comments[size] = 0;
+        size++;
+    }
+
+    private void tombstone(int row) {
+        if (row >= 0 && categories[row] != DELETED) {
+            categories[row] = DELETED;
+            deletedRows++;
+        }
+    }
+
+    private void compactIfSparse() {
+        if (deletedRows > size / 4 && size > INITIAL_CAPACITY) {
+            compact();
+        }
+    }
+
+    // Squeezes deleted rows out, keeping id order
+    private void compact() {
+        int out = 0;
+        for (int row = 0; row < size; row++) {
+            if (categories[row] == DELETED) {
+                continue;
+            }
+            ids[out] = ids[row];
+            authors[out] = authors[row];
+            categories[out] = categories[row];
+            createdDays[out] = createdDays[row];
+            likes[out] = likes[row];
+            ratingSums[out] = ratingSums[row];
+            ratingCounts[out] = ratingCounts[row];
+            comments[out] = comments[row];
+            out++;
+        }
+        size = out;
+        deletedRows = 0;
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        authors = Arrays.copyOf(authors, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        createdDays = Arrays.copyOf(createdDays, capacity);
+        likes = Arrays.copyOf(likes, capacity);
+        ratingSums = Arrays.copyOf(ratingSums, capacity);
+        ratingCounts = Arrays.copyOf(ratingCounts, capacity);
+        comments = Arrays.copyOf(comments, capacity);
+    }
+
+    private int rowOf(long postId) {
+        int row = Arrays.binarySearch(ids, 0, size, postId);
+        return row >= 0 && categories[row] != DELETED ? row : -1;
+    }
+
+    private short code(String category) {
+        if (category == null) {
+            category = "";
+        }
+        Short code = categoryCodes.get(category);
+        if (code == null) {
+            if (categoryNames.size() >= OTHER) {
+                // Runs inside after-commit callbacks: throwing here would drop the row instead
+                if (!categoryOverflow) {
+                    categoryOverflow = true;
+                    logger.warn("More than {} post categories; filtering on the newer ones falls back to the database",
+                            categoryNames.size());
+                }
+                return OTHER;
+            }
+            code = (short) categoryNames.size();
+            categoryCodes.put(category, code);
+            categoryNames.add(category);
+        }
+        return code;
+    }
+
+    private static int saturate(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    // ---------------------- QUERIES ----------------------
+    // Whether topK can answer filter; false for a category that did not fit in the dictionary
+    public boolean covers(Filter filter) {
+        String category = filter.category();
+        if (category == null || category.isEmpty()) {
+            return true;
+        }
+        lock.readLock().lock();
+        try {
+            return !categoryOverflow || categoryCodes.containsKey(category);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of the k best rows matching filter (see covers); ties go to the newer post
+    public long[] topK(Rank rank, Filter filter, int k) {
+        if (k <= 0) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            int category = categoryFilter(filter.category());
+            if (category == Integer.MAX_VALUE) {
+                return new long[0]; // a category no post has
+            }
+            boolean anyAuthor = filter.authorId() == null;
+            long author = anyAuthor ? 0 : filter.authorId();
+            int fromDay = filter.createdFrom() != null ? (int) filter.createdFrom().toEpochDay() : Integer.MIN_VALUE;
+            int toDay = filter.createdTo() != null ? (int) filter.createdTo().toEpochDay() : Integer.MAX_VALUE;
+
+            if (rank == Rank.NEWEST) {
+                return newest(category, anyAuthor, author, fromDay, toDay, k);
+            }
+
+            TopK top = new TopK(k);
+            int[] selection = new int[CHUNK];
+            for (int start = 0; start < size; start += CHUNK) {
+                int end = Math.min(size, start + CHUNK);
+                int matches = select(start, end, category, anyAuthor, author, fromDay, toDay, selection);
+                for (int m = 0; m < matches; m++) {
+                    int row = selection[m];
+                    top.offer(score(rank, row), row);
+                }
+            }
+            return top.ids(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Newest first: rows are in id order, so walk backwards and stop at k matches
+    private long[] newest(int category, boolean anyAuthor, long author, int fromDay, int toDay, int k) {
+        long[] result = new long[Math.min(k, size)];
+        int found = 0;
+        for (int row = size - 1; row >= 0 && found < result.length; row--) {
+            if (matches(row, category, anyAuthor, author, fromDay, toDay)) {
+                result[found++] = ids[row];
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    /**
+     * Predicate pass over [start, end): writes the matching row numbers to selection and returns
+     * how many. Branch-free: every row is stored and the cursor only advances on a match, so the
+     * loop has no data-dependent jumps for the branch predictor to miss on mixed data.
+     */
+    private int select(int start, int end, int category, boolean anyAuthor, long author, int fromDay, int toDay,
+            int[] selection) {
+        int matches = 0;
+        for (int row = start; row < end; row++) {
+            int c = categories[row];
+            int d = createdDays[row];
+            boolean hit = c >= 0 & (category < 0 | c == category)
+                    & (anyAuthor | authors[row] == author)
+                    & d >= fromDay & d <= toDay;
+            selection[matches] = row;
+            matches += hit ? 1 : 0;
+        }
+        return matches;
+    }
+
+    private boolean matches(int row, int category, boolean anyAuthor, long author, int fromDay, int toDay) {
+        int c = categories[row];
+        int d = createdDays[row];
+        return c >= 0 && (category < 0 || c == category) && (anyAuthor || authors[row] == author)
+                && d >= fromDay && d <= toDay;
+    }
+
+    private double score(Rank rank, int row) {
+        return switch (rank) {
+            case LIKES -> likes[row];
+            case RATING -> ratingCounts[row] == 0 ? 0 : (double) ratingSums[row] / ratingCounts[row];
+            case NEWEST -> row;
+        };
+    }
+
+    // -1 for any, Integer.MAX_VALUE for a category no post has
+    private int categoryFilter(String category) {
+        if (category == null || category.isEmpty()) {
+            return -1;
+        }
+        Short code = categoryCodes.get(category);
+        return code != null ? code : Integer.MAX_VALUE;
+    }
+
+    // ---------------------- TOP-K HEAP ----------------------
+    // Min-heap on (score, row) in two primitive arrays: the root is the weakest of the current best k
+    private static final class TopK {
+        private final double[] scores;
+        private final int[] rows;
+        private int count;
+
+        TopK(int k) {
+            scores = new double[k];
+            rows = new int[k];
+        }
+
+        void offer(double score, int row) {
+            if (count < scores.length) {
+                scores[count] = score;
+                rows[count] = row;
+                siftUp(count++);
+            } else if (better(score, row, scores[0], rows[0])) {
+                scores[0] = score;
+                rows[0] = row;
+                siftDown(0);
+            }
+        }
+
+        // Best first
+        long[] ids(long[] idColumn) {
+            long[] result = new long[count];
+            for (int i = count - 1; i >= 0; i--) {
+                result[i] = idColumn[rows[0]];
+                scores[0] = scores[i];
+                rows[0] = rows[i];
+                count = i;
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private static boolean better(double score, int row, double otherScore, int otherRow) {
+            return score > otherScore || (score == otherScore && row > otherRow);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!better(scores[parent], rows[parent], scores[i], rows[i])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= count) {
+                    return;
+                }
+                int weakest = left;
+                int right = left + 1;
+                if (right < count && better(scores[left], rows[left], scores[right], rows[right])) {
+                    weakest = right;
+                }
+                if (!better(scores[i], rows[i], scores[weakest], rows[weakest])) {
+                    return;
+                }
+                swap(i, weakest);
+                i = weakest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+            int row = rows[a];
+            rows[a] = rows[b];
+            rows[b] = row;
+        }
+    }
+
+    // ---------------------- STATS ----------------------
+    public int liveRows() {
+        lock.readLock().lock();
+        try {
+            return size - deletedRows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Array capacity, not just the used part
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) ids.length * (8 + 8 + 2 + 4 + 4 + 4 + 4 + 4);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
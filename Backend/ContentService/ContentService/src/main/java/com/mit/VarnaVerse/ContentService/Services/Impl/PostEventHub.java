@@ -0,0 +1,238 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mit.VarnaVerse.ContentService.Entity.Post;
+import com.mit.VarnaVerse.ContentService.Exception.ResourceNotFoundException;
+import com.mit.VarnaVerse.ContentService.Payloads.PostEngagementEvent;
+import com.mit.VarnaVerse.ContentService.Payloads.PostEventDTO;
+import com.mit.VarnaVerse.ContentService.Repository.CommentRepository;
+import com.mit.VarnaVerse.ContentService.Repository.PostRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fan-out of live engagement updates to SSE subscribers of /posts/{id}/events.
+ * Write paths publish {@link PostEngagementEvent}s; they only mark the post dirty. Once per
+ * coalesce interval each dirty post is read once, serialized once and pushed to every open
+ * emitter, so a burst of likes costs one frame per subscriber, not one per like. The writes
+ * themselves run on the sseFanoutExecutor, one task per post, so a slow client never stalls the
+ * scheduler.
+ * Emitters are async requests: an idle subscriber holds a connection, not a Tomcat thread.
+ */
+@Component
+public class PostEventHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostEventHub.class);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("sseFanoutExecutor")
+    private AsyncTaskExecutor fanoutExecutor;
+
+    @Value("${content.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMillis;
+
+    @Value("${content.events.max-subscribers:20000}")
+    private int maxSubscribers;
+
+    @Value("${content.events.reconnect-ms:3000}")
+    private long reconnectMillis;
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<PostEngagementEvent.Type>> dirty = new ConcurrentHashMap<>();
+
+    // Posts with a fan-out task still running; they stay dirty until it finishes, so frames for
+    // one post are written in order
+    private final Set<Long> sending = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    // ---------------------- SUBSCRIBE ----------------------
+    // Returns empty when this instance is at its subscriber cap
+    public Optional<SseEmitter> subscribe(Long postId) {
+        // Current state up front, so the page needs no initial poll
+        PostEventDTO snapshot = snapshot(postId, EnumSet.noneOf(PostEngagementEvent.Type.class));
+        if (snapshot == null) {
+            throw new ResourceNotFoundException("Post not found with id: " + postId);
+        }
+
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        subscribers.computeIfAbsent(postId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        emitter.onCompletion(() -> remove(postId, emitter));
+        emitter.onTimeout(() -> remove(postId, emitter));
+        emitter.onError(e -> remove(postId, emitter));
+
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("engagement")
+                    .reconnectTime(reconnectMillis)
+                    .data(objectMapper.writeValueAsString(snapshot), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return Optional.of(emitter);
+    }
+
+    private void remove(Long postId, SseEmitter emitter) {
+        List<SseEmitter> emitters = subscribers.get(postId);
+        if (emitters != null && emitters.remove(emitter)) {
+            subscriberCount.decrementAndGet();
+            if (emitters.isEmpty()) {
+                subscribers.remove(postId, emitters);
+            }
+        }
+    }
+
+    // ---------------------- EVENT BUS ----------------------
+    // After commit: marked any earlier, the next push could read the pre-commit counts and clear
+    // the flag, and the committed change would never reach subscribers. Events published outside
+    // a transaction still go through (fallbackExecution)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEngagement(PostEngagementEvent event) {
+        if (!subscribers.containsKey(event.postId())) {
+            return; // nobody watching, nothing to coalesce
+        }
+        dirty.computeIfAbsent(event.postId(), id -> ConcurrentHashMap.newKeySet()).add(event.type());
+    }
+
+    // ---------------------- COALESCED PUSH ----------------------
+    @Scheduled(fixedDelayString = "${content.events.coalesce-interval-ms:1000}")
+    public void publishPending() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        for (Long postId : new ArrayList<>(dirty.keySet())) {
+            if (!sending.add(postId)) {
+                continue; // previous frame still going out; picked up next interval
+            }
+            if (!publish(postId)) {
+                sending.remove(postId);
+            }
+        }
+    }
+
+    // Reads and serializes on the scheduler thread, hands the writes to the fan-out pool.
+    // True when a fan-out task was submitted (it clears the in-flight mark itself)
+    private boolean publish(Long postId) {
+        Set<PostEngagementEvent.Type> changed = dirty.remove(postId);
+        List<SseEmitter> emitters = subscribers.get(postId);
+        if (changed == null || emitters == null || emitters.isEmpty()) {
+            return false;
+        }
+
+        PostEventDTO snapshot = snapshot(postId, EnumSet.copyOf(changed));
+        if (snapshot == null) {
+            emitters.forEach(SseEmitter::complete); // post deleted
+            return false;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize engagement event for post {}: {}", postId, e.getMessage());
+            return false;
+        }
+
+        try {
+            fanoutExecutor.execute(() -> {
+                try {
+                    for (SseEmitter emitter : emitters) {
+                        send(postId, emitter, SseEmitter.event().name("engagement").data(json, MediaType.APPLICATION_JSON));
+                    }
+                } finally {
+                    sending.remove(postId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            dirty.computeIfAbsent(postId, id -> ConcurrentHashMap.newKeySet()).addAll(changed);
+            return false;
+        }
+    }
+
+    // Comment frame keeps proxies from closing idle streams and surfaces dead clients
+    @Scheduled(fixedDelayString = "${content.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.forEach((postId, emitters) -> {
+            try {
+                fanoutExecutor.execute(() -> {
+                    for (SseEmitter emitter : emitters) {
+                        send(postId, emitter, SseEmitter.event().comment("ping"));
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // pool saturated with real frames; this ping can be skipped
+            }
+        });
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void send(Long postId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            remove(postId, emitter);
+        }
+    }
+
+    private PostEventDTO snapshot(Long postId, Set<PostEngagementEvent.Type> changed) {
+        Optional<Post> post = postRepository.findById(postId);
+        if (post.isEmpty()) {
+            return null;
+        }
+        return new PostEventDTO(postId, post.get().getLikesCount(), commentRepository.countByPostId(postId),
+                post.get().getRatingAvg(), changed, LocalDateTime.now());
+    }
+}
@@ -1,13 +1,41 @@
 package com.mit.VarnaVerse.ContentService.Services.Impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IntSummaryStatistics;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.mit.VarnaVerse.ContentService.Client.UserProfileCache;
 import com.mit.VarnaVerse.ContentService.Entity.Comment;
 import com.mit.VarnaVerse.ContentService.Entity.Like;
 import com.mit.VarnaVerse.ContentService.Entity.Post;
@@ -15,17 +43,26 @@ import com.mit.VarnaVerse.ContentService.Entity.Rating;
 import com.mit.VarnaVerse.ContentService.Exception.ResourceNotFoundException;
 import com.mit.VarnaVerse.ContentService.Payloads.CommentCreateDTO;
 import com.mit.VarnaVerse.ContentService.Payloads.CommentResponseDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.DomainEvent;
+import com.mit.VarnaVerse.ContentService.Payloads.EngagementRecord;
 import com.mit.VarnaVerse.ContentService.Payloads.PostCreateDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.PostDetailDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.PostEngagementEvent;
 import com.mit.VarnaVerse.ContentService.Payloads.PostResponseDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.ResourceVersion;
+import com.mit.VarnaVerse.ContentService.Payloads.UserProfileDTO;
 import com.mit.VarnaVerse.ContentService.Repository.CommentRepository;
 import com.mit.VarnaVerse.ContentService.Repository.LikeRepository;
 import com.mit.VarnaVerse.ContentService.Repository.PostRepository;
 import com.mit.VarnaVerse.ContentService.Repository.RatingRepository;
 import com.mit.VarnaVerse.ContentService.Services.PostService;
+import com.mit.VarnaVerse.ContentService.Util.CommentPaths;
 
 @Service
 public class PostServiceImpl implements PostService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PostServiceImpl.class);
+
     @Autowired
     private PostRepository postRepository;
 
@@ -35,9 +72,55 @@ public class PostServiceImpl implements PostService {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private PostViewTracker postViewTracker;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PostColumnStore postColumnStore;
+
+    @Autowired
+    private LikeIndex likeIndex;
+
+    @Autowired
+    private EngagementLog engagementLog;
+
+    @Autowired
+    @Qualifier("postDetailExecutor")
+    private AsyncTaskExecutor postDetailExecutor;
+
+    // Replies shown under each top-level comment on the post detail page
+    private static final int DETAIL_REPLIES_PER_THREAD = 3;
+
+    @Value("${content.detail.deadline-ms:300}")
+    private long detailDeadlineMillis;
+
+    // Author names and view counters for a list response (one batched lookup each)
+    private List<PostResponseDTO> decorate(List<PostResponseDTO> posts) {
+        postViewTracker.applyStats(posts);
+        return userProfileCache.hydrateAuthors(posts);
+    }
+
+    // Ranked ids from the column store -> posts in that order (one primary key lookup)
+    private List<Post> loadRanked(long[] ids) {
+        List<Long> order = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        Map<Long, Post> byId = postRepository.findAllById(order).stream()
+                .collect(Collectors.toMap(Post::getPostId, Function.identity()));
+        return order.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     // --- Core CRUD ---
 
     @Override
+    @Transactional
     public PostResponseDTO createPost(PostCreateDTO postCreateDTO, Long userId) {
         Post post = new Post();
         post.setUserId(userId);
@@ -48,45 +131,207 @@ public class PostServiceImpl implements PostService {
         post.setRatingAvg(0.0f);
 
         Post savedPost = postRepository.save(post);
+        postColumnStore.put(savedPost);
+        outboxService.record(DomainEvent.POST_CREATED, savedPost.getPostId(), Map.of(
+                "authorId", userId,
+                "category", savedPost.getCategory(),
+                "title", savedPost.getTitle()));
         return new PostResponseDTO(savedPost);
     }
 
     @Override
     public PostResponseDTO getPostById(Long postId) {
+        PostResponseDTO response = loadPost(postId);
+        postViewTracker.applyFlushedStats(List.of(response));
+        return response;
+    }
+
+    private PostResponseDTO loadPost(Long postId) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + postId));
         return new PostResponseDTO(post);
     }
 
+    @Override
+    public Optional<ResourceVersion> getPostVersion(Long postId) {
+        List<Object[]> rows = postRepository.findVersion(postId);
+        if (rows.isEmpty() || rows.get(0)[0] == null) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        LocalDateTime modifiedAt = (LocalDateTime) row[0];
+        LocalDateTime viewsFlushedAt = (LocalDateTime) row[3];
+        // The view counters move without touching modified_at, so they are part of the version
+        return Optional.of(ResourceVersion.of("p" + postId + "-" + (row[1] != null ? row[1] : 0) + "-"
+                + (row[2] != null ? row[2] : 0),
+                viewsFlushedAt != null && viewsFlushedAt.isAfter(modifiedAt) ? viewsFlushedAt : modifiedAt));
+    }
+
+    @Override
+    public Optional<ResourceVersion> getCommentsVersion(Long postId) {
+        requireLivePost(postId);
+        List<Object[]> rows = commentRepository.findVersionByPostId(postId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        // Count and newest id catch additions and removals; the latest updated_at catches edits
+        return Optional.of(ResourceVersion.of("c" + postId + "-" + row[0] + "-" + (row[1] != null ? row[1] : 0),
+                (LocalDateTime) row[2]));
+    }
+
+    // --- Post detail (parallel fan-out) ---
+
+    private record ViewerState(boolean liked, int rating) {}
+
+    @Override
+    public PostDetailDTO getPostDetail(Long postId, Supplier<Long> viewerId, int commentLimit) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(detailDeadlineMillis);
+        int limit = Math.max(1, Math.min(commentLimit, MAX_DETAIL_COMMENTS));
+
+        // Independent reads, all started before any is awaited
+        Future<PostResponseDTO> post = submit(() -> {
+            PostResponseDTO response = loadPost(postId);
+            postViewTracker.applyStats(List.of(response));
+            return response;
+        });
+        Future<List<CommentResponseDTO>> comments = submit(() -> firstCommentPage(postId, limit));
+        Future<Long> commentsCount = submit(() -> commentRepository.countByPostId(postId));
+        Future<Map<Integer, Long>> histogram = submit(() -> ratingHistogram(postId));
+        Future<ViewerState> viewer = viewerId == null ? null : submit(() -> viewerState(postId, viewerId.get()));
+
+        PostDetailDTO detail = new PostDetailDTO();
+        detail.setPost(awaitPost(post, postId, deadline));
+
+        // Author name is decoration and may cross to UserService; it joins the deadline too. The part
+        // only looks the name up: the DTO is written here, so a late lookup cannot touch the response
+        Long authorId = detail.getPost().getUserId();
+        Future<String> author = authorId == null ? null : submit(() -> authorName(authorId));
+
+        detail.setComments(await(comments, deadline, "comments", detail));
+        detail.setCommentsCount(await(commentsCount, deadline, "commentsCount", detail));
+        detail.setRatingHistogram(await(histogram, deadline, "ratingHistogram", detail));
+        if (viewer != null) {
+            ViewerState state = await(viewer, deadline, "viewer", detail);
+            if (state != null) {
+                detail.setLikedByViewer(state.liked());
+                detail.setViewerRating(state.rating());
+            }
+        }
+        if (author != null) {
+            String name = await(author, deadline, "authorName", detail);
+            if (name != null) {
+                detail.getPost().setAuthorName(name);
+            }
+        }
+        return detail;
+    }
+
+    // FutureTask underneath: cancel(true) drops a part still queued and interrupts one running,
+    // which a CompletableFuture would not do
+    private <T> Future<T> submit(Callable<T> part) {
+        try {
+            return postDetailExecutor.submit(part);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e); // pool saturated: report the part as missing
+        }
+    }
+
+    // The post itself is the one critical part: not found stays a 404, a miss becomes a 503
+    private PostResponseDTO awaitPost(Future<PostResponseDTO> post, Long postId, long deadline) {
+        try {
+            return post.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ResourceNotFoundException notFound) {
+                throw notFound;
+            }
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Post " + postId + " could not be loaded", e.getCause());
+        } catch (TimeoutException e) {
+            post.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Post " + postId + " timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted loading post " + postId);
+        }
+    }
+
+    private <T> T await(Future<T> future, long deadline, String part, PostDetailDTO detail) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.debug("Post detail part '{}' missed the deadline", part);
+        } catch (ExecutionException e) {
+            logger.warn("Post detail part '{}' failed: {}", part, e.getCause().toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        detail.addMissingPart(part);
+        return null;
+    }
+
+    private List<CommentResponseDTO> firstCommentPage(Long postId, int limit) {
+        return commentThreads(postId, null, limit, DETAIL_REPLIES_PER_THREAD);
+    }
+
+    private Map<Integer, Long> ratingHistogram(Long postId) {
+        Map<Integer, Long> histogram = new TreeMap<>();
+        for (int value = 1; value <= 5; value++) {
+            histogram.put(value, 0L);
+        }
+        for (Object[] row : ratingRepository.countByRatingValue(postId)) {
+            histogram.put((Integer) row[0], (Long) row[1]);
+        }
+        return histogram;
+    }
+
+    private String authorName(Long authorId) {
+        UserProfileDTO profile = userProfileCache.getProfiles(Set.of(authorId)).get(authorId);
+        return profile != null ? profile.getName() : null;
+    }
+
+    private ViewerState viewerState(Long postId, Long userId) {
+        return new ViewerState(liked(postId, userId), userRating(postId, userId));
+    }
+
+    @Override
+    public void recordView(Long postId, String viewerKey) {
+        postViewTracker.recordView(postId, viewerKey);
+    }
+
     @Override
     public List<PostResponseDTO> getAllPosts(String category, String sort) {
         List<Post> posts;
         if (category != null && !category.isEmpty()) {
             posts = postRepository.findByCategory(category);
         } else if ("top-rated".equalsIgnoreCase(sort)) {
-            posts = postRepository.findTop10ByOrderByRatingAvgDesc();
+            posts = postColumnStore.isReady()
+                    ? loadRanked(postColumnStore.topK(PostColumnStore.Rank.RATING, PostColumnStore.Filter.ALL, 10))
+                    : postRepository.findTop10ByOrderByRatingAvgDesc();
         } else {
             posts = postRepository.findAll();
         }
-        return posts.stream()
+        return decorate(posts.stream()
                 .map(PostResponseDTO::new)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
     public List<PostResponseDTO> getTrendingPosts() {
-        List<Post> posts = postRepository.findTop10ByOrderByLikesCountDesc();
-        return posts.stream()
+        List<Post> posts = postColumnStore.isReady()
+                ? loadRanked(postColumnStore.topK(PostColumnStore.Rank.LIKES, PostColumnStore.Filter.ALL, 10))
+                : postRepository.findTop10ByOrderByLikesCountDesc();
+        return decorate(posts.stream()
                 .map(PostResponseDTO::new)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
     public List<PostResponseDTO> searchPosts(String query) {
         List<Post> posts = postRepository.findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(query, query);
-        return posts.stream()
+        return decorate(posts.stream()
                 .map(PostResponseDTO::new)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
@@ -99,6 +344,7 @@ public class PostServiceImpl implements PostService {
         post.setCategory(postUpdateDTO.getCategory());
 
         Post updatedPost = postRepository.save(post);
+        postColumnStore.put(updatedPost);
         return new PostResponseDTO(updatedPost);
     }
 
@@ -106,56 +352,169 @@ public class PostServiceImpl implements PostService {
     public void deletePost(Long postId, Long userId) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found."));
-        postRepository.delete(post);
+        // Soft delete: hidden from every read right away; likes, ratings, comments and view
+        // stats are removed in throttled chunks by DeletionReaper instead of inside this request
+        post.setDeletedAt(LocalDateTime.now());
+        postRepository.save(post);
+        postColumnStore.remove(postId);
     }
 
     // --- Like / Unlike ---
     @Override
+    @Transactional
     public void toggleLike(Long postId, Long userId) {
         Optional<Like> existingLike = likeRepository.findByPostIdAndUserId(postId, userId);
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found."));
 
+        long likeId;
         if (existingLike.isPresent()) {
+            likeId = existingLike.get().getLikeId();
             likeRepository.delete(existingLike.get());
             post.setLikesCount(post.getLikesCount() - 1);
         } else {
             Like like = new Like();
             like.setPostId(postId);
             like.setUserId(userId);
-            likeRepository.save(like);
+            likeId = likeRepository.save(like).getLikeId();
             post.setLikesCount(post.getLikesCount() + 1);
         }
         postRepository.save(post);
+        boolean liked = existingLike.isEmpty();
+        postColumnStore.setLikes(postId, post.getLikesCount());
+        likeIndex.set(postId, userId, liked, likeId);
+        engagementLog.append(liked ? EngagementRecord.Type.LIKE : EngagementRecord.Type.UNLIKE, postId, userId, liked ? 1 : 0);
+        // Liker and new state as well, so every instance's LikeIndex can apply the change
+        outboxService.record(DomainEvent.ENGAGEMENT_CHANGED, postId, Map.of(
+                "kind", PostEngagementEvent.Type.LIKE.name(),
+                "likesCount", post.getLikesCount(),
+                "ratingAvg", post.getRatingAvg(),
+                "userId", userId,
+                "liked", liked,
+                "likeId", likeId));
+        eventPublisher.publishEvent(new PostEngagementEvent(postId, PostEngagementEvent.Type.LIKE));
     }
 
     // --- Comment ---
     @Override
+    @Transactional
     public CommentResponseDTO addComment(Long postId, Long userId, CommentCreateDTO commentCreateDTO) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post not found");
+        }
+
+        Comment parent = null;
+        if (commentCreateDTO.getParentId() != null) {
+            parent = findCommentOnPost(postId, commentCreateDTO.getParentId());
+            if (parent.getDepth() >= MAX_COMMENT_DEPTH && parent.getParentId() != null) {
+                parent = findCommentOnPost(postId, parent.getParentId()); // too deep: reply to the parent's parent
+            }
+        }
 
         Comment comment = new Comment();
         comment.setPostId(postId);
         comment.setUserId(userId);
         comment.setText(commentCreateDTO.getText());
+        if (parent != null) {
+            comment.setParentId(parent.getCommentId());
+            comment.setRootId(parent.getRootId() != null ? parent.getRootId() : parent.getCommentId());
+            comment.setDepth(parent.getDepth() + 1);
+        }
 
+        // The path embeds the generated id, so it is set after the insert (flushed at commit)
         Comment saved = commentRepository.save(comment);
+        if (parent == null) {
+            saved.setRootId(saved.getCommentId());
+            saved.setPath(CommentPaths.root(saved.getCommentId()));
+        } else {
+            String parentPath = pathOf(parent);
+            saved.setPath(CommentPaths.child(parentPath, saved.getCommentId()));
+            commentRepository.incrementReplyCounts(CommentPaths.ids(parentPath));
+        }
+
+        postColumnStore.addComments(postId, 1);
+        engagementLog.append(EngagementRecord.Type.COMMENT, postId, userId, saved.getCommentId());
+        outboxService.record(DomainEvent.ENGAGEMENT_CHANGED, postId, Map.of(
+                "kind", PostEngagementEvent.Type.COMMENT.name(),
+                "commentId", saved.getCommentId()));
+        eventPublisher.publishEvent(new PostEngagementEvent(postId, PostEngagementEvent.Type.COMMENT));
+        return new CommentResponseDTO(saved);
+    }
+
+    @Override
+    public List<CommentResponseDTO> getCommentThreads(Long postId, Long afterCommentId, int size, int repliesPerThread) {
+        requireLivePost(postId);
+        return commentThreads(postId, afterCommentId, size, repliesPerThread);
+    }
+
+    // The post detail has already checked the post
+    private List<CommentResponseDTO> commentThreads(Long postId, Long afterCommentId, int size, int repliesPerThread) {
+        int pageSize = Math.max(1, Math.min(size, MAX_COMMENT_PAGE_SIZE));
+        int perThread = Math.max(0, Math.min(repliesPerThread, MAX_REPLIES_PER_THREAD));
+        String afterPath = afterCommentId != null ? CommentPaths.root(afterCommentId) : "";
+
+        List<Comment> roots = commentRepository.findTopLevelAfter(postId, afterPath, PageRequest.of(0, pageSize));
+        if (roots.isEmpty() || perThread == 0) {
+            return roots.stream().map(CommentResponseDTO::new).collect(Collectors.toList());
+        }
 
-        LocalDateTime createdAt = saved.getCreatedAt() != null ? saved.getCreatedAt().atStartOfDay() : LocalDateTime.now();
-        LocalDateTime updatedAt = saved.getUpdatedAt() != null ? saved.getUpdatedAt().atStartOfDay() : LocalDateTime.now();
+        // The page's threads are contiguous in path order: one range scan fetches all their replies
+        String fromPath = roots.get(0).getPath();
+        String toPath = CommentPaths.subtreeEnd(roots.get(roots.size() - 1).getPath());
+        Map<Long, List<Comment>> repliesByThread = new HashMap<>();
+        for (Comment reply : commentRepository.findRepliesInRange(postId, fromPath, toPath, perThread)) {
+            repliesByThread.computeIfAbsent(reply.getRootId(), id -> new ArrayList<>()).add(reply);
+        }
 
-        return new CommentResponseDTO(
-                saved.getCommentId(),
-                saved.getPostId(),
-                saved.getUserId(),
-                saved.getText(),
-                createdAt
-        );
+        List<CommentResponseDTO> page = new ArrayList<>();
+        for (Comment root : roots) {
+            page.add(new CommentResponseDTO(root));
+            for (Comment reply : repliesByThread.getOrDefault(root.getCommentId(), List.of())) {
+                page.add(new CommentResponseDTO(reply));
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<CommentResponseDTO> getCommentReplies(Long postId, Long commentId, Long afterCommentId, int size) {
+        requireLivePost(postId);
+        int pageSize = Math.max(1, Math.min(size, MAX_COMMENT_PAGE_SIZE));
+        String subtree = pathOf(findCommentOnPost(postId, commentId));
+        String afterPath = afterCommentId != null ? pathOf(findCommentOnPost(postId, afterCommentId)) : subtree;
+        if (!afterPath.startsWith(subtree)) {
+            throw new IllegalArgumentException("Cursor " + afterCommentId + " is not inside comment " + commentId);
+        }
+
+        return commentRepository.findSubtreeAfter(postId, afterPath, CommentPaths.subtreeEnd(subtree),
+                        PageRequest.of(0, pageSize))
+                .stream()
+                .map(CommentResponseDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    // Comments, likes and ratings outlive a soft delete until DeletionReaper purges them; the post's
+    // deleted_at (filtered on Post) hides them from then on
+    private void requireLivePost(Long postId) {
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post not found with id: " + postId);
+        }
+    }
+
+    private Comment findCommentOnPost(Long postId, Long commentId) {
+        return commentRepository.findById(commentId)
+                .filter(c -> c.getPostId() == postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + commentId));
+    }
+
+    // Comments written before threading have no path until backfilled; they are top-level by definition
+    private static String pathOf(Comment comment) {
+        return comment.getPath() != null ? comment.getPath() : CommentPaths.root(comment.getCommentId());
     }
 
     @Override
     public long getCommentsCount(Long postId) {
+        requireLivePost(postId);
         return commentRepository.countByPostId(postId);
     }
 
@@ -165,6 +524,7 @@ public class PostServiceImpl implements PostService {
     private RatingRepository ratingRepository;
     
     @Override
+    @Transactional
     public void ratePost(Long postId, Long userId, int ratingValue) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
@@ -182,18 +542,44 @@ public class PostServiceImpl implements PostService {
             ratingRepository.save(rating);
         }
 
-        double avg = ratingRepository.findByPostId(postId).stream()
+        IntSummaryStatistics stats = ratingRepository.findByPostId(postId).stream()
                 .mapToInt(Rating::getRatingValue)
-                .average()
-                .orElse(0.0);
+                .summaryStatistics();
 
-        post.setRatingAvg((float) avg);
+        post.setRatingAvg((float) stats.getAverage());
         postRepository.save(post);
+        postColumnStore.setRating(postId, (int) stats.getSum(), (int) stats.getCount());
+        engagementLog.append(EngagementRecord.Type.RATE, postId, userId, ratingValue);
+        recordEngagement(post, PostEngagementEvent.Type.RATING);
+        eventPublisher.publishEvent(new PostEngagementEvent(postId, PostEngagementEvent.Type.RATING));
+    }
+
+    // Counters after the change, so consumers can apply the event without reading back
+    private void recordEngagement(Post post, PostEngagementEvent.Type kind) {
+        outboxService.record(DomainEvent.ENGAGEMENT_CHANGED, post.getPostId(), Map.of(
+                "kind", kind.name(),
+                "likesCount", post.getLikesCount(),
+                "ratingAvg", post.getRatingAvg()));
     }
     
     @Override
     public boolean hasUserLikedPost(Long postId, Long userId) {
-        return likeRepository.existsByPostIdAndUserId(postId, userId);
+        requireLivePost(postId);
+        return liked(postId, userId);
+    }
+
+    private boolean liked(Long postId, Long userId) {
+        Boolean liked = likeIndex.hasLiked(postId, userId);
+        return liked != null ? liked : likeRepository.existsByPostIdAndUserId(postId, userId);
+    }
+
+    @Override
+    public Set<Long> getLikedPostIds(List<Long> postIds, Long userId) {
+        if (postIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> liked = likeIndex.likedAmong(postIds, userId);
+        return liked != null ? liked : likeRepository.findLikedPostIds(postIds, userId);
     }
 
     // --- Count ---
@@ -206,19 +592,14 @@ public class PostServiceImpl implements PostService {
     
     @Override
     public List<CommentResponseDTO> getCommentsByPostId(Long postId) {
-        List<Comment> comments = commentRepository.findByPostId(postId);
-        return comments.stream()
-                .map(c -> new CommentResponseDTO(
-                        c.getCommentId(),
-                        c.getPostId(),
-                        c.getUserId(),
-                        c.getText(),
-                        c.getCreatedAt().atStartOfDay()
-                ))
+        requireLivePost(postId);
+        return commentRepository.findByPostIdOrderByPathAsc(postId).stream()
+                .map(CommentResponseDTO::new)
                 .collect(Collectors.toList());
     }
     @Override
     public Double getAverageRating(Long postId) {
+        requireLivePost(postId);
         List<Rating> ratings = ratingRepository.findByPostId(postId);
         if (ratings.isEmpty()) return 3.0; // default rating
         return ratings.stream()
@@ -231,6 +612,11 @@ public class PostServiceImpl implements PostService {
 
     @Override
     public Integer getUserRating(Long postId, Long userId) {
+        requireLivePost(postId);
+        return userRating(postId, userId);
+    }
+
+    private int userRating(Long postId, Long userId) {
         return ratingRepository.findByPostIdAndUserId(postId, userId)
                                .map(Rating::getRatingValue)
                                .orElse(0); // default rating
@@ -238,7 +624,13 @@ public class PostServiceImpl implements PostService {
     
     @Override
     public List<PostResponseDTO> getTopRatedPostsByCategory(String category) {
-        return postRepository.findByCategory(category)
+        if (postColumnStore.isReady()) {
+            return decorate(loadRanked(postColumnStore.topK(PostColumnStore.Rank.RATING,
+                    PostColumnStore.Filter.category(category), 5)).stream()
+                    .map(PostResponseDTO::new)
+                    .collect(Collectors.toList()));
+        }
+        return decorate(postRepository.findByCategory(category)
                 .stream()
                 // Sort descending by ratingAvg
                 .sorted((a, b) -> Float.compare(b.getRatingAvg(), a.getRatingAvg()))
@@ -246,7 +638,7 @@ public class PostServiceImpl implements PostService {
                 .limit(5)
                 // Map Post -> PostResponseDTO
                 .map(PostResponseDTO::new)
-                .toList();
+                .collect(Collectors.toList()));
     }
 
 }
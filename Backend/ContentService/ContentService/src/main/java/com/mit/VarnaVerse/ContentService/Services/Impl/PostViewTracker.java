@@ -0,0 +1,197 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mit.VarnaVerse.ContentService.Payloads.PostResponseDTO;
+import com.mit.VarnaVerse.ContentService.Repository.PostViewStatsRepository;
+import com.mit.VarnaVerse.ContentService.Util.HyperLogLog;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind view counting. Views are accumulated in memory per post (a LongAdder
+ * plus a HyperLogLog of viewer keys) and flushed to post_view_stats in batched upserts
+ * every few seconds and once more on graceful shutdown. The hot read path never writes.
+ */
+@Service
+public class PostViewTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostViewTracker.class);
+
+    // Scheduled flush vs. the shutdown flush
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO post_view_stats (post_id, view_count, unique_viewers, viewer_sketch, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE view_count = view_count + VALUES(view_count), "
+            + "unique_viewers = VALUES(unique_viewers), viewer_sketch = VALUES(viewer_sketch), "
+            + "updated_at = VALUES(updated_at)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostViewStatsRepository postViewStatsRepository;
+
+    @Value("${content.views.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    private final Map<Long, PendingViews> pending = new ConcurrentHashMap<>();
+
+    private static final class PendingViews {
+        final LongAdder views = new LongAdder();
+        final HyperLogLog viewers = new HyperLogLog();
+    }
+
+    private record Delta(long views, HyperLogLog viewers) {}
+
+    // ---------------------- RECORD ----------------------
+    public void recordView(long postId, String viewerKey) {
+        PendingViews views = pending.computeIfAbsent(postId, id -> new PendingViews());
+        views.views.increment();
+        if (viewerKey != null) {
+            views.viewers.offer(viewerKey);
+        }
+    }
+
+    // Drops unflushed views of a post that is being purged, so a later flush can't recreate its row
+    public void discard(long postId) {
+        pending.remove(postId);
+    }
+
+    // ---------------------- READ ----------------------
+    // Persisted counters plus views not yet flushed; one IN query for the whole list
+    public void applyStats(List<PostResponseDTO> posts) {
+        applyStats(posts, true);
+    }
+
+    // Persisted counters only: they change with post_view_stats.updated_at, so a conditional GET can version them
+    public void applyFlushedStats(List<PostResponseDTO> posts) {
+        applyStats(posts, false);
+    }
+
+    private void applyStats(List<PostResponseDTO> posts, boolean withUnflushed) {
+        if (posts == null || posts.isEmpty()) {
+            return;
+        }
+
+        List<Long> postIds = new ArrayList<>(posts.size());
+        for (PostResponseDTO post : posts) {
+            postIds.add(post.getPostId());
+        }
+
+        Map<Long, long[]> stored = new HashMap<>();
+        for (Object[] row : postViewStatsRepository.findCounters(postIds)) {
+            stored.put((Long) row[0], new long[] { (Long) row[1], (Long) row[2] });
+        }
+
+        for (PostResponseDTO post : posts) {
+            long[] counters = stored.getOrDefault(post.getPostId(), new long[2]);
+            PendingViews unflushed = withUnflushed ? pending.get(post.getPostId()) : null;
+            long pendingViews = unflushed == null ? 0 : unflushed.views.sum();
+            post.setViewCount(counters[0] + pendingViews);
+            post.setUniqueViewers(Math.max(counters[1], unflushed == null ? 0 : unflushed.viewers.estimate()));
+        }
+    }
+
+    // ---------------------- FLUSH ----------------------
+    @Scheduled(fixedDelayString = "${content.views.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushDeltas();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushDeltas() {
+        Map<Long, Delta> deltas = drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Long> postIds = new ArrayList<>(deltas.keySet());
+        for (int from = 0; from < postIds.size(); from += flushBatchSize) {
+            List<Long> chunk = postIds.subList(from, Math.min(from + flushBatchSize, postIds.size()));
+            try {
+                writeChunk(chunk, deltas);
+            } catch (Exception e) {
+                logger.warn("View flush failed for {} posts, re-queueing: {}", chunk.size(), e.getMessage());
+                for (Long postId : chunk) {
+                    requeue(postId, deltas.get(postId));
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        logger.info("Flushing {} pending post view counters before shutdown", pending.size());
+        flush();
+    }
+
+    private void writeChunk(List<Long> chunk, Map<Long, Delta> deltas) {
+        // Sketches merge by register max, which SQL can't express; merge them here
+        Map<Long, HyperLogLog> merged = new HashMap<>();
+        for (Object[] row : postViewStatsRepository.findSketches(chunk)) {
+            merged.put((Long) row[0], HyperLogLog.fromBytes((byte[]) row[1]));
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(chunk.size());
+        for (Long postId : chunk) {
+            Delta delta = deltas.get(postId);
+            HyperLogLog sketch = merged.computeIfAbsent(postId, id -> new HyperLogLog());
+            sketch.merge(delta.viewers());
+            rows.add(new Object[] { postId, delta.views(), sketch.estimate(), sketch.toBytes(), now });
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        logger.debug("Flushed view counters for {} posts", rows.size());
+    }
+
+    private Map<Long, Delta> drain() {
+        Map<Long, Delta> deltas = new HashMap<>();
+        for (Map.Entry<Long, PendingViews> entry : pending.entrySet()) {
+            PendingViews views = entry.getValue();
+            long count = views.views.sumThenReset();
+            HyperLogLog viewers = views.viewers.snapshotAndReset();
+            if (count == 0 && viewers.isEmpty()) {
+                // Idle since the last flush: drop the entry; anything recorded while removing is carried over
+                pending.remove(entry.getKey(), views);
+                long late = views.views.sumThenReset();
+                HyperLogLog lateViewers = views.viewers.snapshotAndReset();
+                if (late > 0 || !lateViewers.isEmpty()) {
+                    requeue(entry.getKey(), new Delta(late, lateViewers));
+                }
+                continue;
+            }
+            deltas.put(entry.getKey(), new Delta(count, viewers));
+        }
+        return deltas;
+    }
+
+    private void requeue(Long postId, Delta delta) {
+        PendingViews views = pending.computeIfAbsent(postId, id -> new PendingViews());
+        views.views.add(delta.views());
+        views.viewers.merge(delta.viewers());
+    }
+}
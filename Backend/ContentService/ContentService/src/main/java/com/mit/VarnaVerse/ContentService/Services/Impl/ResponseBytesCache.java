@@ -0,0 +1,227 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Finished response bodies for hot, viewer-independent list endpoints (/posts/trending,
+ * /posts/top-rated). Each entry holds the serialized JSON, its gzip encoding and a strong ETag
+ * per encoding, so a hit is a lookup plus a write of ready bytes: no query, no DTO mapping,
+ * no Jackson, no compression.
+ *
+ * Entries are refreshed ahead of time once older than refresh-after-ms: a scheduled sweep finds
+ * them and queues the re-render on responseCacheRefreshExecutor, so neither readers nor the shared
+ * scheduler pool wait on a reload; only a first request, or one after expire-after-ms (the
+ * sweep kept failing), renders in line. Keys idle for idle-evict-ms are dropped. View counts
+ * in the cached lists are therefore up to refresh-after-ms old.
+ */
+@Service
+public class ResponseBytesCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseBytesCache.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("responseCacheRefreshExecutor")
+    private AsyncTaskExecutor refreshExecutor;
+
+    @Value("${content.response-cache.refresh-after-ms:5000}")
+    private long refreshAfterMillis;
+
+    @Value("${content.response-cache.expire-after-ms:60000}")
+    private long expireAfterMillis;
+
+    @Value("${content.response-cache.idle-evict-ms:300000}")
+    private long idleEvictMillis;
+
+    @Value("${content.response-cache.max-entries:256}")
+    private int maxEntries;
+
+    // Bodies smaller than this are not worth a Content-Encoding
+    @Value("${content.response-cache.min-gzip-bytes:256}")
+    private int minGzipBytes;
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+    private Counter hits;
+    private Counter misses;
+
+    /**
+     * One rendered payload. gzip is null when the body is too small to compress. isEmpty tells
+     * callers that the payload was an empty collection (endpoints answering 204 for that).
+     */
+    public record Body(byte[] identity, String etag, byte[] gzip, String gzipEtag, boolean isEmpty, long renderedAt) {
+    }
+
+    private final class Slot {
+        final Supplier<?> loader;
+        // One render of this entry at a time
+        final ReentrantLock renderLock = new ReentrantLock();
+        // Set while a refresh of this entry is queued or running, so a slow one is not queued again
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        volatile Body body;
+        volatile long lastAccess = System.currentTimeMillis();
+
+        Slot(Supplier<?> loader) {
+            this.loader = loader;
+        }
+
+        // Serialized per key: concurrent misses render once, the others wait for that result
+        Body load(boolean force) {
+            renderLock.lock();
+            try {
+                Body current = body;
+                if (current != null && !force && !isExpired(current)) {
+                    return current;
+                }
+                body = render(loader.get(), current);
+                return body;
+            } finally {
+                renderLock.unlock();
+            }
+        }
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        hits = Counter.builder("content.response.cache").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("content.response.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    // ---------------------- READ ----------------------
+    // The cached body for key, rendering it from loader on a miss; loader must not depend on the caller
+    public Body get(String key, Supplier<?> loader) {
+        Slot slot = slots.get(key);
+        if (slot == null) {
+            if (slots.size() >= maxEntries) {
+                misses.increment();
+                return render(loader.get(), null); // full: serve without keeping it
+            }
+            slot = slots.computeIfAbsent(key, k -> new Slot(loader));
+        }
+        slot.lastAccess = System.currentTimeMillis();
+
+        Body body = slot.body;
+        if (body != null && !isExpired(body)) {
+            hits.increment();
+            return body;
+        }
+        misses.increment();
+        return slot.load(false);
+    }
+
+    private boolean isExpired(Body body) {
+        return System.currentTimeMillis() - body.renderedAt() > expireAfterMillis;
+    }
+
+    // ---------------------- REFRESH AHEAD ----------------------
+    @Scheduled(fixedDelayString = "${content.response-cache.sweep-interval-ms:1000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Slot> entry : slots.entrySet()) {
+            Slot slot = entry.getValue();
+            if (now - slot.lastAccess > idleEvictMillis) {
+                slots.remove(entry.getKey(), slot);
+                continue;
+            }
+            Body body = slot.body;
+            if (body != null && now - body.renderedAt() >= refreshAfterMillis
+                    && slot.refreshing.compareAndSet(false, true)) {
+                try {
+                    refreshExecutor.execute(() -> refresh(entry.getKey(), slot));
+                } catch (TaskRejectedException e) {
+                    slot.refreshing.set(false); // pool busy: picked up again by the next sweep
+                }
+            }
+        }
+    }
+
+    private void refresh(String key, Slot slot) {
+        try {
+            slot.load(true);
+        } catch (RuntimeException e) {
+            // Keep serving the previous body; it is replaced in line once it expires
+            logger.warn("Refreshing cached response {} failed: {}", key, e.toString());
+        } finally {
+            slot.refreshing.set(false);
+        }
+    }
+
+    // ---------------------- RENDER ----------------------
+    private Body render(Object payload, Body previous) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize cached response", e);
+        }
+        boolean isEmpty = payload instanceof Collection<?> collection && collection.isEmpty();
+        long now = System.currentTimeMillis();
+
+        // Unchanged since the last render (the common case for a refresh): keep the compressed bytes
+        if (previous != null && Arrays.equals(previous.identity(), json)) {
+            return new Body(previous.identity(), previous.etag(), previous.gzip(), previous.gzipEtag(), isEmpty, now);
+        }
+
+        String hash = hash(json);
+        byte[] gzip = json.length >= minGzipBytes ? gzip(json) : null;
+        // Strong ETags are per representation, so the gzip bytes get a tag of their own
+        return new Body(json, "\"" + hash + "\"", gzip, gzip != null ? "\"" + hash + "-gz\"" : null, isEmpty, now);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION); // compressed once per refresh, served many times
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // in-memory stream
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,23 +1,47 @@
 package com.mit.VarnaVerse.ContentService.Services;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import com.mit.VarnaVerse.ContentService.Payloads.CommentCreateDTO;
 import com.mit.VarnaVerse.ContentService.Payloads.CommentResponseDTO;
 import com.mit.VarnaVerse.ContentService.Payloads.PostCreateDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.PostDetailDTO;
 import com.mit.VarnaVerse.ContentService.Payloads.PostResponseDTO;
+import com.mit.VarnaVerse.ContentService.Payloads.ResourceVersion;
 
 public interface PostService {
 
+    int MAX_DETAIL_COMMENTS = 100;
+
+    // Comment threads: deeper replies attach to the deepest allowed ancestor; page sizes are capped
+    int MAX_COMMENT_DEPTH = 16;
+    int MAX_COMMENT_PAGE_SIZE = 100;
+    int MAX_REPLIES_PER_THREAD = 20;
+
     // API: POST /posts - Creates a new post
     PostResponseDTO createPost(PostCreateDTO postCreateDTO, Long userId);
 
     // API: GET /posts - Retrieves all posts (with filtering/sorting logic)
     List<PostResponseDTO> getAllPosts(String category, String sort);
 
-    // API: GET /posts/{postId} - Retrieves a single post
+    // API: GET /posts/{postId} - Retrieves a single post, with the flushed view counters that getPostVersion covers
     PostResponseDTO getPostById(Long postId);
 
+    // Conditional GET validators (one narrow query, no body); empty when unknown, so the caller serves a full 200
+    Optional<ResourceVersion> getPostVersion(Long postId);
+
+    Optional<ResourceVersion> getCommentsVersion(Long postId);
+
+    // API: GET /posts/{postId}/detail - Post, first comment page, counters and viewer state in one call.
+    // viewerId is resolved on the fan-out pool; pass null for anonymous requests.
+    PostDetailDTO getPostDetail(Long postId, Supplier<Long> viewerId, int commentLimit);
+
+    // Counts a view of GET /posts/{postId}; buffered in memory and flushed in batches
+    void recordView(Long postId, String viewerKey);
+
     // API: PUT /posts/{postId} - Edits a post
     PostResponseDTO updatePost(Long postId, PostCreateDTO postUpdateDTO, long userId);
 
@@ -40,12 +64,22 @@ public interface PostService {
     List<PostResponseDTO> searchPosts(String query);
     
     List<CommentResponseDTO> getCommentsByPostId(Long postId);
+
+    // API: GET /posts/{postId}/comments - keyset page of top-level comments (newest thread first),
+    // each followed by its first repliesPerThread replies, in display order
+    List<CommentResponseDTO> getCommentThreads(Long postId, Long afterCommentId, int size, int repliesPerThread);
+
+    // API: GET /posts/{postId}/comments/{commentId}/replies - keyset page of one comment's subtree
+    List<CommentResponseDTO> getCommentReplies(Long postId, Long commentId, Long afterCommentId, int size);
     
     Double getAverageRating(Long postId);
 
     Integer getUserRating(Long postId, Long userId);
     
     boolean hasUserLikedPost(Long postId, Long userId);
+
+    // API: GET /posts/liked?ids= - which of a page of posts the user has liked
+    Set<Long> getLikedPostIds(List<Long> postIds, Long userId);
     
     long getLikesCount(Long postId);
     
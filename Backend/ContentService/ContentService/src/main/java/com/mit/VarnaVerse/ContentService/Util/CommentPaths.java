@@ -0,0 +1,55 @@
+package com.mit.VarnaVerse.ContentService.Util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Materialized paths for threaded comments. A path is one fixed-width segment per level,
+ * so sorting by path yields depth-first thread order and a subtree is a contiguous
+ * range [path, path + "~"). Root segments store (MAX - id) so that newer threads sort
+ * first, while replies inside a thread stay oldest first.
+ * Example: root 42 -> "9999999957/", its reply 57 -> "9999999957/0000000057/".
+ */
+public final class CommentPaths {
+
+    public static final int SEGMENT_WIDTH = 10;
+    public static final char SEPARATOR = '/';
+
+    // Sorts after every digit and after the separator: upper bound of a subtree range
+    public static final String SUBTREE_END = "~";
+
+    private static final long MAX_ID = 9_999_999_999L;
+
+    private CommentPaths() {}
+
+    public static String root(long commentId) {
+        return segment(MAX_ID - commentId);
+    }
+
+    public static String child(String parentPath, long commentId) {
+        return parentPath + segment(commentId);
+    }
+
+    public static String subtreeEnd(String path) {
+        return path + SUBTREE_END;
+    }
+
+    // Ids of every comment on the path, root first (the last one is the comment itself)
+    public static List<Long> ids(String path) {
+        List<Long> ids = new ArrayList<>();
+        int segmentLength = SEGMENT_WIDTH + 1;
+        for (int start = 0; start + SEGMENT_WIDTH <= path.length(); start += segmentLength) {
+            long value = Long.parseLong(path.substring(start, start + SEGMENT_WIDTH));
+            ids.add(start == 0 ? MAX_ID - value : value);
+        }
+        return ids;
+    }
+
+    private static String segment(long value) {
+        if (value < 0 || value > MAX_ID) {
+            throw new IllegalArgumentException("Comment id out of path range: " + value);
+        }
+        String digits = Long.toString(value);
+        return "0".repeat(SEGMENT_WIDTH - digits.length()) + digits + SEPARATOR;
+    }
+}
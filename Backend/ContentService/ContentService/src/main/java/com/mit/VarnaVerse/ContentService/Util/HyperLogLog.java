@@ -0,0 +1,109 @@
+package com.mit.VarnaVerse.ContentService.Util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Fixed-size HyperLogLog cardinality sketch (precision 10: 1024 one-byte registers,
+ * ~3.3% standard error). Sketches merge by register-wise max, so partial sketches
+ * from different flushes or instances combine without double counting.
+ */
+public class HyperLogLog {
+
+    public static final int PRECISION = 10;
+    public static final int REGISTERS = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTERS];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != REGISTERS) {
+            return new HyperLogLog();
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    public synchronized byte[] toBytes() {
+        return registers.clone();
+    }
+
+    public void offer(String value) {
+        offerHash(hash64(value));
+    }
+
+    public synchronized void offerHash(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        long remaining = hash << PRECISION;
+        int rank = remaining == 0 ? 64 - PRECISION + 1 : Long.numberOfLeadingZeros(remaining) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public synchronized void merge(HyperLogLog other) {
+        byte[] theirs = other.toBytes();
+        for (int i = 0; i < REGISTERS; i++) {
+            if (theirs[i] > registers[i]) {
+                registers[i] = theirs[i];
+            }
+        }
+    }
+
+    // Copy of the current registers, clearing this sketch in the same atomic step
+    public synchronized HyperLogLog snapshotAndReset() {
+        HyperLogLog snapshot = new HyperLogLog(registers.clone());
+        Arrays.fill(registers, (byte) 0);
+        return snapshot;
+    }
+
+    public synchronized boolean isEmpty() {
+        for (byte register : registers) {
+            if (register != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        // Small-range correction (linear counting) while many registers are still empty
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    // FNV-1a over UTF-8 bytes followed by the murmur3 fmix64 finalizer for good high-bit spread
+    public static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
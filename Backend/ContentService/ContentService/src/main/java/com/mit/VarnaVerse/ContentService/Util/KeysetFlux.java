@@ -0,0 +1,36 @@
+package com.mit.VarnaVerse.ContentService.Util;
+
+import java.util.List;
+import java.util.function.Function;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * A keyset-paginated query as one demand-driven Flux. fetch(null) returns the first page,
+ * fetch(cursor) the page after cursor, and nextCursor(page) is null once the last page is in.
+ *
+ * Pages are fetched on the given scheduler one at a time, and the next one only when the
+ * subscriber has asked for more elements: a slow reader stops the queries instead of having
+ * rows buffered for it, and no connection or cursor is held between pages.
+ */
+public final class KeysetFlux {
+
+    private KeysetFlux() {
+    }
+
+    public static <T, C> Flux<T> pages(Function<C, List<T>> fetch, Function<List<T>, C> nextCursor, Scheduler scheduler) {
+        return page(fetch, null, scheduler)
+                .expand(page -> {
+                    C cursor = page.isEmpty() ? null : nextCursor.apply(page);
+                    return cursor != null ? page(fetch, cursor, scheduler) : Mono.empty();
+                })
+                // Prefetch of one page: the following page is requested only once this one is drained
+                .flatMapIterable(Function.identity(), 1);
+    }
+
+    private static <T, C> Mono<List<T>> page(Function<C, List<T>> fetch, C cursor, Scheduler scheduler) {
+        return Mono.fromCallable(() -> fetch.apply(cursor)).subscribeOn(scheduler);
+    }
+}
@@ -0,0 +1,260 @@
+package com.mit.VarnaVerse.ContentService.Util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Compressed set of unsigned 32-bit ints in the Roaring layout: values are grouped by their
+ * high 16 bits, and each group stores its low 16 bits either as a sorted char[] (up to 4096
+ * values, 2 bytes each) or as a 65536-bit long[] bitmap (8 KB, once denser than that). A set
+ * of a few hundred likers is a few hundred bytes; a post liked by most users costs ~1 bit each.
+ *
+ * Thread-safe; every operation holds the bitmap's monitor.
+ */
+public class RoaringBitmap {
+
+    // Above this many values an array container is larger than a bitmap container
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private static final byte ARRAY = 0;
+    private static final byte BITMAP = 1;
+
+    // Sorted high 16 bits, parallel to containers (char[] or long[])
+    private char[] keys = new char[0];
+    private Object[] containers = new Object[0];
+    // Value count per container: an array container's fill level, a bitmap container's popcount
+    private int[] cardinalities = new int[0];
+    private int groups;
+
+    // Values outside [0, 2^32) do not fit
+    public static boolean fits(long value) {
+        return value >= 0 && value <= 0xFFFF_FFFFL;
+    }
+
+    // ---------------------- UPDATES ----------------------
+    // True if the value was not present before
+    public synchronized boolean add(long value) {
+        if (!fits(value)) {
+            throw new IllegalArgumentException("Value out of the unsigned 32-bit range: " + value);
+        }
+        char high = high(value);
+        char low = low(value);
+        int index = Arrays.binarySearch(keys, 0, groups, high);
+        if (index < 0) {
+            index = -index - 1;
+            insertGroup(index, high, new char[4]);
+        }
+        if (containers[index] instanceof char[] array) {
+            int count = cardinalities[index];
+            int position = Arrays.binarySearch(array, 0, count, low);
+            if (position >= 0) {
+                return false;
+            }
+            if (count == ARRAY_MAX) {
+                long[] bitmap = toBitmap(array, count);
+                bitmap[low >>> 6] |= 1L << low;
+                containers[index] = bitmap;
+            } else {
+                position = -position - 1;
+                if (count == array.length) {
+                    array = Arrays.copyOf(array, Math.min(ARRAY_MAX, count * 2));
+                    containers[index] = array;
+                }
+                System.arraycopy(array, position, array, position + 1, count - position);
+                array[position] = low;
+            }
+        } else {
+            long[] bitmap = (long[]) containers[index];
+            long before = bitmap[low >>> 6];
+            long after = before | (1L << low);
+            if (before == after) {
+                return false;
+            }
+            bitmap[low >>> 6] = after;
+        }
+        cardinalities[index]++;
+        return true;
+    }
+
+    // True if the value was present
+    public synchronized boolean remove(long value) {
+        if (!fits(value)) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, groups, high(value));
+        if (index < 0) {
+            return false;
+        }
+        char low = low(value);
+        int count = cardinalities[index];
+        if (containers[index] instanceof char[] array) {
+            int position = Arrays.binarySearch(array, 0, count, low);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(array, position + 1, array, position, count - position - 1);
+        } else {
+            long[] bitmap = (long[]) containers[index];
+            long before = bitmap[low >>> 6];
+            long after = before & ~(1L << low);
+            if (before == after) {
+                return false;
+            }
+            bitmap[low >>> 6] = after;
+            if (count - 1 == ARRAY_MAX) {
+                containers[index] = toArray(bitmap, ARRAY_MAX);
+            }
+        }
+        if (--cardinalities[index] == 0) {
+            removeGroup(index);
+        }
+        return true;
+    }
+
+    // ---------------------- QUERIES ----------------------
+    public synchronized boolean contains(long value) {
+        if (!fits(value)) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, groups, high(value));
+        if (index < 0) {
+            return false;
+        }
+        char low = low(value);
+        if (containers[index] instanceof char[] array) {
+            return Arrays.binarySearch(array, 0, cardinalities[index], low) >= 0;
+        }
+        return (((long[]) containers[index])[low >>> 6] & (1L << low)) != 0;
+    }
+
+    public synchronized long cardinality() {
+        long total = 0;
+        for (int i = 0; i < groups; i++) {
+            total += cardinalities[i];
+        }
+        return total;
+    }
+
+    // Approximate heap footprint, for byte-bounded caches
+    public synchronized long sizeInBytes() {
+        long bytes = 64 + keys.length * 2L + containers.length * 8L + cardinalities.length * 4L;
+        for (int i = 0; i < groups; i++) {
+            bytes += 16 + (containers[i] instanceof char[] array ? array.length * 2L : BITMAP_WORDS * 8L);
+        }
+        return bytes;
+    }
+
+    // ---------------------- SERIALIZATION ----------------------
+    // groups, then per group: key, kind, cardinality and the array values or bitmap words
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeInt(groups);
+        for (int i = 0; i < groups; i++) {
+            out.writeChar(keys[i]);
+            int count = cardinalities[i];
+            if (containers[i] instanceof char[] array) {
+                out.writeByte(ARRAY);
+                out.writeInt(count);
+                for (int j = 0; j < count; j++) {
+                    out.writeChar(array[j]);
+                }
+            } else {
+                out.writeByte(BITMAP);
+                out.writeInt(count);
+                for (long word : (long[]) containers[i]) {
+                    out.writeLong(word);
+                }
+            }
+        }
+    }
+
+    public static RoaringBitmap readFrom(DataInput in) throws IOException {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        int groups = in.readInt();
+        if (groups < 0 || groups > 1 << 16) {
+            throw new IOException("Corrupt bitmap: " + groups + " groups");
+        }
+        bitmap.keys = new char[groups];
+        bitmap.containers = new Object[groups];
+        bitmap.cardinalities = new int[groups];
+        for (int i = 0; i < groups; i++) {
+            bitmap.keys[i] = in.readChar();
+            byte kind = in.readByte();
+            int count = in.readInt();
+            if (kind == ARRAY && count > 0 && count <= ARRAY_MAX) {
+                char[] array = new char[count];
+                for (int j = 0; j < count; j++) {
+                    array[j] = in.readChar();
+                }
+                bitmap.containers[i] = array;
+            } else if (kind == BITMAP && count > ARRAY_MAX) {
+                long[] words = new long[BITMAP_WORDS];
+                for (int j = 0; j < BITMAP_WORDS; j++) {
+                    words[j] = in.readLong();
+                }
+                bitmap.containers[i] = words;
+            } else {
+                throw new IOException("Corrupt bitmap container (kind " + kind + ", " + count + " values)");
+            }
+            bitmap.cardinalities[i] = count;
+        }
+        bitmap.groups = groups;
+        return bitmap;
+    }
+
+    // ---------------------- CONTAINERS ----------------------
+    private void insertGroup(int index, char key, Object container) {
+        if (groups == keys.length) {
+            int capacity = Math.max(4, groups * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, groups - index);
+        System.arraycopy(containers, index, containers, index + 1, groups - index);
+        System.arraycopy(cardinalities, index, cardinalities, index + 1, groups - index);
+        keys[index] = key;
+        containers[index] = container;
+        cardinalities[index] = 0;
+        groups++;
+    }
+
+    private void removeGroup(int index) {
+        System.arraycopy(keys, index + 1, keys, index, groups - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, groups - index - 1);
+        System.arraycopy(cardinalities, index + 1, cardinalities, index, groups - index - 1);
+        groups--;
+        containers[groups] = null;
+    }
+
+    private static long[] toBitmap(char[] array, int count) {
+        long[] bitmap = new long[BITMAP_WORDS];
+        for (int i = 0; i < count; i++) {
+            bitmap[array[i] >>> 6] |= 1L << array[i];
+        }
+        return bitmap;
+    }
+
+    private static char[] toArray(long[] bitmap, int count) {
+        char[] array = new char[count];
+        int out = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long bits = bitmap[word];
+            while (bits != 0) {
+                array[out++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return array;
+    }
+
+    private static char high(long value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char low(long value) {
+        return (char) value;
+    }
+}
@@ -0,0 +1,18 @@
+-- Row version behind the ETag / Last-Modified of GET /posts/{id}, on an existing MySQL database.
+-- ddl-auto adds the column on fresh schemas; the prod profile (ddl-auto=none) needs this once.
+-- Posts left with NULL are still served, just never answered with 304 until their next update.
+-- Safe to re-run: the column and the index are looked up in information_schema first (MySQL 8 has
+-- neither ADD COLUMN IF NOT EXISTS nor CREATE INDEX IF NOT EXISTS), and the backfill only touches NULLs.
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'posts' AND COLUMN_NAME = 'modified_at') = 0,
+    'ALTER TABLE posts ADD COLUMN modified_at DATETIME(6) NULL', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+UPDATE posts SET modified_at = COALESCE(updated_at, created_at) WHERE modified_at IS NULL;
+
+-- GET /posts/{id}/comments versions with COUNT/MAX(comment_id)/MAX(updated_at) per post
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'comments' AND INDEX_NAME = 'idx_comments_post_updated') = 0,
+    'CREATE INDEX idx_comments_post_updated ON comments (post_id, updated_at)', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
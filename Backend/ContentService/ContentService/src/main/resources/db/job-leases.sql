@@ -0,0 +1,10 @@
+-- Leases of cluster-wide scheduled jobs for an existing MySQL database (the prod profile runs with ddl-auto=none).
+-- Rows are created by the first instance that schedules the job; expiry is compared against the database clock.
+
+CREATE TABLE IF NOT EXISTS job_leases (
+    job_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    owner VARCHAR(128) NULL,
+    fencing_token BIGINT NOT NULL,
+    acquired_at DATETIME(6) NULL,
+    expires_at DATETIME(6) NULL
+);
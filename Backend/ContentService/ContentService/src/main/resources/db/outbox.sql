@@ -0,0 +1,12 @@
+-- Transactional outbox for an existing MySQL database (the prod profile runs with ddl-auto=none).
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL UNIQUE,
+    event_type VARCHAR(64) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    envelope TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    published_at DATETIME(6) NULL,
+    INDEX idx_outbox_published_id (published_at, id)
+);
@@ -0,0 +1,10 @@
+-- Write-behind view counters for an existing MySQL database (the prod profile runs with ddl-auto=none).
+-- viewer_sketch holds the 1024 HyperLogLog registers that unique_viewers is estimated from.
+
+CREATE TABLE IF NOT EXISTS post_view_stats (
+    post_id BIGINT NOT NULL PRIMARY KEY,
+    view_count BIGINT NOT NULL,
+    unique_viewers BIGINT NOT NULL,
+    viewer_sketch VARBINARY(1024) NOT NULL,
+    updated_at DATETIME(6) NULL
+);
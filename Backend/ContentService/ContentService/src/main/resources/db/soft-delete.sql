@@ -0,0 +1,34 @@
+-- Soft delete for posts on an existing MySQL database.
+-- Fresh schemas get the column and indexes from ddl-auto; the prod profile (ddl-auto=none)
+-- needs this script before deploying. It can be run again: MySQL 8 has no ADD COLUMN or
+-- CREATE INDEX ... IF NOT EXISTS, so each one is checked in information_schema first.
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'posts' AND COLUMN_NAME = 'deleted_at') = 0,
+    'ALTER TABLE posts ADD COLUMN deleted_at DATETIME(6) NULL', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'posts' AND INDEX_NAME = 'idx_posts_deleted_at') = 0,
+    'CREATE INDEX idx_posts_deleted_at ON posts (deleted_at)', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'posts' AND INDEX_NAME = 'idx_posts_user_deleted') = 0,
+    'CREATE INDEX idx_posts_user_deleted ON posts (user_id, deleted_at)', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- Cursor over UserService's deleted-user feed (GET /users/deleted): position is the user id,
+-- position_at its deleted_at
+CREATE TABLE IF NOT EXISTS sync_checkpoints (
+    name VARCHAR(64) NOT NULL PRIMARY KEY,
+    position BIGINT NOT NULL,
+    position_at DATETIME(6) NULL,
+    updated_at DATETIME(6) NULL
+);
+
+-- Tables created by an earlier version of this script have no position_at (the feed was paged by id)
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'sync_checkpoints' AND COLUMN_NAME = 'position_at') = 0,
+    'ALTER TABLE sync_checkpoints ADD COLUMN position_at DATETIME(6) NULL', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
@@ -0,0 +1,53 @@
+-- Threaded comments (materialized path) for an existing MySQL database.
+-- Fresh schemas get the columns and indexes from ddl-auto; the prod profile (ddl-auto=none)
+-- and any database that already holds comments need this script, before deploying.
+-- Safe to re-run: MySQL 8 has no ADD COLUMN / CREATE INDEX IF NOT EXISTS, so each change is
+-- looked up in information_schema first and skipped (DO 0) when already present.
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'comments' AND COLUMN_NAME = 'parent_id') = 0,
+    'ALTER TABLE comments ADD COLUMN parent_id BIGINT NULL', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'comments' AND COLUMN_NAME = 'root_id') = 0,
+    'ALTER TABLE comments ADD COLUMN root_id BIGINT NULL', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'comments' AND COLUMN_NAME = 'depth') = 0,
+    'ALTER TABLE comments ADD COLUMN depth INT NOT NULL DEFAULT 0', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'comments' AND COLUMN_NAME = 'path') = 0,
+    'ALTER TABLE comments ADD COLUMN path VARCHAR(255) NULL', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'comments' AND COLUMN_NAME = 'reply_count') = 0,
+    'ALTER TABLE comments ADD COLUMN reply_count INT NOT NULL DEFAULT 0', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- Real timestamps instead of dates (existing rows keep midnight); a no-op once applied
+ALTER TABLE comments
+    MODIFY created_at DATETIME(6) NOT NULL,
+    MODIFY updated_at DATETIME(6) NOT NULL;
+
+-- Existing comments become top-level threads; root segment = 9999999999 - id (newest first)
+UPDATE comments
+SET root_id = comment_id,
+    depth = 0,
+    reply_count = 0,
+    path = CONCAT(LPAD(9999999999 - comment_id, 10, '0'), '/')
+WHERE path IS NULL;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'comments' AND INDEX_NAME = 'idx_comments_post_path') = 0,
+    'CREATE INDEX idx_comments_post_path ON comments (post_id, path)', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'comments' AND INDEX_NAME = 'idx_comments_post_depth_path') = 0,
+    'CREATE INDEX idx_comments_post_depth_path ON comments (post_id, depth, path)', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
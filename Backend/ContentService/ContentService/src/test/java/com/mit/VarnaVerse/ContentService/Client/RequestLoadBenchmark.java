@@ -0,0 +1,134 @@
+package com.mit.VarnaVerse.ContentService.Client;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Closed-loop HTTP load generator for a running ContentService: loadtest.concurrency callers
+ * each send their next request as soon as the previous one returns. Test sources only; runs with
+ * the "loadtest" profile on the test classpath (spring-boot:test-run) and then exits:
+ *   scripts/virtual-threads-loadtest.sh <platform|virtual> [requests] [concurrency]
+ * Results are logged and appended to loadtest.output (CSV).
+ */
+@Component
+@Profile("loadtest")
+public class RequestLoadBenchmark implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestLoadBenchmark.class);
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${loadtest.url:http://localhost:8082/posts/1/liked}")
+    private String url;
+
+    @Value("${loadtest.token:}")
+    private String token;
+
+    // Label for the CSV row, e.g. platform or virtual
+    @Value("${loadtest.mode:unknown}")
+    private String mode;
+
+    @Value("${loadtest.requests:5000}")
+    private int requests;
+
+    @Value("${loadtest.warmup:500}")
+    private int warmup;
+
+    @Value("${loadtest.concurrency:400}")
+    private int concurrency;
+
+    @Value("${loadtest.timeout-ms:10000}")
+    private long timeoutMillis;
+
+    @Value("${loadtest.output:target/loadtest.csv}")
+    private String output;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofMillis(timeoutMillis)).GET();
+        if (!token.isEmpty()) {
+            request.header("Authorization", token.startsWith("Bearer ") ? token : "Bearer " + token);
+        }
+        HttpRequest get = request.build();
+
+        run(client, get, warmup, new long[warmup]);
+
+        long[] latencies = new long[requests];
+        long started = System.nanoTime();
+        int errors = run(client, get, requests, latencies);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        Arrays.sort(latencies);
+        double p50 = latencies[(int) (requests * 0.50)] / 1e6;
+        double p99 = latencies[Math.min(requests - 1, (int) (requests * 0.99))] / 1e6;
+        double throughput = requests / elapsedSeconds;
+
+        logger.info("{}: {} requests x{} callers, {} errors, {} req/s, p50 {} ms, p99 {} ms", mode, requests,
+                concurrency, errors, String.format("%.0f", throughput), String.format("%.1f", p50), String.format("%.1f", p99));
+
+        Path csv = Path.of(output);
+        if (!Files.exists(csv)) {
+            Files.writeString(csv, "mode,url,requests,concurrency,errors,throughput_rps,p50_ms,p99_ms\n");
+        }
+        Files.write(csv, List.of(String.format("%s,%s,%d,%d,%d,%.0f,%.1f,%.1f", mode, url, requests, concurrency,
+                errors, throughput, p50, p99)), StandardOpenOption.APPEND);
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    // Non-2xx responses and timeouts count as errors; their latency is still recorded
+    private int run(HttpClient client, HttpRequest request, int count, long[] latencies) throws InterruptedException {
+        ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        for (int t = 0; t < concurrency; t++) {
+            callers.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < count) {
+                    long start = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status >= 300) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - start;
+                }
+            });
+        }
+        callers.shutdown();
+        callers.awaitTermination(30, TimeUnit.MINUTES);
+        return errors.get();
+    }
+}
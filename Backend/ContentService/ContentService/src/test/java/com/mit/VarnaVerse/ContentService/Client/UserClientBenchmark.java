@@ -0,0 +1,147 @@
+package com.mit.VarnaVerse.ContentService.Client;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.mit.VarnaVerse.grpc.user.v1.UserDirectoryGrpc;
+
+/**
+ * Feign (JSON over HTTP/1.1) vs gRPC (protobuf over HTTP/2) for the two UserClient calls.
+ * Test sources only, so it never ships in the service jar. Runs with the "bench" profile on the
+ * test classpath (spring-boot:test-run), against a running UserService, then exits:
+ *   scripts/user-client-benchmark.sh [iterations] [concurrency] [batch-size]
+ * Results are logged and appended to bench.output (CSV).
+ */
+@Component
+@Profile("bench")
+public class UserClientBenchmark implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserClientBenchmark.class);
+
+    @Autowired
+    @Qualifier("feignUserClient")
+    private UserClient feignUserClient;
+
+    @Autowired
+    private UserDirectoryGrpc.UserDirectoryBlockingStub userDirectoryStub;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${content.user-service.grpc.deadline-ms:500}")
+    private long deadlineMillis;
+
+    @Value("${bench.iterations:5000}")
+    private int iterations;
+
+    @Value("${bench.warmup:1000}")
+    private int warmup;
+
+    @Value("${bench.concurrency:16}")
+    private int concurrency;
+
+    @Value("${bench.batch-size:50}")
+    private int batchSize;
+
+    // Optional bearer token; enables the getCurrentUser (identity resolution) scenario
+    @Value("${bench.token:}")
+    private String token;
+
+    @Value("${bench.output:target/user-client-benchmark.csv}")
+    private String output;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        UserClient grpcUserClient = new GrpcUserClient(userDirectoryStub, deadlineMillis);
+        List<Long> ids = new ArrayList<>(batchSize);
+        for (long id = 1; id <= batchSize; id++) {
+            ids.add(id);
+        }
+
+        List<String> rows = new ArrayList<>();
+        rows.add(measure("feign", "getUsersByIds", client -> client.getUsersByIds(ids), feignUserClient));
+        rows.add(measure("grpc", "getUsersByIds", client -> client.getUsersByIds(ids), grpcUserClient));
+        if (!token.isEmpty()) {
+            String bearer = token.startsWith("Bearer ") ? token : "Bearer " + token;
+            rows.add(measure("feign", "getCurrentUser", client -> client.getCurrentUser(bearer), feignUserClient));
+            rows.add(measure("grpc", "getCurrentUser", client -> client.getCurrentUser(bearer), grpcUserClient));
+        }
+
+        Path csv = Path.of(output);
+        if (!Files.exists(csv)) {
+            Files.writeString(csv, "transport,call,iterations,concurrency,batch_size,errors,throughput_rps,mean_ms,p50_ms,p99_ms\n");
+        }
+        Files.write(csv, rows, StandardOpenOption.APPEND);
+        logger.info("Benchmark results appended to {}", csv.toAbsolutePath());
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private String measure(String transport, String call, Consumer<UserClient> operation, UserClient client)
+            throws InterruptedException {
+        run(operation, client, warmup, new long[warmup]);
+
+        long[] latencies = new long[iterations];
+        long started = System.nanoTime();
+        int errors = run(operation, client, iterations, latencies);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        Arrays.sort(latencies);
+        double mean = Arrays.stream(latencies).average().orElse(0) / 1e6;
+        double p50 = latencies[(int) (iterations * 0.50)] / 1e6;
+        double p99 = latencies[Math.min(iterations - 1, (int) (iterations * 0.99))] / 1e6;
+        double throughput = iterations / elapsedSeconds;
+
+        logger.info("{} {}: {} calls x{} threads, {} errors, {} req/s, mean {} ms, p50 {} ms, p99 {} ms",
+                transport, call, iterations, concurrency, errors, String.format("%.0f", throughput),
+                String.format("%.3f", mean), String.format("%.3f", p50), String.format("%.3f", p99));
+        return String.format("%s,%s,%d,%d,%d,%d,%.0f,%.3f,%.3f,%.3f", transport, call, iterations, concurrency,
+                batchSize, errors, throughput, mean, p50, p99);
+    }
+
+    // Runs count calls on concurrency threads, recording each call's latency in nanoseconds
+    private int run(Consumer<UserClient> operation, UserClient client, int count, long[] latencies)
+            throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        for (int t = 0; t < concurrency; t++) {
+            pool.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < count) {
+                    long start = System.nanoTime();
+                    try {
+                        operation.accept(client);
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - start;
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.MINUTES);
+        return errors.get();
+    }
+}
@@ -0,0 +1,71 @@
+package com.mit.VarnaVerse.ContentService.Client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mit.VarnaVerse.ContentService.Payloads.UserProfileDTO;
+
+class UserProfileCacheTest {
+
+	private final List<List<Long>> calls = new ArrayList<>();
+
+	private UserProfileCache cache;
+
+	// UserService answers every id it is asked for
+	@BeforeEach
+	void cacheOverAnsweringClient() {
+		UserClient userClient = mock(UserClient.class);
+		when(userClient.getUsersByIds(anyList())).thenAnswer(invocation -> {
+			List<Long> ids = List.copyOf(invocation.getArgument(0));
+			calls.add(ids);
+			return ids.stream().map(id -> new UserProfileDTO(id, "user" + id, null)).toList();
+		});
+		cache = new UserProfileCache();
+		ReflectionTestUtils.setField(cache, "userClient", userClient);
+		ReflectionTestUtils.setField(cache, "ttlMillis", 60_000L);
+		ReflectionTestUtils.setField(cache, "maxEntries", 10_000);
+	}
+
+	@Test
+	void missesGoOutInBatchesUserServiceAccepts() {
+		Set<Long> ids = ids(1, 1_201);
+
+		assertEquals(1_201, cache.getProfiles(ids).size());
+		assertEquals(List.of(500, 500, 201), calls.stream().map(List::size).toList());
+
+		calls.clear();
+		assertEquals(1_201, cache.getProfiles(ids).size());
+		assertTrue(calls.isEmpty());
+	}
+
+	@Test
+	void overflowDropsTheLeastRecentlyUsedAuthorOnly() {
+		ReflectionTestUtils.setField(cache, "maxEntries", 3);
+		cache.getProfiles(ids(1, 3));
+		cache.getProfiles(Set.of(1L)); // 2 is now the least recently used
+		cache.getProfiles(Set.of(4L));
+
+		calls.clear();
+		cache.getProfiles(ids(1, 4));
+		assertEquals(List.of(List.of(2L)), calls);
+	}
+
+	private static Set<Long> ids(long from, long to) {
+		Set<Long> ids = new LinkedHashSet<>();
+		LongStream.rangeClosed(from, to).forEach(ids::add);
+		return ids;
+	}
+}
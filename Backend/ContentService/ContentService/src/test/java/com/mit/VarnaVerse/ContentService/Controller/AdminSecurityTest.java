@@ -0,0 +1,72 @@
+package com.mit.VarnaVerse.ContentService.Controller;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.mit.VarnaVerse.ContentService.Client.UserClient;
+import com.mit.VarnaVerse.ContentService.Payloads.UserDTO;
+
+// The /admin/** role check lives in SecurityConfig; UserService is mocked, the smoke profile
+// keeps the rest of the context on H2
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("smoke")
+class AdminSecurityTest {
+
+	private static final String RECORDS = "/admin/engagement-log/records";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private UserClient userClient;
+
+	@Test
+	void missingTokenIsUnauthorized() throws Exception {
+		mockMvc.perform(get(RECORDS)).andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void tokenRejectedByUserServiceIsUnauthorized() throws Exception {
+		when(userClient.getCurrentUser(anyString())).thenThrow(new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+		mockMvc.perform(get(RECORDS).header("Authorization", "Bearer expired")).andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void nonAdminIsForbidden() throws Exception {
+		when(userClient.getCurrentUser(anyString())).thenReturn(user("USER"));
+		mockMvc.perform(get(RECORDS).header("Authorization", "Bearer user")).andExpect(status().isForbidden());
+	}
+
+	@Test
+	void adminIsLetThrough() throws Exception {
+		when(userClient.getCurrentUser(anyString())).thenReturn(user("admin"));
+		mockMvc.perform(get(RECORDS).header("Authorization", "Bearer admin")).andExpect(status().isOk());
+	}
+
+	@Test
+	void userServiceDownIsUnavailable() throws Exception {
+		when(userClient.getCurrentUser(anyString())).thenThrow(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE));
+		mockMvc.perform(get(RECORDS).header("Authorization", "Bearer admin")).andExpect(status().isServiceUnavailable());
+	}
+
+	private static UserDTO user(String role) {
+		UserDTO user = new UserDTO();
+		user.setId(1L);
+		user.setEmail(role.toLowerCase() + "@example.org");
+		user.setRole(role);
+		return user;
+	}
+}
@@ -0,0 +1,52 @@
+package com.mit.VarnaVerse.ContentService.Repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.mit.VarnaVerse.ContentService.Entity.Post;
+
+// Smoke profile: in-memory H2. The streamed and the buffered /posts/search match the same rows
+@SpringBootTest
+@ActiveProfiles("smoke")
+class PostRepositorySearchTest {
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@BeforeEach
+	void seed() {
+		postRepository.deleteAll();
+		for (String title : new String[] { "50% off", "500 reasons", "snake_case", "snakeXcase", "wow!", "back\\slash" }) {
+			Post post = new Post();
+			post.setUserId(1);
+			post.setTitle(title);
+			post.setContent("");
+			post.setCategory("misc");
+			postRepository.save(post);
+		}
+	}
+
+	@Test
+	void wildcardsInTheQueryAreLiteralInBothSearches() {
+		for (String query : new String[] { "50%", "e_c", "%", "_", "!", "\\", "SNAKE" }) {
+			List<String> buffered = titles(
+					postRepository.findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(query, query));
+			List<String> streamed = titles(postRepository.searchBefore(query, Long.MAX_VALUE, PageRequest.of(0, 100)));
+			assertEquals(buffered, streamed, "query " + query);
+		}
+		assertEquals(List.of("50% off"), titles(postRepository.searchBefore("50%", Long.MAX_VALUE, PageRequest.of(0, 100))));
+	}
+
+	private static List<String> titles(List<Post> posts) {
+		return posts.stream().sorted(Comparator.comparingLong(Post::getPostId)).map(Post::getTitle).toList();
+	}
+}
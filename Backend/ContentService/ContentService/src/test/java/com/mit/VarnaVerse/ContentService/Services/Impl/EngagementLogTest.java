@@ -0,0 +1,145 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mit.VarnaVerse.ContentService.Payloads.EngagementRecord;
+import com.mit.VarnaVerse.ContentService.Payloads.EngagementRecord.Type;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EngagementLogTest {
+
+	@TempDir
+	Path directory;
+
+	private EngagementLog current;
+
+	@AfterEach
+	void closeLog() throws IOException {
+		if (current != null) {
+			current.close();
+		}
+	}
+
+	@Test
+	void reopenStopsAtTheFirstBadChecksumAndNeverResurrectsWhatFollows() throws IOException {
+		EngagementLog log = open(16, 24);
+		for (long user = 1; user <= 5; user++) {
+			log.append(Type.LIKE, 1, user, 1);
+		}
+		log.flush();
+
+		// A torn write in the middle: records 3 and 4 are intact but come after it
+		corrupt(segment(0), 2);
+
+		log = reopen(16, 24);
+		assertEquals(2, log.endOffset());
+		assertEquals(List.of(1L, 2L), users(log.read(0, 100)));
+
+		log.append(Type.LIKE, 1, 9, 1);
+		log.flush();
+		log = reopen(16, 24);
+		assertEquals(3, log.endOffset());
+		assertEquals(List.of(1L, 2L, 9L), users(log.read(0, 100)));
+	}
+
+	@Test
+	void compactionKeepsTheNewestLikeAndRatingPerUserAndEveryComment() throws IOException {
+		// Negative age: every closed segment is old enough
+		EngagementLog log = open(4, -1);
+		log.append(Type.LIKE, 1, 1, 1);       // 0: superseded by 4
+		log.append(Type.UNLIKE, 1, 1, 0);     // 1: superseded by 4
+		log.append(Type.RATE, 1, 1, 3);       // 2: superseded by 5
+		log.append(Type.COMMENT, 1, 1, 100);  // 3
+		log.append(Type.LIKE, 1, 1, 1);       // 4
+		log.append(Type.RATE, 1, 1, 5);       // 5
+		log.append(Type.COMMENT, 1, 1, 101);  // 6
+		log.append(Type.LIKE, 2, 2, 1);       // 7, in the segment being written: never compacted
+		log.flush();
+
+		assertEquals(3, log.compact());
+		assertEquals(0, log.compact());
+		assertEquals(List.of(3L, 4L, 5L, 6L, 7L), offsets(log.read(0, 100)));
+		assertEquals(List.of(3L, 4L), offsets(log.read(1, 2)));
+
+		log = reopen(4, -1);
+		assertEquals(8, log.endOffset());
+		assertEquals(List.of(3L, 4L, 5L, 6L, 7L), offsets(log.read(0, 100)));
+		log.append(Type.LIKE, 3, 3, 1);
+		log.flush();
+		assertEquals(List.of(7L, 8L), offsets(log.read(7, 100)));
+	}
+
+	@Test
+	void secondInstanceOnTheSameDirectoryFailsToOpen() throws IOException {
+		open(16, 24);
+		assertThrows(IllegalStateException.class, () -> configured(16, 24).open());
+
+		// No directory configured at all
+		EngagementLog unset = configured(16, 24);
+		ReflectionTestUtils.setField(unset, "directory", "");
+		assertThrows(IllegalStateException.class, unset::open);
+
+		// Free again once the first one is closed
+		reopen(16, 24);
+	}
+
+	private EngagementLog open(int segmentRecords, long compactAfterHours) throws IOException {
+		EngagementLog log = configured(segmentRecords, compactAfterHours);
+		log.open();
+		current = log;
+		return log;
+	}
+
+	// Closes the open one first, as a restart would
+	private EngagementLog reopen(int segmentRecords, long compactAfterHours) throws IOException {
+		current.close();
+		return open(segmentRecords, compactAfterHours);
+	}
+
+	private EngagementLog configured(int segmentRecords, long compactAfterHours) {
+		EngagementLog log = new EngagementLog();
+		ReflectionTestUtils.setField(log, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(log, "enabled", true);
+		ReflectionTestUtils.setField(log, "directory", directory.toString());
+		ReflectionTestUtils.setField(log, "segmentRecords", segmentRecords);
+		ReflectionTestUtils.setField(log, "compactAfterHours", compactAfterHours);
+		return log;
+	}
+
+	private Path segment(long baseOffset) {
+		return directory.resolve(String.format("%020d.seg", baseOffset));
+	}
+
+	// Flips one byte of the record's postId, so only its checksum gives it away
+	private static void corrupt(Path segment, int index) throws IOException {
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer value = ByteBuffer.allocate(1);
+			long position = (long) index * EngagementLog.RECORD_BYTES + 16;
+			channel.read(value, position);
+			value.put(0, (byte) (value.get(0) ^ 0x01)).rewind();
+			channel.write(value, position);
+		}
+	}
+
+	private static List<Long> users(List<EngagementRecord> records) {
+		return records.stream().map(EngagementRecord::userId).toList();
+	}
+
+	private static List<Long> offsets(List<EngagementRecord> records) {
+		return records.stream().map(EngagementRecord::offset).toList();
+	}
+}
@@ -0,0 +1,60 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LikeIndexTest {
+
+	private static final long POST = 1;
+	private static final long USER = 7;
+
+	private LikeIndex index;
+
+	// The mocked JdbcTemplate returns no rows, so the post loads as an empty bitmap
+	@BeforeEach
+	void cachedEmptyPost() {
+		index = new LikeIndex();
+		ReflectionTestUtils.setField(index, "jdbcTemplate", mock(JdbcTemplate.class));
+		ReflectionTestUtils.setField(index, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(index, "enabled", true);
+		ReflectionTestUtils.setField(index, "maxBytes", 1L << 20);
+		index.registerMetrics();
+		assertEquals(Boolean.FALSE, index.hasLiked(POST, USER));
+	}
+
+	@Test
+	void broadcastCopyOfAnOlderToggleIsSkipped() {
+		index.set(POST, USER, true, 5);
+		index.set(POST, USER, false, 5);
+
+		// This instance's own broadcasts arrive after both local toggles
+		index.applyRemote(POST, USER, true, 5);
+		assertEquals(Boolean.FALSE, index.hasLiked(POST, USER));
+		index.applyRemote(POST, USER, false, 5);
+		assertEquals(Boolean.FALSE, index.hasLiked(POST, USER));
+	}
+
+	@Test
+	void newerRemoteChangeWinsOverOlderOnes() {
+		index.applyRemote(POST, USER, true, 9);
+		index.applyRemote(POST, USER, false, 5); // an earlier like/unlike pair, delivered late
+		assertEquals(Boolean.TRUE, index.hasLiked(POST, USER));
+
+		index.applyRemote(POST, USER, false, 9);
+		assertEquals(Boolean.FALSE, index.hasLiked(POST, USER));
+	}
+
+	@Test
+	void unlikeOrdersAfterTheLikeItRemoves() {
+		assertTrue(LikeIndex.version(5, false) > LikeIndex.version(5, true));
+		assertTrue(LikeIndex.version(9, true) > LikeIndex.version(5, false));
+	}
+}
@@ -0,0 +1,175 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mit.VarnaVerse.ContentService.Entity.Post;
+import com.mit.VarnaVerse.ContentService.Services.Impl.PostColumnStore.Counters;
+import com.mit.VarnaVerse.ContentService.Services.Impl.PostColumnStore.Filter;
+import com.mit.VarnaVerse.ContentService.Services.Impl.PostColumnStore.Rank;
+
+class PostColumnStoreTest {
+
+	private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+	private PostColumnStore store;
+
+	// No transaction, so every change applies at once; the initial load is skipped
+	@BeforeEach
+	void emptyStore() {
+		store = new PostColumnStore();
+		ReflectionTestUtils.setField(store, "enabled", true);
+		ReflectionTestUtils.setField(store, "pendingWhileLoading", null);
+	}
+
+	@Test
+	void topKReturnsBestFirstAndBreaksTiesTowardsNewer() {
+		put(1, 10, "movies", DAY, 5);
+		put(2, 10, "movies", DAY, 9);
+		put(3, 11, "books", DAY, 5);
+		put(4, 11, "movies", DAY, 1);
+
+		assertArrayEquals(new long[] { 2, 3, 1 }, store.topK(Rank.LIKES, Filter.ALL, 3));
+		assertArrayEquals(new long[] { 2, 1, 4 }, store.topK(Rank.LIKES, Filter.category("movies"), 10));
+		assertArrayEquals(new long[0], store.topK(Rank.LIKES, Filter.category("music"), 10));
+		assertArrayEquals(new long[0], store.topK(Rank.LIKES, Filter.ALL, 0));
+	}
+
+	@Test
+	void heapAgreesWithAFullSort() {
+		Random random = new Random(46);
+		int posts = 5_000;
+		long[] likes = new long[posts + 1];
+		for (int id = 1; id <= posts; id++) {
+			likes[id] = random.nextInt(200);
+			put(id, id % 7, "c" + id % 3, DAY, likes[id]);
+		}
+
+		for (int k : new int[] { 1, 10, 100, 5_000 }) {
+			long[] expected = IntStream.rangeClosed(1, posts).boxed()
+					// Most likes first, the newer post first on a tie
+					.sorted(Comparator.<Integer>comparingLong(id -> likes[id]).thenComparingInt(id -> id).reversed())
+					.limit(k)
+					.mapToLong(Integer::longValue)
+					.toArray();
+			assertArrayEquals(expected, store.topK(Rank.LIKES, Filter.ALL, k), "k=" + k);
+		}
+	}
+
+	@Test
+	void ratingRanksByAverage() {
+		put(1, 10, "movies", DAY, 0);
+		put(2, 10, "movies", DAY, 0);
+		put(3, 10, "movies", DAY, 0);
+		store.setRating(1, 8, 2);   // 4.0
+		store.setRating(2, 9, 2);   // 4.5
+		store.setRating(3, 5, 1);   // 5.0
+
+		assertArrayEquals(new long[] { 3, 2, 1 }, store.topK(Rank.RATING, Filter.ALL, 3));
+	}
+
+	@Test
+	void newestHonoursAuthorAndDateRange() {
+		put(1, 10, "movies", DAY.minusDays(2), 0);
+		put(2, 11, "movies", DAY.minusDays(1), 0);
+		put(3, 10, "movies", DAY, 0);
+		put(4, 10, "movies", DAY.plusDays(1), 0);
+
+		assertArrayEquals(new long[] { 4, 3, 1 }, store.topK(Rank.NEWEST, Filter.author(10), 10));
+		assertArrayEquals(new long[] { 3, 2 },
+				store.topK(Rank.NEWEST, new Filter(null, null, DAY.minusDays(1), DAY), 10));
+	}
+
+	@Test
+	void removeAuthorDropsEveryPostAcrossTheCompaction() {
+		// 2000 rows, half by author 0: far past the 1/4 tombstone threshold, so removal compacts
+		int posts = 2_000;
+		for (int id = 1; id <= posts; id++) {
+			put(id, id % 2, "movies", DAY, id);
+		}
+
+		store.removeAuthor(0);
+
+		assertEquals(posts / 2, store.liveRows());
+		long[] remaining = store.topK(Rank.NEWEST, Filter.ALL, posts);
+		assertEquals(posts / 2, remaining.length);
+		assertTrue(IntStream.range(0, remaining.length).allMatch(i -> remaining[i] % 2 == 1));
+		assertArrayEquals(new long[0], store.topK(Rank.NEWEST, Filter.author(0), posts));
+	}
+
+	@Test
+	void rowsStayAddressableAfterCompaction() {
+		int posts = 2_000;
+		for (int id = 1; id <= posts; id++) {
+			put(id, 1, "movies", DAY, 0);
+		}
+		for (int id = 1; id <= 600; id++) {
+			store.remove(id);
+		}
+
+		assertEquals(posts - 600, store.liveRows());
+		store.setLikes(1_500, 42);
+		store.setLikes(3, 99); // removed: ignored
+		assertArrayEquals(new long[] { 1_500 }, store.topK(Rank.LIKES, Filter.ALL, 1));
+
+		store.remove(1_500);
+		assertEquals(posts - 601, store.liveRows());
+		assertArrayEquals(new long[] { 2_000 }, store.topK(Rank.LIKES, Filter.ALL, 1));
+	}
+
+	@Test
+	void compareAndSetLeavesCountersARequestMovedAlone() {
+		ReflectionTestUtils.setField(store, "ready", true);
+		put(1, 10, "movies", DAY, 4);
+		put(2, 10, "movies", DAY, 4);
+		store.remove(2);
+
+		Map<Long, Counters> held = store.counters(List.of(1L, 2L, 3L));
+		assertEquals(Map.of(1L, new Counters(4, 0, 0, 0)), held);
+
+		// A like and a comment land between the read and the reconciliation
+		store.setLikes(1, 5);
+		store.addComments(1, 1);
+		store.compareAndSetCounters(1, held.get(1L), new Counters(7, 9, 2, 3));
+
+		assertEquals(new Counters(5, 9, 2, 1), store.counters(List.of(1L)).get(1L));
+	}
+
+	@Test
+	void categoriesPastTheDictionaryLimitStillTrackThePost() {
+		for (int id = 1; id <= Short.MAX_VALUE; id++) {
+			put(id, 10, "c" + id, DAY, 0);
+		}
+		put(40_000, 10, "one-too-many", DAY, 99);
+		put(40_001, 10, "another", DAY, 98);
+
+		assertArrayEquals(new long[] { 40_000, 40_001 }, store.topK(Rank.LIKES, Filter.ALL, 2));
+		assertArrayEquals(new long[] { 1 }, store.topK(Rank.LIKES, Filter.category("c1"), 10));
+		assertTrue(store.covers(Filter.category("c1")));
+		assertFalse(store.covers(Filter.category("one-too-many")));
+		assertTrue(store.covers(Filter.ALL));
+	}
+
+	private void put(long id, long author, String category, LocalDate created, long likes) {
+		Post post = new Post();
+		post.setPostId(id);
+		post.setUserId(author);
+		post.setCategory(category);
+		post.setCreatedAt(created);
+		post.setLikesCount(likes);
+		store.put(post);
+	}
+}
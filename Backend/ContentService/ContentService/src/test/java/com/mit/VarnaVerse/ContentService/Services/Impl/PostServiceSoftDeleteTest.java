@@ -0,0 +1,71 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.mit.VarnaVerse.ContentService.Entity.Post;
+import com.mit.VarnaVerse.ContentService.Exception.ResourceNotFoundException;
+import com.mit.VarnaVerse.ContentService.Payloads.CommentCreateDTO;
+import com.mit.VarnaVerse.ContentService.Repository.PostRepository;
+import com.mit.VarnaVerse.ContentService.Services.PostService;
+
+// Smoke profile: in-memory H2. A soft-deleted post's comments and ratings are still in their
+// tables (the reaper purges them later) but no longer readable through the post
+@SpringBootTest
+@ActiveProfiles("smoke")
+class PostServiceSoftDeleteTest {
+
+	private static final long USER = 7;
+
+	@Autowired
+	private PostService postService;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long postId;
+
+	@BeforeEach
+	void postWithEngagement() {
+		Post post = new Post();
+		post.setUserId(1);
+		post.setTitle("Soft-deleted");
+		post.setContent("content");
+		post.setCategory("movies");
+		postId = postRepository.save(post).getPostId();
+
+		CommentCreateDTO comment = new CommentCreateDTO();
+		comment.setText("first");
+		postService.addComment(postId, USER, comment);
+		postService.ratePost(postId, USER, 4);
+	}
+
+	@Test
+	void engagementReadsStopOnceThePostIsSoftDeleted() {
+		assertEquals(1, postService.getCommentsCount(postId));
+		assertEquals(4, postService.getUserRating(postId, USER));
+
+		jdbcTemplate.update("UPDATE posts SET deleted_at = ? WHERE post_id = ?", LocalDateTime.now(), postId);
+
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE post_id = ?", Long.class, postId));
+		assertThrows(ResourceNotFoundException.class, () -> postService.getCommentsVersion(postId));
+		assertThrows(ResourceNotFoundException.class, () -> postService.getCommentThreads(postId, null, 20, 3));
+		assertThrows(ResourceNotFoundException.class, () -> postService.getCommentsCount(postId));
+		assertThrows(ResourceNotFoundException.class, () -> postService.getLikesCount(postId));
+		assertThrows(ResourceNotFoundException.class, () -> postService.hasUserLikedPost(postId, USER));
+		assertThrows(ResourceNotFoundException.class, () -> postService.getAverageRating(postId));
+		assertThrows(ResourceNotFoundException.class, () -> postService.getUserRating(postId, USER));
+	}
+}
@@ -0,0 +1,57 @@
+package com.mit.VarnaVerse.ContentService.Services.Impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.mit.VarnaVerse.ContentService.Config.SqlStatementBudget;
+import com.mit.VarnaVerse.ContentService.Entity.Post;
+import com.mit.VarnaVerse.ContentService.Payloads.PostResponseDTO;
+import com.mit.VarnaVerse.ContentService.Repository.PostRepository;
+import com.mit.VarnaVerse.ContentService.Services.PostService;
+
+// Smoke profile: in-memory H2. The post list plus one view-stats query, however many posts there
+// are; author names come from UserService (not running here, which the cache tolerates)
+@SpringBootTest
+@ActiveProfiles("smoke")
+class PostServiceStatementBudgetTest {
+
+	private static final int POSTS = 30;
+
+	@Autowired
+	private PostService postService;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@BeforeEach
+	void seed() {
+		postRepository.deleteAll();
+		for (int i = 0; i < POSTS; i++) {
+			Post post = new Post();
+			post.setUserId(1 + i % 5);
+			post.setTitle("Post " + i);
+			post.setContent("content " + i);
+			post.setCategory(i % 2 == 0 ? "movies" : "books");
+			postRepository.save(post);
+		}
+	}
+
+	@Test
+	void allPostsInTwoQueries() {
+		List<PostResponseDTO> posts = SqlStatementBudget.expectAtMost(2, () -> postService.getAllPosts(null, "latest"));
+		assertEquals(POSTS, posts.size());
+	}
+
+	@Test
+	void categoryListingInTwoQueries() {
+		List<PostResponseDTO> posts = SqlStatementBudget.expectAtMost(2, () -> postService.getAllPosts("movies", null));
+		assertEquals(POSTS / 2, posts.size());
+	}
+}
@@ -0,0 +1,65 @@
+package com.mit.VarnaVerse.ContentService.Util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CommentPathsTest {
+
+	@Test
+	void rootAndChildSegments() {
+		String root = CommentPaths.root(42);
+		assertEquals("9999999957/", root);
+		assertEquals("9999999957/0000000057/", CommentPaths.child(root, 57));
+	}
+
+	@Test
+	void newerThreadsSortFirst() {
+		assertTrue(CommentPaths.root(100).compareTo(CommentPaths.root(99)) < 0);
+	}
+
+	@Test
+	void repliesStayOldestFirstAndFollowTheirParent() {
+		String root = CommentPaths.root(10);
+		String first = CommentPaths.child(root, 11);
+		String second = CommentPaths.child(root, 12);
+		String nested = CommentPaths.child(first, 13);
+
+		List<String> paths = new ArrayList<>(List.of(second, nested, root, first));
+		paths.sort(null);
+		// Depth-first thread order: root, first reply, its reply, second reply
+		assertEquals(List.of(root, first, nested, second), paths);
+	}
+
+	@Test
+	void subtreeRangeHoldsDescendantsOnly() {
+		String root = CommentPaths.root(10);
+		String reply = CommentPaths.child(root, 11);
+		String deep = CommentPaths.child(CommentPaths.child(reply, 12), 13);
+		String end = CommentPaths.subtreeEnd(reply);
+
+		assertTrue(reply.compareTo(deep) < 0 && deep.compareTo(end) < 0);
+		String sibling = CommentPaths.child(root, 14);
+		assertTrue(sibling.compareTo(end) > 0);
+		String otherThread = CommentPaths.root(9);
+		assertTrue(otherThread.compareTo(CommentPaths.subtreeEnd(root)) > 0);
+	}
+
+	@Test
+	void idsRecoversTheChainRootFirst() {
+		String path = CommentPaths.child(CommentPaths.child(CommentPaths.root(42), 57), 1_000_000_123L);
+		assertEquals(List.of(42L, 57L, 1_000_000_123L), CommentPaths.ids(path));
+		assertEquals(List.of(7L), CommentPaths.ids(CommentPaths.root(7)));
+	}
+
+	@Test
+	void idsOutsideTheSegmentWidthAreRejected() {
+		assertThrows(IllegalArgumentException.class, () -> CommentPaths.root(10_000_000_000L));
+		assertThrows(IllegalArgumentException.class, () -> CommentPaths.child(CommentPaths.root(1), -1));
+	}
+}
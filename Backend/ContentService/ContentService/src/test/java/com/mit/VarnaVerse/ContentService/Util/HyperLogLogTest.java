@@ -0,0 +1,99 @@
+package com.mit.VarnaVerse.ContentService.Util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+	// ~3.3% standard error at precision 10; four sigma keeps the tests deterministic in practice
+	private static final double TOLERANCE = 0.13;
+
+	@Test
+	void emptySketchEstimatesZero() {
+		HyperLogLog sketch = new HyperLogLog();
+		assertTrue(sketch.isEmpty());
+		assertEquals(0, sketch.estimate());
+	}
+
+	@Test
+	void smallCardinalitiesAreNearlyExact() {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int i = 0; i < 50; i++) {
+			sketch.offer("viewer-" + i);
+		}
+		assertFalse(sketch.isEmpty());
+		assertEquals(50, sketch.estimate(), 2);
+	}
+
+	@Test
+	void largeCardinalityWithinErrorBound() {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int i = 0; i < 100_000; i++) {
+			sketch.offer("user:" + i + "@example.org");
+		}
+		assertEquals(100_000, sketch.estimate(), 100_000 * TOLERANCE);
+	}
+
+	@Test
+	void repeatedViewersAreCountedOnce() {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int round = 0; round < 20; round++) {
+			for (int i = 0; i < 1_000; i++) {
+				sketch.offer("addr:10.0." + (i / 256) + "." + (i % 256));
+			}
+		}
+		assertEquals(1_000, sketch.estimate(), 1_000 * TOLERANCE);
+	}
+
+	@Test
+	void mergeEstimatesTheUnion() {
+		HyperLogLog first = new HyperLogLog();
+		HyperLogLog second = new HyperLogLog();
+		for (int i = 0; i < 30_000; i++) {
+			first.offer("v" + i);
+		}
+		for (int i = 20_000; i < 50_000; i++) {
+			second.offer("v" + i);
+		}
+		first.merge(second);
+		assertEquals(50_000, first.estimate(), 50_000 * TOLERANCE);
+
+		// Register-wise max: merging the same sketch again changes nothing
+		long before = first.estimate();
+		first.merge(second);
+		assertEquals(before, first.estimate());
+	}
+
+	@Test
+	void bytesRoundTrip() {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int i = 0; i < 5_000; i++) {
+			sketch.offer("k" + i);
+		}
+		HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+		assertArrayEquals(sketch.toBytes(), restored.toBytes());
+		assertEquals(sketch.estimate(), restored.estimate());
+	}
+
+	@Test
+	void malformedBytesGiveAnEmptySketch() {
+		assertTrue(HyperLogLog.fromBytes(null).isEmpty());
+		assertTrue(HyperLogLog.fromBytes(new byte[17]).isEmpty());
+	}
+
+	@Test
+	void snapshotAndResetHandsOverTheRegisters() {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int i = 0; i < 200; i++) {
+			sketch.offer("s" + i);
+		}
+		long estimate = sketch.estimate();
+		HyperLogLog snapshot = sketch.snapshotAndReset();
+		assertTrue(sketch.isEmpty());
+		assertEquals(estimate, snapshot.estimate());
+	}
+}
@@ -0,0 +1,128 @@
+package com.mit.VarnaVerse.ContentService.Util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class RoaringBitmapTest {
+
+	@Test
+	void addRemoveContainsReportChanges() {
+		RoaringBitmap bitmap = new RoaringBitmap();
+		assertTrue(bitmap.add(42));
+		assertFalse(bitmap.add(42));
+		assertTrue(bitmap.contains(42));
+		assertFalse(bitmap.contains(43));
+		assertEquals(1, bitmap.cardinality());
+
+		assertTrue(bitmap.remove(42));
+		assertFalse(bitmap.remove(42));
+		assertFalse(bitmap.contains(42));
+		assertEquals(0, bitmap.cardinality());
+	}
+
+	@Test
+	void fullUnsignedRangeAcrossGroups() {
+		RoaringBitmap bitmap = new RoaringBitmap();
+		long[] values = { 0, 65_535, 65_536, 1_000_000, 0xFFFF_FFFFL };
+		for (long value : values) {
+			bitmap.add(value);
+		}
+		for (long value : values) {
+			assertTrue(bitmap.contains(value), "value " + value);
+		}
+		assertEquals(values.length, bitmap.cardinality());
+
+		assertFalse(RoaringBitmap.fits(-1));
+		assertFalse(RoaringBitmap.fits(1L << 32));
+		assertThrows(IllegalArgumentException.class, () -> bitmap.add(1L << 32));
+		assertFalse(bitmap.contains(-1));
+		assertFalse(bitmap.remove(1L << 32));
+	}
+
+	@Test
+	void matchesAHashSetThroughContainerConversions() {
+		// Values in one 16-bit group, enough of them to cross 4096 both ways (array <-> bitmap)
+		Random random = new Random(47);
+		RoaringBitmap bitmap = new RoaringBitmap();
+		Set<Long> expected = new HashSet<>();
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 20_000; i++) {
+				long value = 3L * 65_536 + random.nextInt(12_000);
+				assertEquals(expected.add(value), bitmap.add(value));
+			}
+			assertEquals(expected.size(), bitmap.cardinality());
+			for (int i = 0; i < 30_000; i++) {
+				long value = 3L * 65_536 + random.nextInt(12_000);
+				assertEquals(expected.remove(value), bitmap.remove(value));
+			}
+			assertEquals(expected.size(), bitmap.cardinality());
+		}
+		for (long value = 3L * 65_536; value < 3L * 65_536 + 12_000; value++) {
+			assertEquals(expected.contains(value), bitmap.contains(value), "value " + value);
+		}
+	}
+
+	@Test
+	void denseGroupsSwitchToTheBitmapLayout() {
+		RoaringBitmap bitmap = new RoaringBitmap();
+		for (long value = 0; value < 60_000; value++) {
+			bitmap.add(value);
+		}
+		// 8 KB of words instead of 120 KB of sorted chars
+		assertTrue(bitmap.sizeInBytes() < 10_000, "size " + bitmap.sizeInBytes());
+
+		for (long value = 0; value < 59_000; value++) {
+			bitmap.remove(value);
+		}
+		assertEquals(1_000, bitmap.cardinality());
+		assertTrue(bitmap.contains(59_999));
+		assertFalse(bitmap.contains(58_999));
+	}
+
+	@Test
+	void serializationRoundTripsBothContainerKinds() throws IOException {
+		RoaringBitmap bitmap = new RoaringBitmap();
+		for (long value = 0; value < 5_000; value++) {
+			bitmap.add(value * 2); // one dense group
+		}
+		bitmap.add(0xFFFF_FFFFL); // one sparse group
+
+		RoaringBitmap restored = RoaringBitmap.readFrom(new DataInputStream(new ByteArrayInputStream(bytes(bitmap))));
+		assertEquals(bitmap.cardinality(), restored.cardinality());
+		assertTrue(restored.contains(9_998));
+		assertFalse(restored.contains(9_999));
+		assertTrue(restored.contains(0xFFFF_FFFFL));
+		assertTrue(restored.add(9_999));
+	}
+
+	@Test
+	void corruptInputIsRejected() {
+		byte[] truncated = new byte[] { 0, 0, 0, 1, 0, 0, 7 };
+		assertThrows(IOException.class,
+				() -> RoaringBitmap.readFrom(new DataInputStream(new ByteArrayInputStream(truncated))));
+		byte[] negativeGroups = new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF };
+		assertThrows(IOException.class,
+				() -> RoaringBitmap.readFrom(new DataInputStream(new ByteArrayInputStream(negativeGroups))));
+	}
+
+	private static byte[] bytes(RoaringBitmap bitmap) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(buffer)) {
+			bitmap.writeTo(out);
+		}
+		return buffer.toByteArray();
+	}
+}
@@ -5,11 +5,15 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.mit.VarnaVerse.UserService.Security.ObservedPasswordEncoder;
+
+import io.micrometer.observation.ObservationRegistry;
+
 @Configuration
 public class Appconfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(ObservationRegistry observationRegistry) {
+        return new ObservedPasswordEncoder(new BCryptPasswordEncoder(), observationRegistry);
     }
 }
@@ -0,0 +1,180 @@
+package com.mit.VarnaVerse.UserService.Config;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Load shedding in front of the controllers, per route group, each group with its own
+ * AdaptiveConcurrencyLimit. Login and registration spend most of their time in the password
+ * hash, so a burst of them gets shed on its own instead of starving the lookups ContentService
+ * makes on every request. Over the limit: immediate 503 with Retry-After.
+ *
+ * Groups (users.limiter.&lt;group&gt;, "initial/min/max"):
+ *   auth   - /users/login, /users/register, /forgot-password, /reset-password
+ *   reads  - GET/HEAD, and POST /users/batch (a lookup)
+ *   writes - everything else
+ * Not limited: actuator, admin, /error. gRPC calls do not pass through servlet filters.
+ *
+ * Exported per group: http.server.limiter.limit, .in.flight, .rtt (window=short|long), .rejected.
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    private static final Set<String> AUTH_PATHS = Set.of("/users/login", "/users/register", "/forgot-password", "/reset-password");
+
+    @Value("${users.limiter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${users.limiter.reads:40/8/150}")
+    private String readBounds;
+
+    @Value("${users.limiter.writes:20/4/50}")
+    private String writeBounds;
+
+    @Value("${users.limiter.auth:8/2/32}")
+    private String authBounds;
+
+    // How far shortRtt may rise above the baseline before the limit starts shrinking
+    @Value("${users.limiter.rtt-tolerance:1.5}")
+    private double rttTolerance;
+
+    @Value("${users.limiter.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    // After tracing (so shed requests are still counted and traced) and the SQL budget filter,
+    // well before Spring Security, which would otherwise spend a JWT parse on a request we drop
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> concurrencyLimitFilter(MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimit reads = new AdaptiveConcurrencyLimit("reads", AdaptiveConcurrencyLimit.Bounds.parse(readBounds), rttTolerance);
+        AdaptiveConcurrencyLimit writes = new AdaptiveConcurrencyLimit("writes", AdaptiveConcurrencyLimit.Bounds.parse(writeBounds), rttTolerance);
+        AdaptiveConcurrencyLimit auth = new AdaptiveConcurrencyLimit("auth", AdaptiveConcurrencyLimit.Bounds.parse(authBounds), rttTolerance);
+        for (AdaptiveConcurrencyLimit limit : List.of(reads, writes, auth)) {
+            bindMetrics(limit, meterRegistry);
+        }
+
+        Function<HttpServletRequest, AdaptiveConcurrencyLimit> classifier = request -> {
+            String path = request.getRequestURI();
+            String method = request.getMethod();
+            if (path.startsWith("/actuator/") || path.startsWith("/admin/") || path.equals("/error")
+                    || "OPTIONS".equals(method)) {
+                return null;
+            }
+            if (AUTH_PATHS.contains(path)) {
+                return auth;
+            }
+            if ("GET".equals(method) || "HEAD".equals(method) || path.equals("/users/batch")) {
+                return reads;
+            }
+            return writes;
+        };
+
+        FilterRegistrationBean<OncePerRequestFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(classifier, retryAfterSeconds));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+
+    private static void bindMetrics(AdaptiveConcurrencyLimit limit, MeterRegistry registry) {
+        Gauge.builder("http.server.limiter.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("group", limit.getName()).description("Current adaptive concurrency limit").register(registry);
+        Gauge.builder("http.server.limiter.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("group", limit.getName()).register(registry);
+        Gauge.builder("http.server.limiter.rtt", limit, AdaptiveConcurrencyLimit::getShortRttMillis)
+                .tag("group", limit.getName()).tag("window", "short").baseUnit("milliseconds").register(registry);
+        Gauge.builder("http.server.limiter.rtt", limit, AdaptiveConcurrencyLimit::getLongRttMillis)
+                .tag("group", limit.getName()).tag("window", "long").baseUnit("milliseconds").register(registry);
+        FunctionCounter.builder("http.server.limiter.rejected", limit, AdaptiveConcurrencyLimit::getRejected)
+                .tag("group", limit.getName()).description("Requests shed with 503").register(registry);
+    }
+
+    // ---------------------- FILTER ----------------------
+    static final class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+        private final Function<HttpServletRequest, AdaptiveConcurrencyLimit> classifier;
+        private final int retryAfterSeconds;
+
+        ConcurrencyLimitFilter(Function<HttpServletRequest, AdaptiveConcurrencyLimit> classifier, int retryAfterSeconds) {
+            this.classifier = classifier;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            AdaptiveConcurrencyLimit limit = classifier.apply(request);
+            if (limit == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            if (!limit.tryAcquire()) {
+                reject(response, limit);
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                filterChain.doFilter(request, response);
+            } catch (IOException | ServletException | RuntimeException e) {
+                limit.onDropped();
+                throw e;
+            }
+
+            if (request.isAsyncStarted()) {
+                // Streaming responses keep their slot until they finish, but their duration is not a latency sample
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        limit.onIgnore();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else if (response.getStatus() >= 500) {
+                limit.onDropped();
+            } else if (response.getStatus() >= 400) {
+                limit.onIgnore();
+            } else {
+                limit.onSuccess(System.nanoTime() - start);
+            }
+        }
+
+        private void reject(HttpServletResponse response, AdaptiveConcurrencyLimit limit) throws IOException {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"overloaded\",\"group\":\"" + limit.getName() + "\"}");
+        }
+    }
+}
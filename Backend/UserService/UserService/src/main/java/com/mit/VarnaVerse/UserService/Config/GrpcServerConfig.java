@@ -0,0 +1,102 @@
+package com.mit.VarnaVerse.UserService.Config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import com.mit.VarnaVerse.UserService.Controller.UserDirectoryGrpcService;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcServerInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Runs the UserDirectory gRPC server next to Tomcat (HTTP/2, plaintext, internal traffic only).
+ * Clients keep one long-lived channel and multiplex calls over it; keepalive pings are allowed
+ * so idle channels survive NAT/proxy timeouts. Set grpc.server.enabled=false to turn it off.
+ */
+@Configuration
+public class GrpcServerConfig implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcServerConfig.class);
+
+    @Autowired
+    private UserDirectoryGrpcService userDirectoryGrpcService;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${grpc.server.enabled:true}")
+    private boolean enabled;
+
+    @Value("${grpc.server.port:9093}")
+    private int port;
+
+    @Value("${grpc.server.max-concurrent-calls-per-connection:256}")
+    private int maxConcurrentCallsPerConnection;
+
+    private Server server;
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            NettyServerBuilder builder = NettyServerBuilder.forPort(port);
+            if (Threading.VIRTUAL.isActive(environment)) {
+                // Handlers block on JPA; one virtual thread per call instead of gRPC's cached pool
+                builder.executor(new VirtualThreadTaskExecutor("grpc-"));
+            }
+            server = builder
+                    .addService(userDirectoryGrpcService)
+                    // server span per call, continuing the caller's trace from the request metadata
+                    .intercept(new ObservationGrpcServerInterceptor(observationRegistry))
+                    .maxConcurrentCallsPerConnection(maxConcurrentCallsPerConnection)
+                    .permitKeepAliveTime(20, TimeUnit.SECONDS)
+                    .permitKeepAliveWithoutCalls(true)
+                    .maxInboundMessageSize(1 << 20)
+                    .build()
+                    .start();
+            logger.info("UserDirectory gRPC server listening on port {}", port);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start gRPC server on port " + port, e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(5, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null && !server.isShutdown();
+    }
+}
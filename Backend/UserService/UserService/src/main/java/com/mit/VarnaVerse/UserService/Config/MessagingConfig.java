@@ -0,0 +1,62 @@
+package com.mit.VarnaVerse.UserService.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jms.DefaultJmsListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.jms.artemis.ArtemisConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
+import org.springframework.jms.core.JmsTemplate;
+
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.jms.ConnectionFactory;
+
+/**
+ * Domain-event topics on Artemis. With spring.artemis.mode=embedded this service hosts the
+ * broker: in-VM for its own producers/consumers plus a TCP acceptor (users.broker.acceptor-url)
+ * that ContentService connects to. In production both services point at a standalone broker.
+ */
+@Configuration
+public class MessagingConfig {
+
+    public static final String USER_EVENTS_TOPIC = "varnaverse.user-events";
+    public static final String CONTENT_EVENTS_TOPIC = "varnaverse.content-events";
+
+    // Only applied to the embedded server; empty disables the TCP acceptor (in-VM only)
+    @Bean
+    public ArtemisConfigurationCustomizer brokerAcceptorCustomizer(
+            @Value("${users.broker.acceptor-url:tcp://localhost:61616}") String acceptorUrl) {
+        return configuration -> {
+            if (acceptorUrl.isBlank()) {
+                return;
+            }
+            try {
+                configuration.addAcceptorConfiguration("tcp", acceptorUrl);
+            } catch (Exception e) {
+                throw new IllegalStateException("Invalid users.broker.acceptor-url: " + acceptorUrl, e);
+            }
+        };
+    }
+
+    // Used by OutboxRelay only; persistent delivery, the send returns once the broker has the message
+    @Bean
+    public JmsTemplate eventJmsTemplate(ConnectionFactory connectionFactory, ObservationRegistry observationRegistry) {
+        JmsTemplate template = new JmsTemplate(connectionFactory);
+        template.setPubSubDomain(true);
+        template.setObservationRegistry(observationRegistry);
+        return template;
+    }
+
+    // Shared durable subscription: kept while this service is down, redelivered if the handler throws
+    @Bean
+    public DefaultJmsListenerContainerFactory durableEventListenerFactory(
+            DefaultJmsListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setPubSubDomain(true);
+        factory.setSubscriptionDurable(true);
+        factory.setSubscriptionShared(true);
+        factory.setSessionTransacted(true);
+        return factory;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mit.VarnaVerse.UserService.Config;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.mit.VarnaVerse.UserService.Entities.FeedEntry;
+import com.mit.VarnaVerse.UserService.Entities.Follower;
+import com.mit.VarnaVerse.UserService.Entities.OutboxEvent;
+import com.mit.VarnaVerse.UserService.Entities.ProcessedEvent;
+import com.mit.VarnaVerse.UserService.Entities.User;
+import com.mit.VarnaVerse.UserService.PayLoads.DeletedUserDTO;
+import com.mit.VarnaVerse.UserService.PayLoads.DomainEvent;
+import com.mit.VarnaVerse.UserService.PayLoads.JwtResponse;
+import com.mit.VarnaVerse.UserService.PayLoads.LoginRequest;
+import com.mit.VarnaVerse.UserService.PayLoads.UserProfileDTO;
+import com.mit.VarnaVerse.UserService.PayLoads.UserSummaryDTO;
+
+/**
+ * Reflection/resource hints for the GraalVM native image (mvn -Pnative native:compile).
+ * Spring AOT covers controllers and repositories; this adds what it cannot infer:
+ * Hibernate entity access, JPQL constructor-expression DTOs and jjwt's reflective bootstrap.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] JJWT_TYPES = {
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : new Class<?>[] { User.class, Follower.class, FeedEntry.class,
+                OutboxEvent.class, ProcessedEvent.class }) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        // Hibernate instantiates "SELECT new ..." results reflectively; Jackson writes them out
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                UserProfileDTO.class, UserSummaryDTO.class, DomainEvent.class, LoginRequest.class, JwtResponse.class,
+                DeletedUserDTO.class);
+        hints.reflection().registerType(UserProfileDTO.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(UserSummaryDTO.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // StatementCountingDataSource proxies JDBC connections and statements
+        hints.proxies().registerJdkProxy(Connection.class);
+        hints.proxies().registerJdkProxy(Statement.class);
+        hints.proxies().registerJdkProxy(PreparedStatement.class);
+        hints.proxies().registerJdkProxy(CallableStatement.class);
+    }
+}
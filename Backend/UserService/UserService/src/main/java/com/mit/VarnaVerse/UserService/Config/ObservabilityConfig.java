@@ -0,0 +1,71 @@
+package com.mit.VarnaVerse.UserService.Config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Tracing additions on top of Spring Boot's Micrometer Tracing auto-configuration
+ * (HTTP server, JMS and @Scheduled observations, OTLP export, Prometheus exemplars).
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    static final String REPOSITORY_OBSERVATION = "repository.invocation";
+
+    // A span (and a "repository.invocation" timer) per Spring Data repository call,
+    // e.g. "UserRepository.findByEmail", so a slow request shows which query it waited on
+    @Bean
+    public static BeanPostProcessor repositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof Repository<?, ?> && bean instanceof Advised advised && !advised.isFrozen()) {
+                    advised.addAdvice(observingInterceptor(repositoryName(advised), registry));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Background work (outbox relay, deletion reaper) runs every few hundred ms; tracing each run
+    // would bury request traces. Repository calls are only traced inside another observation.
+    @Bean
+    public ObservationPredicate backgroundObservationFilter() {
+        return (name, context) -> {
+            if (name.equals("tasks.scheduled.execution")) {
+                return false;
+            }
+            return !name.equals(REPOSITORY_OBSERVATION) || context.getParentObservation() != null;
+        };
+    }
+
+    private static MethodInterceptor observingInterceptor(String repository, ObjectProvider<ObservationRegistry> registry) {
+        return invocation -> {
+            String method = invocation.getMethod().getName();
+            return Observation.createNotStarted(REPOSITORY_OBSERVATION, registry.getIfAvailable(() -> ObservationRegistry.NOOP))
+                    .contextualName(repository + "." + method)
+                    .lowCardinalityKeyValue("repository", repository)
+                    .lowCardinalityKeyValue("method", method)
+                    .observeChecked(invocation::proceed);
+        };
+    }
+
+    // The application's own repository interface, not CrudRepository & co.
+    private static String repositoryName(Advised advised) {
+        for (Class<?> type : advised.getProxiedInterfaces()) {
+            if (Repository.class.isAssignableFrom(type) && !type.getName().startsWith("org.springframework.")) {
+                return type.getSimpleName();
+            }
+        }
+        return "Repository";
+    }
+}
@@ -0,0 +1,56 @@
+package com.mit.VarnaVerse.UserService.Config;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Load-test fault injection: delays every /users/** response by users.fault.response-delay-ms,
+ * to see how ContentService behaves behind a slow UserService
+ * (scripts/virtual-threads-loadtest.sh). Only registered when the property is set.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "users.fault.response-delay-ms")
+public class ResponseDelayFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseDelayFilter.class);
+
+    @Value("${users.fault.response-delay-ms}")
+    private long delayMs;
+
+    // Not initFilterBean: the servlet container calls that a second time
+    @PostConstruct
+    void announce() {
+        log.warn("Injecting a {} ms delay into every /users/** response", delayMs);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/users/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        filterChain.doFilter(request, response);
+    }
+}
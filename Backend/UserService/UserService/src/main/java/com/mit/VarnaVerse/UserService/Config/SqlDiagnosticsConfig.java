@@ -0,0 +1,125 @@
+package com.mit.VarnaVerse.UserService.Config;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-request SQL accounting: the DataSource is wrapped in a StatementCountingDataSource and
+ * every request runs in a SqlStatementStats scope (running totals in the MDC as sql.count and
+ * sql.ms). A request over its route's statement or latency budget is logged at WARN with the
+ * statements it ran.
+ *
+ * Budgets are "statements/millis"; users.sql.route-budgets overrides them per route, keyed by
+ * method and mapping pattern, e.g. "POST /users/batch=2/250,GET /users/feed=3/300".
+ */
+@Configuration
+public class SqlDiagnosticsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlDiagnosticsConfig.class);
+
+    @Value("${users.sql.diagnostics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${users.sql.default-budget:20/1000}")
+    private String defaultBudget;
+
+    @Value("${users.sql.route-budgets:}")
+    private String routeBudgets;
+
+    record Budget(int statements, long millis) {
+
+        static Budget parse(String value) {
+            String[] parts = value.trim().split("/");
+            return new Budget(Integer.parseInt(parts[0].trim()), Long.parseLong(parts[1].trim()));
+        }
+    }
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Right after the tracing filter, so the slow-request line carries the trace id,
+    // and before Spring Security, whose JWT filter loads the user
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> sqlBudgetFilter() {
+        FilterRegistrationBean<OncePerRequestFilter> registration =
+                new FilterRegistrationBean<>(new SqlBudgetFilter(Budget.parse(defaultBudget), parseRouteBudgets()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+
+    private Map<String, Budget> parseRouteBudgets() {
+        Map<String, Budget> budgets = new HashMap<>();
+        for (String entry : routeBudgets.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq > 0) {
+                budgets.put(entry.substring(0, eq).trim(), Budget.parse(entry.substring(eq + 1)));
+            }
+        }
+        return budgets;
+    }
+
+    // ---------------------- FILTER ----------------------
+    static final class SqlBudgetFilter extends OncePerRequestFilter {
+
+        private final Budget defaultBudget;
+        private final Map<String, Budget> routeBudgets;
+
+        SqlBudgetFilter(Budget defaultBudget, Map<String, Budget> routeBudgets) {
+            this.defaultBudget = defaultBudget;
+            this.routeBudgets = routeBudgets;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            long start = System.nanoTime();
+            try (SqlStatementStats stats = SqlStatementStats.open(true)) {
+                filterChain.doFilter(request, response);
+                check(request, response, stats, (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+
+        private void check(HttpServletRequest request, HttpServletResponse response, SqlStatementStats stats, long elapsedMs) {
+            // The mapping pattern, so /users/7 and /users/8 share one budget
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+            Budget budget = routeBudgets.getOrDefault(route, defaultBudget);
+
+            if (stats.getStatementCount() > budget.statements() || elapsedMs > budget.millis()) {
+                SqlDiagnosticsConfig.logger.warn("Slow request {} -> {}: {} ms, {} statements ({} ms in DB), budget {} statements / {} ms:{}",
+                        route, response.getStatus(), elapsedMs, stats.getStatementCount(),
+                        stats.getDbNanos() / 1_000_000, budget.statements(), budget.millis(), stats.summary());
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.mit.VarnaVerse.UserService.Config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Virtual-thread mode ("virtual-threads" profile): on a Java 21+ runtime, Tomcat requests, JMS
+ * listeners, scheduled jobs and gRPC calls (GrpcServerConfig) run on virtual threads, and the
+ * Hikari pool is the concurrency limit in front of MySQL. The build targets Java 17; there
+ * Spring Boot keeps platform threads and this only logs that.
+ *
+ * Blocking work never runs under synchronized here (OutboxRelay uses a ReentrantLock): blocking
+ * inside a monitor pins a virtual thread to its carrier, which the pinning traces enabled below
+ * would report.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @Autowired
+    private Environment environment;
+
+    // jdk.tracePinnedThreads mode ("short" or "full"); empty leaves pinning traces off
+    @Value("${users.virtual-threads.trace-pinned:short}")
+    private String tracePinned;
+
+    @PostConstruct
+    public void checkRuntime() {
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            logger.warn("Virtual threads requested but this is Java {}; running on platform threads",
+                    Runtime.version().feature());
+            return;
+        }
+        // Takes effect if set before the first virtual thread starts (Tomcat starts after the refresh);
+        // -Djdk.tracePinnedThreads on the command line always works
+        if (!tracePinned.isEmpty() && System.getProperty("jdk.tracePinnedThreads") == null) {
+            System.setProperty("jdk.tracePinnedThreads", tracePinned);
+        }
+        logger.info("Virtual-thread mode on (pinned-thread traces: {})",
+                System.getProperty("jdk.tracePinnedThreads", "off"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.mit.VarnaVerse.UserService.Controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Principal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.mit.VarnaVerse.UserService.PayLoads.ProfileSummaryDTO;
+import com.mit.VarnaVerse.UserService.Serivce.Impl.JfrProfiler;
+
+/**
+ * JFR profiling, restricted to the ADMIN role in SecurityConfig. POST records for ?seconds=
+ * (blocking) and returns the parsed summary; GET streams the .jfr file of a kept recording.
+ */
+@RestController
+@RequestMapping("/admin/profiling")
+public class AdminProfilingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminProfilingController.class);
+
+    @Autowired
+    private JfrProfiler jfrProfiler;
+
+    @PostMapping("/recordings")
+    public ResponseEntity<ProfileSummaryDTO> record(@RequestParam(defaultValue = "30") int seconds, Principal admin)
+            throws IOException, InterruptedException {
+        logger.info("Admin {} started a {} s JFR recording", admin.getName(), seconds);
+        try {
+            return ResponseEntity.ok(jfrProfiler.record(seconds));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/recordings/{recordingId}")
+    public ResponseEntity<StreamingResponseBody> download(@PathVariable String recordingId) throws IOException {
+        Path file = jfrProfiler.recordingFile(recordingId);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(out -> Files.copy(file, out));
+    }
+}
@@ -1,5 +1,6 @@
 package com.mit.VarnaVerse.UserService.Controller;
 
+import com.mit.VarnaVerse.UserService.Entities.FeedEntry;
 import com.mit.VarnaVerse.UserService.Entities.Follower;
 import com.mit.VarnaVerse.UserService.Entities.User;
 import com.mit.VarnaVerse.UserService.Service.FollowerService;
@@ -130,4 +131,18 @@ public class FollowerController {
         logger.info("User {} is following {} users", userId, following.size());
         return new ResponseEntity<>(following, HttpStatus.OK);
     }
+
+    /**
+     * GET /users/feed?before=&size=
+     * Posts by accounts the current user follows, newest first; pass the last id as "before" for the next page.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<List<FeedEntry>> getFeed(@RequestHeader("Authorization") String authHeader,
+                                                   @RequestParam(defaultValue = "0") long before,
+                                                   @RequestParam(defaultValue = "20") int size) {
+        User user = getUserFromJwt(authHeader);
+        List<FeedEntry> feed = followerService.getFeed(user.getId(), before, size);
+        logger.info("Returning {} feed entries for user {}", feed.size(), user.getId());
+        return new ResponseEntity<>(feed, HttpStatus.OK);
+    }
 }
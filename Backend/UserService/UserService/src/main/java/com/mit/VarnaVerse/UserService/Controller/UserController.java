@@ -1,19 +1,41 @@
 package com.mit.VarnaVerse.UserService.Controller;
 
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.mit.VarnaVerse.UserService.Entities.User;
+import com.mit.VarnaVerse.UserService.PayLoads.DeletedUserDTO;
+import com.mit.VarnaVerse.UserService.PayLoads.ResourceVersion;
+import com.mit.VarnaVerse.UserService.PayLoads.UserProfileDTO;
+import com.mit.VarnaVerse.UserService.PayLoads.UserSummaryDTO;
 import com.mit.VarnaVerse.UserService.Repository.UserRepository;
 import com.mit.VarnaVerse.UserService.Security.JwtHelper;
 import com.mit.VarnaVerse.UserService.Service.UserService;
 
+import jakarta.servlet.http.HttpServletResponse;
+
 
 @RestController
 public class UserController {
@@ -27,6 +49,9 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
     private User getUserFromJwt(String authHeader) {
@@ -57,11 +82,54 @@ public class UserController {
         return user;
     }
 
+    // Next keyset cursor; absent on the last page
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private ResponseEntity<List<UserSummaryDTO>> pageResponse(List<UserSummaryDTO> page, int size) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        int pageSize = Math.max(1, Math.min(size, UserService.MAX_PAGE_SIZE));
+        if (!page.isEmpty() && page.size() >= pageSize) {
+            builder.header(NEXT_CURSOR_HEADER, String.valueOf(page.get(page.size() - 1).getId()));
+        }
+        return builder.body(page);
+    }
+
     @GetMapping("/getusers")
-    public List<User> getUsers(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<List<UserSummaryDTO>> getUsers(@RequestHeader("Authorization") String authHeader,
+                                                         @RequestParam(defaultValue = "0") long afterId,
+                                                         @RequestParam(defaultValue = "100") int size) {
+        User user = getUserFromJwt(authHeader);
+        logger.info("Admin {} is fetching users after id {}", user.getEmail(), afterId);
+        return pageResponse(userService.getUserPage(null, afterId, size), size);
+    }
+
+    // Newline-delimited JSON of every user (optionally one role), streamed page by page; ADMIN only (SecurityConfig)
+    @GetMapping(value = "/getusers/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestHeader("Authorization") String authHeader,
+                                                             @RequestParam(required = false) String role) {
         User user = getUserFromJwt(authHeader);
-        logger.info("Admin {} is fetching all users", user.getEmail());
-        return userService.getUser();
+        logger.info("Admin {} is exporting users (role: {})", user.getEmail(), role);
+
+        StreamingResponseBody body = out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try {
+                userService.exportUsers(role, row -> {
+                    try {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     @PutMapping("/users/update")
@@ -79,17 +147,52 @@ public class UserController {
         return userService.deleteUser(user);
     }
 
+    // Conditional: a current If-None-Match / If-Modified-Since is answered 304 after reading updated_at only
     @GetMapping("/users/{id}")
-    public User getUserById(@PathVariable String id, @RequestHeader("Authorization") String authHeader) {
+    public User getUserById(@PathVariable String id, @RequestHeader("Authorization") String authHeader,
+                            WebRequest webRequest, HttpServletResponse response) {
         User requester = getUserFromJwt(authHeader);
         logger.info("User {} is fetching user by ID: {}", requester.getEmail(), id);
+
+        Optional<ResourceVersion> version = userRepository.findUpdatedAtById(Long.parseLong(id))
+                .map(updatedAt -> ResourceVersion.of("u" + id, updatedAt));
+        // Private: the body depends on who asks (it needs a token); revalidate instead of no-store
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (version.isPresent() && webRequest.checkNotModified(version.get().etag(), version.get().lastModified())) {
+            return null;
+        }
         return userService.getUserById(id);
     }
 
+    // Public profiles for many users in one round-trip (used by ContentService author hydration).
+    // No requester lookup: the payload holds only id, name and bio.
+    @PostMapping("/users/batch")
+    public ResponseEntity<List<UserProfileDTO>> getUsersBatch(@RequestBody List<Long> ids) {
+        try {
+            return ResponseEntity.ok(userService.getUserProfiles(ids));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Batch lookup failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Tombstone feed for ContentService's DeletionReaper; ids and deletion times only, so public
+    // like /users/batch. Pass the last entry's deletedAt and id back as the cursor
+    @GetMapping("/users/deleted")
+    public ResponseEntity<List<DeletedUserDTO>> getDeletedUsers(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterDeletedAt,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(userService.getDeletedUsers(afterDeletedAt, afterId, size));
+    }
+
     @GetMapping("/users/role")
-    public List<User> getUserByRole(@RequestParam String role, @RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<List<UserSummaryDTO>> getUserByRole(@RequestParam String role,
+                                                              @RequestHeader("Authorization") String authHeader,
+                                                              @RequestParam(defaultValue = "0") long afterId,
+                                                              @RequestParam(defaultValue = "100") int size) {
         User requester = getUserFromJwt(authHeader);
-        logger.info("User {} is fetching users with role: {}", requester.getEmail(), role);
-        return userService.getUserByRole(role);
+        logger.info("User {} is fetching users with role: {} after id {}", requester.getEmail(), role, afterId);
+        return pageResponse(userService.getUserPage(role, afterId, size), size);
     }
 }
@@ -0,0 +1,126 @@
+package com.mit.VarnaVerse.UserService.Controller;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.mit.VarnaVerse.UserService.Entities.User;
+import com.mit.VarnaVerse.UserService.PayLoads.DeletedUserDTO;
+import com.mit.VarnaVerse.UserService.PayLoads.UserProfileDTO;
+import com.mit.VarnaVerse.UserService.Repository.UserRepository;
+import com.mit.VarnaVerse.UserService.Security.JwtHelper;
+import com.mit.VarnaVerse.UserService.Service.UserService;
+import com.mit.VarnaVerse.grpc.user.v1.DeletedUser;
+import com.mit.VarnaVerse.grpc.user.v1.GetProfilesRequest;
+import com.mit.VarnaVerse.grpc.user.v1.GetProfilesResponse;
+import com.mit.VarnaVerse.grpc.user.v1.Identity;
+import com.mit.VarnaVerse.grpc.user.v1.ListDeletedUsersRequest;
+import com.mit.VarnaVerse.grpc.user.v1.ListDeletedUsersResponse;
+import com.mit.VarnaVerse.grpc.user.v1.Profile;
+import com.mit.VarnaVerse.grpc.user.v1.ResolveIdentityRequest;
+import com.mit.VarnaVerse.grpc.user.v1.UserDirectoryGrpc;
+
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.jsonwebtoken.JwtException;
+
+/**
+ * gRPC counterpart of GET /users/me and POST /users/batch for service-to-service calls
+ * (contract in Backend/proto/user_directory.proto). Served by GrpcServerConfig.
+ */
+@Component
+public class UserDirectoryGrpcService extends UserDirectoryGrpc.UserDirectoryImplBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDirectoryGrpcService.class);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtHelper jwtHelper;
+
+    @Override
+    public void resolveIdentity(ResolveIdentityRequest request, StreamObserver<Identity> responseObserver) {
+        String token = request.getToken().startsWith("Bearer ") ? request.getToken().substring(7) : request.getToken();
+        if (!jwtHelper.hasValidStructure(token)) {
+            responseObserver.onError(Status.UNAUTHENTICATED.withDescription("Missing or malformed token").asRuntimeException());
+            return;
+        }
+
+        String email;
+        try {
+            email = jwtHelper.extractUsername(token);
+        } catch (JwtException e) {
+            responseObserver.onError(Status.UNAUTHENTICATED.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+
+        User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription("User not found for email: " + email).asRuntimeException());
+            return;
+        }
+
+        responseObserver.onNext(Identity.newBuilder()
+                .setId(user.getId())
+                .setEmail(nullToEmpty(user.getEmail()))
+                .setName(nullToEmpty(user.getName()))
+                .setRole(nullToEmpty(user.getRole()))
+                .build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void getProfiles(GetProfilesRequest request, StreamObserver<GetProfilesResponse> responseObserver) {
+        List<UserProfileDTO> profiles;
+        try {
+            profiles = userService.getUserProfiles(request.getIdsList());
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+
+        GetProfilesResponse.Builder response = GetProfilesResponse.newBuilder();
+        for (UserProfileDTO profile : profiles) {
+            response.addProfiles(Profile.newBuilder()
+                    .setId(profile.getId())
+                    .setName(nullToEmpty(profile.getName()))
+                    .setBio(nullToEmpty(profile.getBio())));
+        }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+        logger.debug("gRPC GetProfiles resolved {} of {} ids", profiles.size(), request.getIdsCount());
+    }
+
+    @Override
+    public void listDeletedUsers(ListDeletedUsersRequest request, StreamObserver<ListDeletedUsersResponse> responseObserver) {
+        LocalDateTime afterDeletedAt;
+        try {
+            afterDeletedAt = request.getAfterDeletedAt().isEmpty() ? null : LocalDateTime.parse(request.getAfterDeletedAt());
+        } catch (DateTimeParseException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("Malformed after_deleted_at").asRuntimeException());
+            return;
+        }
+        List<DeletedUserDTO> users = userService.getDeletedUsers(afterDeletedAt, request.getAfterId(),
+                request.getSize() > 0 ? request.getSize() : 100);
+        ListDeletedUsersResponse.Builder response = ListDeletedUsersResponse.newBuilder();
+        for (DeletedUserDTO user : users) {
+            response.addUsers(DeletedUser.newBuilder().setId(user.id()).setDeletedAt(user.deletedAt().toString()));
+        }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    // proto3 strings are non-null
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
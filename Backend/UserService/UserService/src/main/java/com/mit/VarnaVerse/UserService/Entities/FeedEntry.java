@@ -0,0 +1,42 @@
+package com.mit.VarnaVerse.UserService.Entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// One row per (follower, post): written on PostCreated by fan-out-on-write, read newest first
+@Entity
+@Table(name = "feed_entries",
+		uniqueConstraints = @UniqueConstraint(name = "uk_feed_user_post", columnNames = { "user_id", "post_id" }),
+		indexes = @Index(name = "idx_feed_user_id", columnList = "user_id, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class FeedEntry {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "user_id", nullable = false)
+	private long userId;
+
+	@Column(name = "post_id", nullable = false)
+	private long postId;
+
+	@Column(name = "author_id", nullable = false)
+	private long authorId;
+
+	@Column(nullable = false)
+	private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.mit.VarnaVerse.UserService.Entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Domain events already applied; inserted in the handler's transaction so a redelivery is a no-op
+@Entity
+@Table(name = "processed_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedEvent {
+
+    @Id
+    @Column(length = 36)
+    private String eventId;
+
+    @Column(nullable = false)
+    private LocalDateTime processedAt;
+}
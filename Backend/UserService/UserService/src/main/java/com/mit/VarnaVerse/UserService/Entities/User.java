@@ -3,7 +3,9 @@ package com.mit.VarnaVerse.UserService.Entities;
 import java.time.LocalDateTime;
 
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.Column;
@@ -11,6 +13,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -24,7 +27,11 @@ import lombok.ToString;
 @AllArgsConstructor
 @ToString
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+		@Index(name = "idx_users_role_id", columnList = "role, id"),
+		@Index(name = "idx_users_deleted_at", columnList = "deleted_at, purged_at") })
+// Soft delete: tombstoned rows vanish from every entity query at once; DeletionReaper purges their edges later
+@SQLRestriction("deleted_at IS NULL")
 public class User {
 	
 	 @Id
@@ -56,6 +63,19 @@ public class User {
 	    @UpdateTimestamp
 	    private LocalDateTime updatedAt;
 
+	    // Maintained from ContentService's PostCreated events
+	    @Column(name = "post_count", nullable = false)
+	    @ColumnDefault("0")
+	    private long postCount;
+
+	    // Set by DELETE /users/delete; the row stays as a tombstone other services sync from
+	    @Column(name = "deleted_at")
+	    private LocalDateTime deletedAt;
+
+	    // Set by DeletionReaper once the user's follower edges are gone
+	    @Column(name = "purged_at")
+	    private LocalDateTime purgedAt;
+
 		public Long getId() {
 			return id;
 		}
@@ -127,4 +147,28 @@ public class User {
 		public void setUpdatedAt(LocalDateTime updatedAt) {
 			this.updatedAt = updatedAt;
 		}
+
+		public long getPostCount() {
+			return postCount;
+		}
+
+		public void setPostCount(long postCount) {
+			this.postCount = postCount;
+		}
+
+		public LocalDateTime getDeletedAt() {
+			return deletedAt;
+		}
+
+		public void setDeletedAt(LocalDateTime deletedAt) {
+			this.deletedAt = deletedAt;
+		}
+
+		public LocalDateTime getPurgedAt() {
+			return purgedAt;
+		}
+
+		public void setPurgedAt(LocalDateTime purgedAt) {
+			this.purgedAt = purgedAt;
+		}
 }
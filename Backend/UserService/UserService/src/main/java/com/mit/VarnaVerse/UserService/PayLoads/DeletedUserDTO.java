@@ -0,0 +1,10 @@
+package com.mit.VarnaVerse.UserService.PayLoads;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the deleted-user feed (GET /users/deleted). deletedAt and id of the last entry
+ * are the cursor of the next page.
+ */
+public record DeletedUserDTO(Long id, LocalDateTime deletedAt) {
+}
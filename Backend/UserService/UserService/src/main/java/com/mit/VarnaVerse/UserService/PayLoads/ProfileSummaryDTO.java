@@ -0,0 +1,26 @@
+package com.mit.VarnaVerse.UserService.PayLoads;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Parsed digest of one JFR recording (POST /admin/profiling/recordings). The raw file stays
+ * downloadable under its recordingId for JMC or `jfr print`.
+ *
+ * hotMethods: top frames of execution samples, value = share of all samples in %
+ * allocations: allocating frames, value = sampled bytes (estimate of the bytes allocated there)
+ * contention: where threads blocked on monitors or locks for 10 ms+, or a virtual thread stayed
+ *   pinned to its carrier for 20 ms+ (Java 21+), value = total ms
+ */
+public record ProfileSummaryDTO(String recordingId, Instant startedAt, long durationMs, long executionSamples,
+        List<FrameStat> hotMethods, List<FrameStat> allocations, List<FrameStat> contention, GcSummary gc) {
+
+    public record FrameStat(String frame, long events, double value) {
+    }
+
+    public record GcSummary(int collections, double totalPauseMs, double maxPauseMs, List<GcPause> longestPauses) {
+    }
+
+    public record GcPause(long gcId, String name, String cause, double pauseMs) {
+    }
+}
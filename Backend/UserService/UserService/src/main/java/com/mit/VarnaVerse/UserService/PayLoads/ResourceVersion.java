@@ -0,0 +1,18 @@
+package com.mit.VarnaVerse.UserService.PayLoads;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * ETag and Last-Modified of a resource, derived from its row version instead of its bytes.
+ * The ETag is weak for that reason: it promises the same data, not the same serialization.
+ * lastModified is epoch millis, -1 when unknown; both go to WebRequest.checkNotModified.
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    // W/"<key>-<millis>"; key identifies the resource, so versions of different resources never collide
+    public static ResourceVersion of(String key, LocalDateTime modifiedAt) {
+        long millis = modifiedAt != null ? modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        return new ResourceVersion("W/\"" + key + "-" + Math.max(millis, 0) + "\"", millis);
+    }
+}
@@ -0,0 +1,86 @@
+package com.mit.VarnaVerse.UserService.PayLoads;
+
+import java.time.LocalDateTime;
+
+/**
+ * Admin listing row for a user. Built directly by JPQL constructor
+ * expressions, so the password hash is never selected.
+ */
+public class UserSummaryDTO {
+    private Long id;
+    private String email;
+    private String name;
+    private String role;
+    private String phoneNumber;
+    private String bio;
+    private LocalDateTime createdAt;
+
+    public UserSummaryDTO() {}
+
+    public UserSummaryDTO(Long id, String email, String name, String role, String phoneNumber, String bio,
+            LocalDateTime createdAt) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.role = role;
+        this.phoneNumber = phoneNumber;
+        this.bio = bio;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getBio() {
+        return bio;
+    }
+
+    public void setBio(String bio) {
+        this.bio = bio;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,38 @@
+package com.mit.VarnaVerse.UserService.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mit.VarnaVerse.UserService.Entities.FeedEntry;
+
+@Repository
+public interface FeedEntryRepository extends JpaRepository<FeedEntry, Long> {
+
+	// Newest first below a cursor, served by idx_feed_user_id (user_id, id)
+	@Query("SELECT f FROM FeedEntry f WHERE f.userId = :userId AND f.id < :beforeId ORDER BY f.id DESC")
+	List<FeedEntry> findPage(@Param("userId") long userId, @Param("beforeId") long beforeId, Pageable pageable);
+
+	// Fan-out on write: one set-based insert for all followers of the author.
+	// Follower edges of deleted users are skipped; the unique key makes a replay insert nothing new.
+	@Modifying
+	@Query(value = "INSERT INTO feed_entries (user_id, post_id, author_id, created_at) "
+			+ "SELECT f.follower_id, :postId, :authorId, :createdAt FROM followers f "
+			+ "JOIN users u ON u.id = f.follower_id AND u.deleted_at IS NULL "
+			+ "WHERE f.following_id = :authorId "
+			+ "AND NOT EXISTS (SELECT 1 FROM feed_entries e WHERE e.user_id = f.follower_id AND e.post_id = :postId)",
+			nativeQuery = true)
+	int fanOut(@Param("postId") long postId, @Param("authorId") long authorId, @Param("createdAt") LocalDateTime createdAt);
+
+	@Modifying
+	@Transactional
+	@Query(value = "DELETE FROM feed_entries WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+	int deleteChunkByUserId(@Param("userId") long userId, @Param("limit") int limit);
+}
@@ -2,6 +2,10 @@ package com.mit.VarnaVerse.UserService.Repository;
 
 import com.mit.VarnaVerse.UserService.Entities.Follower;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -17,11 +21,27 @@ public interface FollowerRepository extends JpaRepository<Follower, Long> {
 
     // FIX: Changed 'Following_id' to 'FollowingId'
     // Retrieves the list of followers for a user (where 'followingId' = userId)
-    List<Follower> findAllByFollowingId(long userId);  
+    // Edges to deleted users are hidden right away, DeletionReaper removes them later
+    @Query("SELECT f FROM Follower f WHERE f.followingId = :userId "
+            + "AND EXISTS (SELECT u.id FROM User u WHERE u.id = f.followerId)")
+    List<Follower> findAllByFollowingId(@Param("userId") long userId);  
 
     // FIX: Changed 'Follower_id' to 'FollowerId'
     // Retrieves the list of users that a person follows (where 'followerId' = userId)
-    List<Follower> findAllByFollowerId(long userId);
+    @Query("SELECT f FROM Follower f WHERE f.followerId = :userId "
+            + "AND EXISTS (SELECT u.id FROM User u WHERE u.id = f.followingId)")
+    List<Follower> findAllByFollowerId(@Param("userId") long userId);
+
+    // Reaper chunks: bounded deletes so one prolific account never holds a long lock
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM followers WHERE follower_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteChunkByFollowerId(@Param("userId") long userId, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM followers WHERE following_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteChunkByFollowingId(@Param("userId") long userId, @Param("limit") int limit);
     
   
 }
\ No newline at end of file
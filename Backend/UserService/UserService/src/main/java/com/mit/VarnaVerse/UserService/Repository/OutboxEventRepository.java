@@ -0,0 +1,32 @@
+package com.mit.VarnaVerse.UserService.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mit.VarnaVerse.UserService.Entities.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest unpublished first, served by idx_outbox_published_id
+    @Query(value = "SELECT * FROM outbox_events WHERE published_at IS NULL ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<OutboxEvent> findUnpublished(@Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM outbox_events WHERE published_at < :before LIMIT :limit", nativeQuery = true)
+    int deletePublishedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,10 @@
+package com.mit.VarnaVerse.UserService.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.mit.VarnaVerse.UserService.Entities.ProcessedEvent;
+
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
+}
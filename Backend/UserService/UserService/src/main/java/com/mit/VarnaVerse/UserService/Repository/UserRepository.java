@@ -1,17 +1,77 @@
 package com.mit.VarnaVerse.UserService.Repository;
 
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import com.mit.VarnaVerse.UserService.Entities.User;
+import com.mit.VarnaVerse.UserService.PayLoads.UserProfileDTO;
+import com.mit.VarnaVerse.UserService.PayLoads.UserSummaryDTO;
 
 
 public interface UserRepository extends JpaRepository<User,Long>{
 
 	Optional<User> findByEmail(String email);
 
+	// Conditional GET /users/{id}: the version only (empty if missing, deleted or never stamped)
+	@Query("SELECT u.updatedAt FROM User u WHERE u.id = :id")
+	Optional<LocalDateTime> findUpdatedAtById(@Param("id") long id);
+
 	List<User> findByRole(String role);
 
+	// Single IN query, selects only the public columns (no entity hydration)
+	@Query("SELECT new com.mit.VarnaVerse.UserService.PayLoads.UserProfileDTO(u.id, u.name, u.bio) "
+			+ "FROM User u WHERE u.id IN :ids")
+	List<UserProfileDTO> findProfilesByIdIn(@Param("ids") Collection<Long> ids);
+
+	// Keyset pages: "id > cursor ORDER BY id" walks the primary key, no OFFSET scan
+	@Query("SELECT new com.mit.VarnaVerse.UserService.PayLoads.UserSummaryDTO("
+			+ "u.id, u.email, u.name, u.role, u.phoneNumber, u.bio, u.createdAt) "
+			+ "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+	List<UserSummaryDTO> findSummariesAfter(@Param("afterId") long afterId, Pageable pageable);
+
+	// Served by idx_users_role_id (role, id)
+	@Query("SELECT new com.mit.VarnaVerse.UserService.PayLoads.UserSummaryDTO("
+			+ "u.id, u.email, u.name, u.role, u.phoneNumber, u.bio, u.createdAt) "
+			+ "FROM User u WHERE u.role = :role AND u.id > :afterId ORDER BY u.id")
+	List<UserSummaryDTO> findSummariesByRoleAfter(@Param("role") String role, @Param("afterId") long afterId,
+			Pageable pageable);
+
+	// Atomic in SQL so concurrent PostCreated handlers never lose an increment. Also bumps
+	// updated_at, the version behind the ETag of GET /users/{id}
+	@Modifying
+	@Query(value = "UPDATE users SET post_count = post_count + 1, updated_at = CURRENT_TIMESTAMP(6) WHERE id = :id", nativeQuery = true)
+	int incrementPostCount(@Param("id") long id);
+
+	// ---------------------- TOMBSTONES ----------------------
+	// Native on purpose: @SQLRestriction hides deleted rows from every entity query
+
+	// Feed for other services: (id, deleted_at) after a (deleted_at, id) cursor, in deletion order.
+	// Ids are not deletion order (user 5 can be deleted after user 900), deletion time is; rows
+	// stamped after :settledBefore wait, so a deletion committed late is not skipped over
+	@Query(value = "SELECT id, deleted_at FROM users WHERE deleted_at IS NOT NULL AND deleted_at <= :settledBefore "
+			+ "AND (deleted_at > :afterDeletedAt OR (deleted_at = :afterDeletedAt AND id > :afterId)) "
+			+ "ORDER BY deleted_at, id LIMIT :size", nativeQuery = true)
+	List<Object[]> findDeletedAfter(@Param("afterDeletedAt") LocalDateTime afterDeletedAt, @Param("afterId") long afterId,
+			@Param("settledBefore") LocalDateTime settledBefore, @Param("size") int size);
+
+	// Reaper work queue, served by idx_users_deleted_at
+	@Query(value = "SELECT id FROM users WHERE deleted_at IS NOT NULL AND purged_at IS NULL AND deleted_at <= :before "
+			+ "ORDER BY deleted_at LIMIT :size", nativeQuery = true)
+	List<Long> findUnpurgedDeletedIds(@Param("before") LocalDateTime before, @Param("size") int size);
+
+	@Modifying
+	@Transactional
+	@Query(value = "UPDATE users SET purged_at = :purgedAt WHERE id = :id", nativeQuery = true)
+	int markPurged(@Param("id") long id, @Param("purgedAt") LocalDateTime purgedAt);
+
 }
@@ -15,6 +15,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,6 +33,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                     FilterChain filterChain) throws ServletException, IOException {
@@ -52,21 +57,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Token parsing plus the user lookup, as one span under the request
+        Observation.createNotStarted("jwt.authenticate", observationRegistry)
+                .contextualName("jwt authenticate")
+                .observe(() -> authenticate(request, token));
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request, String token) {
         String username = null;
 
         try {
             username = jwtHelper.extractUsername(token);
         } catch (ExpiredJwtException e) {
             logger.warn("JWT expired: {}", e.getMessage());
-            filterChain.doFilter(request, response);
             return;
         } catch (MalformedJwtException e) {
             logger.warn("Malformed JWT: {}", e.getMessage());
-            filterChain.doFilter(request, response);
             return;
         } catch (Exception e) {
             logger.error("JWT parsing error", e);
-            filterChain.doFilter(request, response);
             return;
         }
 
@@ -90,8 +101,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 logger.warn("JWT validation failed for user {}", username);
             }
         }
-
-        filterChain.doFilter(request, response);
     }
 
     @Override
@@ -106,6 +115,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                path.equals("/owner/register") ||
                path.equals("/forgot-password") ||
                path.equals("/reset-password") ||
+               path.equals("/users/batch") ||
                request.getMethod().equalsIgnoreCase("OPTIONS"); // CORS preflight
     }
 }
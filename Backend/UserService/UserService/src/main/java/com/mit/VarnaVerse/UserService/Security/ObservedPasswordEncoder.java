@@ -0,0 +1,43 @@
+package com.mit.VarnaVerse.UserService.Security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Times BCrypt work as its own span ("password.hash", operation=encode|matches). Hashing is
+ * deliberately slow (tens of ms per call), so it is worth seeing next to the DB time in a login trace.
+ */
+public class ObservedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedPasswordEncoder(PasswordEncoder delegate, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return observation("encode").observe(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = observation("matches").observe(() -> delegate.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private Observation observation(String operation) {
+        return Observation.createNotStarted("password.hash", observationRegistry)
+                .contextualName("password " + operation)
+                .lowCardinalityKeyValue("operation", operation);
+    }
+}
@@ -0,0 +1,113 @@
+package com.mit.VarnaVerse.UserService.Serivce.Impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mit.VarnaVerse.UserService.Repository.FeedEntryRepository;
+import com.mit.VarnaVerse.UserService.Repository.FollowerRepository;
+import com.mit.VarnaVerse.UserService.Repository.UserRepository;
+
+/**
+ * Background half of user deletion. DELETE /users/delete only tombstones the row; this
+ * removes the user's follower edges and feed entries in small chunks (each its own short
+ * transaction, with a pause in between) and then marks the tombstone purged. A run stops once it has
+ * spent its row budget and picks up where it left off on the next tick.
+ */
+@Service
+@ConditionalOnProperty(name = "users.reaper.enabled", havingValue = "true", matchIfMissing = true)
+public class DeletionReaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeletionReaper.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FollowerRepository followerRepository;
+
+    @Autowired
+    private FeedEntryRepository feedEntryRepository;
+
+    @Value("${users.reaper.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${users.reaper.chunk-pause-ms:50}")
+    private long chunkPauseMs;
+
+    @Value("${users.reaper.max-rows-per-run:20000}")
+    private int maxRowsPerRun;
+
+    @Value("${users.reaper.grace-ms:60000}")
+    private long graceMs;
+
+    // ---------------------- REAP ----------------------
+    @Scheduled(initialDelayString = "${users.reaper.interval-ms:30000}", fixedDelayString = "${users.reaper.interval-ms:30000}")
+    public void reap() {
+        // Grace period lets requests that resolved the user just before deletion finish first
+        List<Long> userIds = userRepository.findUnpurgedDeletedIds(
+                LocalDateTime.now().minusNanos(graceMs * 1_000_000), 100);
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        int budget = maxRowsPerRun;
+        int purged = 0;
+        for (Long userId : userIds) {
+            budget -= deleteInChunks(userId, Edge.FOLLOWER, budget);
+            if (budget > 0) {
+                budget -= deleteInChunks(userId, Edge.FOLLOWING, budget);
+            }
+            if (budget > 0) {
+                budget -= deleteInChunks(userId, Edge.FEED, budget);
+            }
+            if (budget <= 0) {
+                break;
+            }
+            userRepository.markPurged(userId, LocalDateTime.now());
+            purged++;
+        }
+        logger.info("Deletion reaper purged {} of {} deleted users ({} rows)", purged, userIds.size(),
+                maxRowsPerRun - Math.max(budget, 0));
+    }
+
+    // Returns the rows removed; stops early when the budget runs out or the thread is interrupted
+    private enum Edge { FOLLOWER, FOLLOWING, FEED }
+
+    private int deleteInChunks(long userId, Edge edge, int budget) {
+        int removed = 0;
+        while (removed < budget) {
+            int limit = Math.min(chunkSize, budget - removed);
+            int deleted = switch (edge) {
+                case FOLLOWER -> followerRepository.deleteChunkByFollowerId(userId, limit);
+                case FOLLOWING -> followerRepository.deleteChunkByFollowingId(userId, limit);
+                case FEED -> feedEntryRepository.deleteChunkByUserId(userId, limit);
+            };
+            removed += deleted;
+            if (deleted < limit) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        return removed;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(chunkPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.mit.VarnaVerse.UserService.Serivce.Impl;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jms.annotation.JmsListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mit.VarnaVerse.UserService.Config.MessagingConfig;
+import com.mit.VarnaVerse.UserService.Entities.ProcessedEvent;
+import com.mit.VarnaVerse.UserService.PayLoads.DomainEvent;
+import com.mit.VarnaVerse.UserService.Repository.FeedEntryRepository;
+import com.mit.VarnaVerse.UserService.Repository.ProcessedEventRepository;
+import com.mit.VarnaVerse.UserService.Repository.UserRepository;
+
+/**
+ * Consumer of ContentService's domain events. Delivery is at-least-once, and a post counter
+ * is not naturally idempotent, so the event id is recorded in processed_events in the same
+ * transaction as the effects: a redelivered event finds its id and changes nothing.
+ */
+@Component
+public class DomainEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventListener.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProcessedEventRepository processedEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FeedEntryRepository feedEntryRepository;
+
+    @JmsListener(destination = MessagingConfig.CONTENT_EVENTS_TOPIC, subscription = "user-service",
+            containerFactory = "durableEventListenerFactory",
+            selector = "eventType = '" + DomainEvent.POST_CREATED + "'")
+    @Transactional
+    public void onContentEvent(String body) throws JsonProcessingException {
+        DomainEvent event = objectMapper.readValue(body, DomainEvent.class);
+        if (processedEventRepository.existsById(event.eventId())) {
+            logger.debug("Skipping duplicate event {}", event.eventId());
+            return;
+        }
+        processedEventRepository.save(new ProcessedEvent(event.eventId(), LocalDateTime.now()));
+
+        long authorId = event.payloadLong("authorId");
+        userRepository.incrementPostCount(authorId);
+        int delivered = feedEntryRepository.fanOut(event.aggregateId(), authorId, LocalDateTime.now());
+        logger.info("Post {} by user {} fanned out to {} feeds", event.aggregateId(), authorId, delivered);
+    }
+}
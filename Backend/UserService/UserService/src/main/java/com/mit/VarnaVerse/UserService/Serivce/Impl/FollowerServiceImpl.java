@@ -1,10 +1,13 @@
 package com.mit.VarnaVerse.UserService.Serivce.Impl;
 
+import com.mit.VarnaVerse.UserService.Entities.FeedEntry;
 import com.mit.VarnaVerse.UserService.Entities.Follower;
 
+import com.mit.VarnaVerse.UserService.Repository.FeedEntryRepository;
 import com.mit.VarnaVerse.UserService.Repository.FollowerRepository;
 import com.mit.VarnaVerse.UserService.Service.FollowerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -14,10 +17,12 @@ import java.util.Optional;
 public class FollowerServiceImpl implements FollowerService {
 
     private final FollowerRepository followerRepository;
+    private final FeedEntryRepository feedEntryRepository;
 
     @Autowired
-    public FollowerServiceImpl(FollowerRepository followerRepository) {
+    public FollowerServiceImpl(FollowerRepository followerRepository, FeedEntryRepository feedEntryRepository) {
         this.followerRepository = followerRepository;
+        this.feedEntryRepository = feedEntryRepository;
     }
 
     @Override
@@ -64,4 +69,11 @@ public class FollowerServiceImpl implements FollowerService {
         return followerRepository.findAllByFollowingId(userId);
     }
 
+    @Override
+    public List<FeedEntry> getFeed(long userId, long beforeId, int size) {
+        long cursor = beforeId > 0 ? beforeId : Long.MAX_VALUE;
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        return feedEntryRepository.findPage(userId, cursor, PageRequest.of(0, pageSize));
+    }
+
 }
\ No newline at end of file
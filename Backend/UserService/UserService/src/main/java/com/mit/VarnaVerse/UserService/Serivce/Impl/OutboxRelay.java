@@ -0,0 +1,115 @@
+package com.mit.VarnaVerse.UserService.Serivce.Impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mit.VarnaVerse.UserService.Config.MessagingConfig;
+import com.mit.VarnaVerse.UserService.Entities.OutboxEvent;
+import com.mit.VarnaVerse.UserService.Repository.OutboxEventRepository;
+
+import jakarta.jms.TextMessage;
+
+/**
+ * Publishes outbox rows to varnaverse.user-events in id order and marks them published.
+ * A crash between send and mark resends the event on the next run, so delivery is
+ * at-least-once; the broker's duplicate-id cache drops most resends and consumers are idempotent.
+ * Every instance relays on its own schedule; two instances sending the same row is one more
+ * resend of that kind.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // One relay run at a time
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    // Artemis duplicate detection header
+    private static final String DUPLICATE_ID_PROPERTY = "_AMQ_DUPL_ID";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    @Qualifier("eventJmsTemplate")
+    private JmsTemplate eventJmsTemplate;
+
+    @Value("${users.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${users.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    // ---------------------- RELAY ----------------------
+    @Scheduled(fixedDelayString = "${users.outbox.relay-interval-ms:500}")
+    public void relay() {
+        relayLock.lock();
+        try {
+            relayBatches();
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    private void relayBatches() {
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxEventRepository.findUnpublished(batchSize);
+            List<Long> sent = new ArrayList<>(batch.size());
+            try {
+                for (OutboxEvent event : batch) {
+                    send(event);
+                    sent.add(event.getId());
+                }
+            } catch (JmsException e) {
+                // Broker unreachable: stop here to keep order, the rest goes out next run
+                logger.warn("Outbox relay stopped after {} of {} events: {}", sent.size(), batch.size(), e.getMessage());
+            } finally {
+                if (!sent.isEmpty()) {
+                    outboxEventRepository.markPublished(sent, LocalDateTime.now());
+                }
+            }
+            if (sent.size() < batch.size()) {
+                return;
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private void send(OutboxEvent event) {
+        eventJmsTemplate.send(MessagingConfig.USER_EVENTS_TOPIC, session -> {
+            TextMessage message = session.createTextMessage(event.getEnvelope());
+            message.setStringProperty("eventType", event.getEventType());
+            message.setStringProperty("eventId", event.getEventId());
+            message.setStringProperty(DUPLICATE_ID_PROPERTY, event.getEventId());
+            return message;
+        });
+    }
+
+    // ---------------------- CLEANUP ----------------------
+    // Published rows are only kept for inspection; chunked like the deletion reaper
+    @Scheduled(fixedDelayString = "${users.outbox.cleanup-interval-ms:3600000}")
+    public void deletePublished() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        int deleted;
+        int total = 0;
+        do {
+            deleted = outboxEventRepository.deletePublishedBefore(before, 1000);
+            total += deleted;
+        } while (deleted == 1000);
+        if (total > 0) {
+            logger.info("Deleted {} published outbox events older than {}h", total, retentionHours);
+        }
+    }
+}
@@ -1,21 +1,36 @@
 package com.mit.VarnaVerse.UserService.Serivce.Impl;
 
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.mit.VarnaVerse.UserService.Entities.User;
+import com.mit.VarnaVerse.UserService.PayLoads.DeletedUserDTO;
+import com.mit.VarnaVerse.UserService.PayLoads.DomainEvent;
+import com.mit.VarnaVerse.UserService.PayLoads.UserProfileDTO;
+import com.mit.VarnaVerse.UserService.PayLoads.UserSummaryDTO;
 import com.mit.VarnaVerse.UserService.Repository.UserRepository;
 import com.mit.VarnaVerse.UserService.Service.UserService;
 
@@ -36,9 +51,22 @@ public class UserServiceImpl implements UserService {
     
     @Autowired
     private JavaMailSender javaMailSender;
+
+    @Autowired
+    private OutboxService outboxService;
     
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
+    // Upper bound for one /users/batch call, keeps the IN list and response size sane
+    public static final int MAX_BATCH_SIZE = 500;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
+    // Cursor of a consumer that has not read the deleted-user feed yet
+    private static final LocalDateTime FEED_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Value("${users.deleted-feed.settle-ms:10000}")
+    private long deletedFeedSettleMs;
+
     @Override
     public List<User> getUser() {
         logger.info("Fetching all users");
@@ -114,6 +142,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public User updateUser(String email , User user) {
         logger.info("Updating user with email: {}", email);
         Optional<User> currentUser = userRepo.findByEmail(email);
@@ -131,6 +160,10 @@ public class UserServiceImpl implements UserService {
             if (user.getRole() != null) existingUser.setRole(user.getRole());
 
             User updated = userRepo.save(existingUser);
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("name", updated.getName());
+            payload.put("bio", updated.getBio());
+            outboxService.record(DomainEvent.USER_UPDATED, updated.getId(), payload);
             logger.info("User updated successfully for ID: {}", updated.getId());
             return updated;
         } else {
@@ -140,20 +173,47 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public User deleteUser(User user) {
         logger.info("Attempting to delete user with ID: {}", user.getId());
         Optional<User> currentUser = userRepo.findById(user.getId());
 
         if (currentUser.isPresent()) {
-            userRepo.deleteById(user.getId());
-            logger.info("User deleted successfully with ID: {}", user.getId());
-            return currentUser.get();
+            // Soft delete: one row update, the user disappears from every query immediately.
+            // The email is released now so it can be registered again; follower edges are
+            // purged by DeletionReaper and ContentService syncs the tombstone for the user's posts.
+            User deleted = currentUser.get();
+            deleted.setDeletedAt(LocalDateTime.now());
+            deleted.setEmail(tombstoneEmail(deleted.getId()));
+            userRepo.save(deleted);
+            outboxService.record(DomainEvent.USER_DELETED, deleted.getId(), Map.of());
+            logger.info("User soft-deleted with ID: {}", user.getId());
+            return deleted;
         } else {
             logger.warn("Delete failed. User not found with ID: {}", user.getId());
             throw new RuntimeException("No User exists with this id");
         }
     }
 
+    private static String tombstoneEmail(Long id) {
+        return "deleted-" + id + "@tombstone.invalid";
+    }
+
+    @Override
+    public List<DeletedUserDTO> getDeletedUsers(LocalDateTime afterDeletedAt, long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDateTime after = afterDeletedAt != null ? afterDeletedAt : FEED_START;
+        // deleted_at is stamped before commit: only hand out rows older than the longest delete transaction
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(deletedFeedSettleMs * 1_000_000);
+
+        List<DeletedUserDTO> page = new ArrayList<>();
+        for (Object[] row : userRepo.findDeletedAfter(after, afterId, settledBefore, pageSize)) {
+            LocalDateTime deletedAt = row[1] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[1];
+            page.add(new DeletedUserDTO(((Number) row[0]).longValue(), deletedAt));
+        }
+        return page;
+    }
+
     @Override
     public User getUserById(String id) {
         logger.info("Fetching user by ID: {}", id);
@@ -174,4 +234,53 @@ public class UserServiceImpl implements UserService {
         logger.info("Found {} users with role '{}'", users.size(), role);
         return users;
     }
+
+    @Override
+    public List<UserProfileDTO> getUserProfiles(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        if (uniqueIds.size() > MAX_BATCH_SIZE) {
+            logger.warn("Batch lookup rejected: {} ids requested (max {})", uniqueIds.size(), MAX_BATCH_SIZE);
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " user ids per batch");
+        }
+
+        List<UserProfileDTO> profiles = userRepo.findProfilesByIdIn(uniqueIds);
+        logger.info("Batch lookup resolved {} of {} user ids", profiles.size(), uniqueIds.size());
+        return profiles;
+    }
+
+    @Override
+    public List<UserSummaryDTO> getUserPage(String role, long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest limit = PageRequest.of(0, pageSize);
+
+        if (role == null || role.isBlank()) {
+            return userRepo.findSummariesAfter(afterId, limit);
+        }
+        return userRepo.findSummariesByRoleAfter(role, afterId, limit);
+    }
+
+    @Override
+    public void exportUsers(String role, Consumer<UserSummaryDTO> sink) {
+        long cursor = 0;
+        long exported = 0;
+        List<UserSummaryDTO> page;
+
+        do {
+            page = getUserPage(role, cursor, EXPORT_CHUNK_SIZE);
+            for (UserSummaryDTO user : page) {
+                sink.accept(user);
+            }
+            if (!page.isEmpty()) {
+                cursor = page.get(page.size() - 1).getId();
+                exported += page.size();
+            }
+        } while (page.size() == EXPORT_CHUNK_SIZE);
+
+        logger.info("Exported {} users (role filter: {})", exported, role);
+    }
 }
@@ -1,5 +1,6 @@
 package com.mit.VarnaVerse.UserService.Service;
 
+import com.mit.VarnaVerse.UserService.Entities.FeedEntry;
 import com.mit.VarnaVerse.UserService.Entities.Follower;
 import java.util.List;
 
@@ -33,4 +34,15 @@ public interface FollowerService {
      * @return A list of Follower entities (where 'follower_id' = userId).
      */
     List<Follower> getFollowing(long userId);
+
+    /**
+     * Reads the user's feed, newest first (fan-out-on-write from PostCreated events).
+     * @param userId The ID of the user whose feed is requested.
+     * @param beforeId Cursor: only entries with a smaller id; 0 starts from the newest.
+     * @param size Page size, capped at MAX_FEED_PAGE_SIZE.
+     * @return Feed entries (post id and author id per row).
+     */
+    List<FeedEntry> getFeed(long userId, long beforeId, int size);
+
+    int MAX_FEED_PAGE_SIZE = 100;
 }
\ No newline at end of file
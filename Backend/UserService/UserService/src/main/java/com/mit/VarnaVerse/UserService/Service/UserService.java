@@ -1,16 +1,24 @@
 package com.mit.VarnaVerse.UserService.Service;
 
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
 
 import com.mit.VarnaVerse.UserService.Entities.User;
+import com.mit.VarnaVerse.UserService.PayLoads.DeletedUserDTO;
+import com.mit.VarnaVerse.UserService.PayLoads.UserProfileDTO;
+import com.mit.VarnaVerse.UserService.PayLoads.UserSummaryDTO;
 
 
 @Service
 public interface UserService {
 
+	// Upper bound for one keyset page of users
+	public static final int MAX_PAGE_SIZE = 500;
+
 	public User register(User user);
 
 	public User login(User user);
@@ -23,7 +31,19 @@ public interface UserService {
 	
 	public User deleteUser(User user);
 	
+	// Keyset page of deleted (tombstoned) users in deletion order, for services that hold data keyed
+	// by user id. A null afterDeletedAt starts from the first deletion
+	public List<DeletedUserDTO> getDeletedUsers(LocalDateTime afterDeletedAt, long afterId, int size);
+	
 	public User getUserById(String id);
 	
 	public List<User> getUserByRole(String role);
+	
+	public List<UserProfileDTO> getUserProfiles(List<Long> ids);
+	
+	// Keyset page of users with id > afterId; role is optional
+	public List<UserSummaryDTO> getUserPage(String role, long afterId, int size);
+	
+	// Walks every matching user page by page, handing each row to the sink
+	public void exportUsers(String role, Consumer<UserSummaryDTO> sink);
 }
\ No newline at end of file
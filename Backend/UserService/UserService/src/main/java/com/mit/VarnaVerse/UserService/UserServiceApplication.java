@@ -2,8 +2,14 @@ package com.mit.VarnaVerse.UserService;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.mit.VarnaVerse.UserService.Config.NativeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeHints.class)
+@EnableScheduling
 public class UserServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,35 @@
+-- Transactional outbox, event dedupe and follower feeds for an existing MySQL database
+-- (the prod profile runs with ddl-auto=none).
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL UNIQUE,
+    event_type VARCHAR(64) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    envelope TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    published_at DATETIME(6) NULL,
+    INDEX idx_outbox_published_id (published_at, id)
+);
+
+CREATE TABLE IF NOT EXISTS processed_events (
+    event_id VARCHAR(36) NOT NULL PRIMARY KEY,
+    processed_at DATETIME(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS feed_entries (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    post_id BIGINT NOT NULL,
+    author_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    UNIQUE KEY uk_feed_user_post (user_id, post_id),
+    INDEX idx_feed_user_id (user_id, id)
+);
+
+-- Counter kept by the PostCreated handler. MySQL 8 has no ADD COLUMN IF NOT EXISTS, so the
+-- column is looked up first and the script stays safe to re-run
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users' AND COLUMN_NAME = 'post_count') = 0,
+    'ALTER TABLE users ADD COLUMN post_count BIGINT NOT NULL DEFAULT 0', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
@@ -0,0 +1,20 @@
+-- Soft delete for users on an existing MySQL database.
+-- Fresh schemas get the columns and index from ddl-auto; the prod profile (ddl-auto=none)
+-- needs this script before deploying. Re-runnable: each column and index is looked up in
+-- information_schema and only added when missing (MySQL 8 has no IF NOT EXISTS for either).
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users' AND COLUMN_NAME = 'deleted_at') = 0,
+    'ALTER TABLE users ADD COLUMN deleted_at DATETIME(6) NULL', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users' AND COLUMN_NAME = 'purged_at') = 0,
+    'ALTER TABLE users ADD COLUMN purged_at DATETIME(6) NULL', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- Serves the reaper queue and the (deleted_at, id) cursor of GET /users/deleted
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users' AND INDEX_NAME = 'idx_users_deleted_at') = 0,
+    'CREATE INDEX idx_users_deleted_at ON users (deleted_at, purged_at)', 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
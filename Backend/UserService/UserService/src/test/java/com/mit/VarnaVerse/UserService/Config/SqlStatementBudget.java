@@ -0,0 +1,29 @@
+package com.mit.VarnaVerse.UserService.Config;
+
+import java.util.function.Supplier;
+
+/**
+ * Statement budgets for tests: runs the work in its own SqlStatementStats scope and fails with
+ * the statement list if it issued more than allowed. Needs the StatementCountingDataSource, which
+ * SqlDiagnosticsConfig installs unless users.sql.diagnostics.enabled=false.
+ *
+ * <pre>
+ * List&lt;UserProfileDTO&gt; profiles = SqlStatementBudget.expectAtMost(1, () -&gt; userService.getUserProfiles(ids));
+ * </pre>
+ */
+public final class SqlStatementBudget {
+
+	private SqlStatementBudget() {
+	}
+
+	public static <T> T expectAtMost(int maxStatements, Supplier<T> work) {
+		try (SqlStatementStats stats = SqlStatementStats.open()) {
+			T result = work.get();
+			if (stats.getStatementCount() > maxStatements) {
+				throw new AssertionError("Expected at most " + maxStatements + " SQL statements but "
+						+ stats.getStatementCount() + " were executed:" + stats.summary());
+			}
+			return result;
+		}
+	}
+}
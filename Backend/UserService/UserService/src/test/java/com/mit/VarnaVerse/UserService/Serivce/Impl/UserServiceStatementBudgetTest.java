@@ -0,0 +1,63 @@
+package com.mit.VarnaVerse.UserService.Serivce.Impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.mit.VarnaVerse.UserService.Config.SqlStatementBudget;
+import com.mit.VarnaVerse.UserService.Entities.User;
+import com.mit.VarnaVerse.UserService.PayLoads.UserProfileDTO;
+import com.mit.VarnaVerse.UserService.Repository.UserRepository;
+import com.mit.VarnaVerse.UserService.Service.UserService;
+
+// Runs on the smoke profile's in-memory H2; the budgets are what the MySQL build must stay under too
+@SpringBootTest(properties = "grpc.server.port=0")
+@ActiveProfiles("smoke")
+class UserServiceStatementBudgetTest {
+
+	private static final int USERS = 30;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private final List<Long> ids = new ArrayList<>();
+
+	@BeforeEach
+	void seed() {
+		userRepository.deleteAll();
+		for (int i = 0; i < USERS; i++) {
+			User user = new User();
+			user.setEmail("budget-" + i + "@example.org");
+			user.setPassword("x");
+			user.setName("User " + i);
+			user.setRole("USER");
+			user.setPhoneNumber("555-0100");
+			user.setBio("bio " + i);
+			ids.add(userRepository.save(user).getId());
+		}
+	}
+
+	@Test
+	void batchProfileLookupIsOneQuery() {
+		List<UserProfileDTO> profiles = SqlStatementBudget.expectAtMost(1, () -> userService.getUserProfiles(ids));
+		assertEquals(USERS, profiles.size());
+	}
+
+	@Test
+	void duplicateIdsDoNotAddQueries() {
+		List<Long> repeated = new ArrayList<>(ids);
+		repeated.addAll(ids);
+		List<UserProfileDTO> profiles = SqlStatementBudget.expectAtMost(1, () -> userService.getUserProfiles(repeated));
+		assertEquals(USERS, profiles.size());
+	}
+}
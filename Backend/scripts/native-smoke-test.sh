@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+# Native-image smoke test: runs the JVM jar and the GraalVM binary of one service
+# against in-memory H2 (profiles prod,smoke) and compares startup, latency and RSS.
+#
+#   mvn -Pnative native:compile -DskipTests      (in the service module, needs GraalVM)
+#   scripts/native-smoke-test.sh <user|content> [requests]
+#
+# Fails if either build does not come up or a probe request returns a non-2xx status.
+set -euo pipefail
+
+SERVICE=${1:?service: user|content}
+REQUESTS=${2:-200}
+
+BACKEND_DIR=$(cd "$(dirname "$0")/.." && pwd)
+TIMEOUT_S=${TIMEOUT_S:-120}
+
+case "$SERVICE" in
+  user)
+    MODULE=$BACKEND_DIR/UserService/UserService
+    PORT=8083
+    PROBE=(-X POST -H 'Content-Type: application/json' -d '[1,2,3]' "http://localhost:$PORT/users/batch")
+    ;;
+  content)
+    MODULE=$BACKEND_DIR/ContentService/ContentService
+    PORT=8082
+    PROBE=("http://localhost:$PORT/posts/trending")
+    ;;
+  *) echo "unknown service: $SERVICE" >&2; exit 1 ;;
+esac
+
+JAR=$(ls "$MODULE"/target/*.jar | grep -v original | head -1)
+# native-maven-plugin names the binary after the artifactId (jar name minus version)
+BINARY=$(echo "${JAR%.jar}" | sed -E 's/-[0-9]+\.[0-9]+\.[0-9]+(-SNAPSHOT)?$//')
+[ -x "$BINARY" ] || { echo "native binary not found at $BINARY (run mvn -Pnative native:compile)" >&2; exit 1; }
+
+# prod has no default for content.data-dir (ContentService's engagement log); a scratch one will do here
+ARGS=(--spring.profiles.active=prod,smoke --server.port=$PORT --content.data-dir="$(mktemp -d)")
+
+# run <label> <command...>
+run() {
+  local label=$1; shift
+  local log; log=$(mktemp)
+  local start; start=$(date +%s%N)
+  "$@" "${ARGS[@]}" > "$log" 2>&1 &
+  local pid=$!
+
+  local first_ms=""
+  while kill -0 "$pid" 2>/dev/null; do
+    if [ "$(curl -s -o /dev/null -w '%{http_code}' "${PROBE[@]}" || true)" != "000" ]; then
+      first_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+      break
+    fi
+    [ $(( ($(date +%s%N) - start) / 1000000000 )) -ge "$TIMEOUT_S" ] && break
+    sleep 0.02
+  done
+  if [ -z "$first_ms" ]; then
+    kill "$pid" 2>/dev/null || true
+    echo "$label did not start, log: $log" >&2
+    exit 1
+  fi
+
+  local times; times=$(mktemp)
+  for _ in $(seq 1 "$REQUESTS"); do
+    out=$(curl -s -o /dev/null -w '%{http_code} %{time_total}' "${PROBE[@]}")
+    code=${out%% *}
+    if [ "${code:0:1}" != "2" ]; then
+      kill "$pid" 2>/dev/null || true
+      echo "$label: probe returned HTTP $code, log: $log" >&2
+      exit 1
+    fi
+    echo "${out##* }" >> "$times"
+  done
+
+  local rss_kb; rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+  local stats; stats=$(sort -n "$times" | awk '{a[NR]=$1*1000; s+=$1*1000} END {
+      printf "%.2f %.2f %.2f", s/NR, a[int(NR*0.5)>0?int(NR*0.5):1], a[int(NR*0.99)>0?int(NR*0.99):1] }')
+
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  rm -f "$times" "$log"
+
+  read -r avg p50 p99 <<< "$stats"
+  printf "%-8s %10s %10s %10s %10s %10s\n" "$label" "$first_ms" "$avg" "$p50" "$p99" "$((rss_kb / 1024))"
+}
+
+printf "%-8s %10s %10s %10s %10s %10s\n" "build" "start_ms" "avg_ms" "p50_ms" "p99_ms" "rss_mb"
+run jvm java -Dspring.aot.enabled=true -jar "$JAR"
+run native "$BINARY"
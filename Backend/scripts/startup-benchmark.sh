@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Startup benchmark: time from JVM launch to the first successful HTTP response.
+#
+#   scripts/startup-benchmark.sh <user|content> <jvm|aot-cds> [runs]
+#
+# jvm     -> target/<jar> built with plain `mvn package`
+# aot-cds -> target/cds/<jar> built with `mvn -Pprod package` (AOT + AppCDS archive)
+#
+# Each run appends one line to $RESULTS (default: Backend/startup-results.csv):
+#   timestamp,service,mode,commit,run,first_request_ms,spring_started_s
+set -euo pipefail
+
+SERVICE=${1:?service: user|content}
+MODE=${2:?mode: jvm|aot-cds}
+RUNS=${3:-5}
+
+BACKEND_DIR=$(cd "$(dirname "$0")/.." && pwd)
+RESULTS=${RESULTS:-$BACKEND_DIR/startup-results.csv}
+TIMEOUT_S=${TIMEOUT_S:-120}
+
+case "$SERVICE" in
+  user)
+    MODULE=$BACKEND_DIR/UserService/UserService
+    PORT=8083
+    # Cheapest route that goes through the full filter chain and MVC stack
+    PROBE=(-X POST -H 'Content-Type: application/json' -d '[]' "http://localhost:$PORT/users/batch")
+    ;;
+  content)
+    MODULE=$BACKEND_DIR/ContentService/ContentService
+    PORT=8082
+    PROBE=("http://localhost:$PORT/posts/trending")
+    ;;
+  *) echo "unknown service: $SERVICE" >&2; exit 1 ;;
+esac
+
+case "$MODE" in
+  jvm)
+    JAR=$(ls "$MODULE"/target/*.jar | grep -v original | head -1)
+    JAVA_OPTS=()
+    ;;
+  aot-cds)
+    JAR=$(ls "$MODULE"/target/cds/*.jar | head -1)
+    JAVA_OPTS=(-XX:SharedArchiveFile="$MODULE/target/cds/application.jsa" -Xlog:cds=off
+               -Dspring.aot.enabled=true -Dspring.profiles.active=prod -Dcontent.data-dir="$(mktemp -d)")
+    ;;
+  *) echo "unknown mode: $MODE" >&2; exit 1 ;;
+esac
+
+[ -f "$RESULTS" ] || echo "timestamp,service,mode,commit,run,first_request_ms,spring_started_s" > "$RESULTS"
+COMMIT=$(git -C "$BACKEND_DIR" rev-parse --short HEAD 2>/dev/null || echo unknown)
+LOG=$(mktemp)
+
+for run in $(seq 1 "$RUNS"); do
+  start=$(date +%s%N)
+  java "${JAVA_OPTS[@]}" -Dlogging.file.name="$LOG.file" -jar "$JAR" > "$LOG" 2>&1 &
+  pid=$!
+
+  first_ms=""
+  while kill -0 "$pid" 2>/dev/null; do
+    code=$(curl -s -o /dev/null -w '%{http_code}' "${PROBE[@]}" || true)
+    if [ "$code" != "000" ]; then
+      first_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+      break
+    fi
+    if [ $(( ($(date +%s%N) - start) / 1000000000 )) -ge "$TIMEOUT_S" ]; then
+      break
+    fi
+    sleep 0.05
+  done
+
+  started_s=$(grep -oE 'Started [A-Za-z]+ in [0-9.]+' "$LOG" | grep -oE '[0-9.]+$' || true)
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+
+  if [ -z "$first_ms" ]; then
+    echo "run $run: service did not answer within ${TIMEOUT_S}s, see $LOG" >&2
+    exit 1
+  fi
+
+  echo "$(date -Iseconds),$SERVICE,$MODE,$COMMIT,$run,$first_ms,${started_s:-}" >> "$RESULTS"
+  echo "$SERVICE/$MODE run $run: first request after ${first_ms} ms (Spring reported ${started_s:-?} s)"
+done
+
+rm -f "$LOG" "$LOG.file"
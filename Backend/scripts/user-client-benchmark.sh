@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Feign (JSON/HTTP 1.1) vs gRPC (protobuf/HTTP 2) for the ContentService -> UserService hop.
+# Needs UserService running with its HTTP (8083) and gRPC (9093) ports. The benchmark lives in
+# ContentService's test sources and runs from there through Maven (spring-boot:test-run):
+#
+#   scripts/user-client-benchmark.sh [iterations] [concurrency] [batch-size]
+#
+# BENCH_TOKEN=<jwt> adds the identity-resolution scenario (getCurrentUser).
+# Extra Spring arguments (e.g. a datasource override) can be passed in BENCH_ARGS.
+# Results are appended to Backend/user-client-benchmark.csv.
+set -euo pipefail
+
+ITERATIONS=${1:-5000}
+CONCURRENCY=${2:-16}
+BATCH_SIZE=${3:-50}
+
+BACKEND_DIR=$(cd "$(dirname "$0")/.." && pwd)
+MODULE=$BACKEND_DIR/ContentService/ContentService
+OUT=$BACKEND_DIR/user-client-benchmark.csv
+
+curl -s -o /dev/null -X POST -H 'Content-Type: application/json' -d '[1]' http://localhost:8083/users/batch \
+  || { echo "UserService is not reachable on :8083" >&2; exit 1; }
+
+mvn -B -q -f "$MODULE/pom.xml" spring-boot:test-run \
+  -Dspring-boot.run.profiles=bench \
+  -Dspring-boot.run.arguments="--spring.main.web-application-type=none --logging.file.name= \
+--bench.iterations=$ITERATIONS --bench.concurrency=$CONCURRENCY --bench.batch-size=$BATCH_SIZE \
+--bench.token=${BENCH_TOKEN:-} --bench.output=$OUT ${BENCH_ARGS:-}" | grep -E "UserClientBenchmark" || true
+
+cat "$OUT"
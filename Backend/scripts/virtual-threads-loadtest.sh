@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Load test for ContentService behind a slow UserService, in one thread mode per run.
+# Starts ContentService in the given mode, drives GET /posts/{id}/liked (one UserService call
+# plus one query per request) with a closed-loop load generator, then stops it.
+#
+# The services build for Java 17, where there are no virtual threads: "virtual" runs are refused
+# unless the java on PATH is 21+, so on a 17 runtime this only measures the platform baseline.
+#
+# Needs UserService running with an injected delay and enough threads not to be the bottleneck:
+#   java -jar UserService/UserService/target/*.jar --users.fault.response-delay-ms=200 \
+#        --server.tomcat.threads.max=1000
+# and a ContentService jar (mvn -DskipTests package). The generator (RequestLoadBenchmark) lives
+# in ContentService's test sources and runs through Maven (spring-boot:test-run).
+#
+#   LOADTEST_TOKEN=<jwt> scripts/virtual-threads-loadtest.sh <platform|virtual> [requests] [concurrency]
+#
+# Extra Spring arguments for the service under test (e.g. a datasource override) go in SERVICE_ARGS.
+# Results are appended to Backend/virtual-threads-loadtest.csv.
+set -euo pipefail
+
+MODE=${1:?mode: platform|virtual}
+REQUESTS=${2:-5000}
+CONCURRENCY=${3:-400}
+
+BACKEND_DIR=$(cd "$(dirname "$0")/.." && pwd)
+MODULE=$BACKEND_DIR/ContentService/ContentService
+JAR=$(ls "$MODULE"/target/*.jar | grep -v original | head -1)
+OUT=$BACKEND_DIR/virtual-threads-loadtest.csv
+TIMEOUT_S=${TIMEOUT_S:-120}
+LOG=$(mktemp)
+
+case "$MODE" in
+  platform) PROFILES=${PROFILES:-default} ; JAVA_OPTS=() ;;
+  virtual)  PROFILES=${PROFILES:-virtual-threads} ; JAVA_OPTS=(-Djdk.tracePinnedThreads=short) ;;
+  *) echo "unknown mode: $MODE" >&2; exit 1 ;;
+esac
+
+JAVA_FEATURE=$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+if [ "$MODE" = virtual ] && [ "${JAVA_FEATURE%%.*}" -lt 21 ]; then
+  echo "virtual mode needs a Java 21+ runtime (found $JAVA_FEATURE); it would run on platform threads" >&2
+  exit 1
+fi
+
+curl -s -o /dev/null -X POST -H 'Content-Type: application/json' -d '[1]' http://localhost:8083/users/batch \
+  || { echo "UserService is not reachable on :8083" >&2; exit 1; }
+
+java "${JAVA_OPTS[@]}" -jar "$JAR" --spring.profiles.active="$PROFILES" --logging.file.name= ${SERVICE_ARGS:-} > "$LOG" 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null || true; wait $pid 2>/dev/null || true' EXIT
+
+for _ in $(seq 1 "$TIMEOUT_S"); do
+  curl -s -o /dev/null http://localhost:8082/posts/trending && break
+  sleep 1
+done
+
+# smoke: the generator's own context sits on in-memory H2 rather than the service's database
+mvn -B -q -f "$MODULE/pom.xml" spring-boot:test-run \
+  -Dspring-boot.run.profiles=smoke,loadtest \
+  -Dspring-boot.run.arguments="--spring.main.web-application-type=none --logging.file.name= \
+--loadtest.mode=$MODE --loadtest.token=${LOADTEST_TOKEN:-} --loadtest.requests=$REQUESTS \
+--loadtest.concurrency=$CONCURRENCY --loadtest.output=$OUT ${LOADTEST_ARGS:-}" | grep -E "RequestLoadBenchmark" || true
+
+grep -c "onCarrierThread\|<== monitors" "$LOG" | sed 's/^/pinned-thread traces: /' || true
+cat "$OUT"